@@ -0,0 +1,90 @@
+package org.codefx.mvn.jdeps;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.dependency.Violation.ViolationBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.lang.String.format;
+
+/**
+ * Creates type names, jdeps output and violations that resemble those of a large code base.
+ * <p>
+ * All data is created from a fixed seed, so each benchmark run sees the same data.
+ */
+public final class SyntheticData {
+
+	/**
+	 * Internal types as they are reported by jdeps on Java 8.
+	 */
+	public static final ImmutableList<InternalType> INTERNAL_TYPES = ImmutableList.of(
+			InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar"),
+			InternalType.of("sun.misc", "BASE64Decoder", "JDK internal API", "rt.jar"),
+			InternalType.of("sun.misc", "BASE64Encoder", "JDK internal API", "rt.jar"),
+			InternalType.of("sun.misc", "Cleaner", "JDK internal API", "rt.jar"),
+			InternalType.of("sun.reflect", "Reflection", "JDK internal API", "rt.jar"),
+			InternalType.of("sun.security.action", "GetPropertyAction", "JDK internal API", "rt.jar"),
+			InternalType.of("sun.nio.ch", "DirectBuffer", "JDK internal API", "rt.jar"),
+			InternalType.of("com.sun.awt", "AWTUtilities", "JDK internal API", "rt.jar"));
+
+	private static final long SEED = 0x5EED;
+
+	private SyntheticData() {
+		// utility class
+	}
+
+	/**
+	 * @return the package name with the specified index, e.g. "com.company.module3.feature7"
+	 */
+	public static String packageName(int index) {
+		return format("com.company.module%d.feature%d", index % 97, index);
+	}
+
+	/**
+	 * @return the fully qualified name of the type with the specified index, e.g. "com.company.module3.feature7.Type7"
+	 */
+	public static String typeName(int index) {
+		// let ten types share each package
+		return packageName(index / 10) + ".Type" + index;
+	}
+
+	/**
+	 * @return the specified number of violations, each with between one and three internal dependencies
+	 */
+	public static List<Violation> violations(int count) {
+		Random random = new Random(SEED);
+		List<Violation> violations = new ArrayList<>(count);
+		for (int index = 0; index < count; index++) {
+			ViolationBuilder violation = Violation.buildForDependent(Type.of(typeName(index)));
+			int dependencies = 1 + random.nextInt(3);
+			int firstDependency = random.nextInt(INTERNAL_TYPES.size());
+			for (int dependency = 0; dependency < dependencies; dependency++)
+				violation.addDependency(INTERNAL_TYPES.get((firstDependency + dependency) % INTERNAL_TYPES.size()));
+			violations.add(violation.build());
+		}
+		return violations;
+	}
+
+	/**
+	 * @return the lines jdeps 8 prints for the specified number of violations, including the archive header
+	 */
+	public static List<String> jdepsOutput(int violationCount) {
+		List<String> lines = new ArrayList<>();
+		lines.add("classes -> C:\\Program Files\\Java\\jdk1.8.0_66\\jre\\lib\\rt.jar");
+		for (Violation violation : violations(violationCount)) {
+			lines.add(format("   %s (classes)", violation.getDependent().getFullyQualifiedName()));
+			for (InternalType dependency : violation.getInternalDependencies())
+				lines.add(format("      -> %-50s %s (%s)",
+						dependency.getFullyQualifiedName(), dependency.getCategory(), dependency.getSource()));
+		}
+		lines.add("Warning: JDK internal APIs are unsupported and private to JDK implementation that are");
+		lines.add("subject to be modified or removed in any release without any backward compatibility.");
+		return lines;
+	}
+
+}
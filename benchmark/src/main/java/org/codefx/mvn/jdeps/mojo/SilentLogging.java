@@ -0,0 +1,98 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Registers a {@link Log} that discards all messages, so benchmarks measure creating the messages but not printing
+ * them.
+ * <p>
+ * This class is in the mojo package to access {@link MojoLogging#registerLogger(java.util.function.Supplier)}.
+ */
+public final class SilentLogging {
+
+	private static final Log SILENT_LOG = new SilentLog();
+
+	private SilentLogging() {
+		// utility class
+	}
+
+	/**
+	 * Makes {@link MojoLogging#logger()} return a logger that discards all messages.
+	 */
+	public static void silenceMojoLogging() {
+		MojoLogging.registerLogger(() -> SILENT_LOG);
+	}
+
+	private static class SilentLog implements Log {
+
+		@Override
+		public boolean isDebugEnabled() {
+			return false;
+		}
+
+		@Override
+		public void debug(CharSequence content) {
+		}
+
+		@Override
+		public void debug(CharSequence content, Throwable error) {
+		}
+
+		@Override
+		public void debug(Throwable error) {
+		}
+
+		@Override
+		public boolean isInfoEnabled() {
+			return false;
+		}
+
+		@Override
+		public void info(CharSequence content) {
+		}
+
+		@Override
+		public void info(CharSequence content, Throwable error) {
+		}
+
+		@Override
+		public void info(Throwable error) {
+		}
+
+		@Override
+		public boolean isWarnEnabled() {
+			return false;
+		}
+
+		@Override
+		public void warn(CharSequence content) {
+		}
+
+		@Override
+		public void warn(CharSequence content, Throwable error) {
+		}
+
+		@Override
+		public void warn(Throwable error) {
+		}
+
+		@Override
+		public boolean isErrorEnabled() {
+			return false;
+		}
+
+		@Override
+		public void error(CharSequence content) {
+		}
+
+		@Override
+		public void error(CharSequence content, Throwable error) {
+		}
+
+		@Override
+		public void error(Throwable error) {
+		}
+
+	}
+
+}
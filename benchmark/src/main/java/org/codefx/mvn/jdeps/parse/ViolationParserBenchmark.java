@@ -0,0 +1,54 @@
+package org.codefx.mvn.jdeps.parse;
+
+import org.codefx.mvn.jdeps.SyntheticData;
+import org.codefx.mvn.jdeps.mojo.SilentLogging;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link ViolationParser#parseLine(String)} takes to parse jdeps output of different sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ViolationParserBenchmark {
+
+	/**
+	 * The number of violations in the output; each takes between two and four lines.
+	 */
+	@Param({ "10", "1000", "100000" })
+	public int violations;
+
+	private List<String> jdepsOutput;
+
+	@Setup
+	public void createOutput() {
+		SilentLogging.silenceMojoLogging();
+		jdepsOutput = SyntheticData.jdepsOutput(violations);
+	}
+
+	@Benchmark
+	public void parseLines(Blackhole blackhole) {
+		ViolationParser parser = new ViolationParser(blackhole::consume);
+		for (String line : jdepsOutput)
+			parser.parseLine(line);
+		parser.finish();
+	}
+
+}
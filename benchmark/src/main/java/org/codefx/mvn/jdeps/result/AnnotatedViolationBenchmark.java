@@ -0,0 +1,59 @@
+package org.codefx.mvn.jdeps.result;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.SyntheticData;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link AnnotatedViolation#of(Type, ImmutableList)} takes to group a violation's dependencies by
+ * severity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnnotatedViolationBenchmark {
+
+	/**
+	 * The number of internal dependencies of the violation.
+	 */
+	@Param({ "1", "8", "64" })
+	public int dependencies;
+
+	private Type dependent;
+	private ImmutableList<AnnotatedInternalType> annotatedDependencies;
+
+	@Setup
+	public void createViolation() {
+		dependent = Type.of(SyntheticData.typeName(0));
+
+		ImmutableList.Builder<AnnotatedInternalType> annotatedDependencies = ImmutableList.builder();
+		for (int index = 0; index < dependencies; index++)
+			annotatedDependencies.add(AnnotatedInternalType.of(
+					SyntheticData.INTERNAL_TYPES.get(index % SyntheticData.INTERNAL_TYPES.size()),
+					Severity.values()[index % Severity.values().length]));
+		this.annotatedDependencies = annotatedDependencies.build();
+	}
+
+	@Benchmark
+	public AnnotatedViolation of() {
+		return AnnotatedViolation.of(dependent, annotatedDependencies);
+	}
+
+}
@@ -0,0 +1,83 @@
+package org.codefx.mvn.jdeps.result;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.codefx.mvn.jdeps.SyntheticData;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.mojo.SilentLogging;
+import org.codefx.mvn.jdeps.rules.MapDependencyJudge.MapDependencyJudgeBuilder;
+import org.codefx.mvn.jdeps.rules.PackageInclusion;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.codefx.mvn.jdeps.tool.LineWriter.StaticContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to render a result with the {@link LogResultOutputStrategy} and the
+ * {@link RuleOutputStrategy}.
+ * <p>
+ * The log messages are created but discarded and the rules are rendered to lines but not written to a file, so the
+ * benchmark does not depend on the console or the disk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultOutputBenchmark {
+
+	@Param({ "100", "10000" })
+	public int violations;
+
+	@Param({ "XML", "ARROW" })
+	public RuleOutputFormat format;
+
+	private Result result;
+
+	@Setup
+	public void createResult() {
+		SilentLogging.silenceMojoLogging();
+
+		// spread the internal dependencies over all severities
+		MapDependencyJudgeBuilder judge = new MapDependencyJudgeBuilder();
+		judge.withInclusion(PackageInclusion.FLAT).withDefaultSeverity(Severity.FAIL);
+		for (int index = 0; index < SyntheticData.INTERNAL_TYPES.size(); index++)
+			judge.addDependency(
+					"com",
+					SyntheticData.INTERNAL_TYPES.get(index).getFullyQualifiedName(),
+					Severity.values()[index % Severity.values().length]);
+
+		ResultBuilder resultBuilder = new ResultBuilder(judge.build());
+		for (Violation violation : SyntheticData.violations(violations))
+			resultBuilder.addViolation(violation);
+		result = resultBuilder.build();
+	}
+
+	@Benchmark
+	public void log() throws MojoFailureException {
+		new LogResultOutputStrategy().output(result);
+	}
+
+	@Benchmark
+	public void renderRules(Blackhole blackhole) throws MojoFailureException {
+		StaticContent staticContent = format.getStaticContent("\t");
+		new RuleOutputStrategy(
+				ViolationsToRuleTransformer::transform,
+				format.getToLinesTransformer(staticContent),
+				lines -> lines.forEach(blackhole::consume))
+				.output(result);
+	}
+
+}
@@ -0,0 +1,119 @@
+package org.codefx.mvn.jdeps.rules;
+
+import org.codefx.mvn.jdeps.SyntheticData;
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.rules.MapDependencyJudge.MapDependencyJudgeBuilder;
+import org.codefx.mvn.jdeps.rules.TrieDependencyJudge.TrieDependencyJudgeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures how long {@link DependencyJudge#judgeSeverity(String, String)} takes for different numbers of rules.
+ * <p>
+ * Half of the judged dependencies have a dependent for which rules exist; the others fall back to the default.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DependencyJudgeBenchmark {
+
+	private static final int DEPENDENCIES = 1024;
+
+	@Param({ "10", "1000", "100000" })
+	public int rules;
+
+	@Param({ "FLAT", "HIERARCHICAL" })
+	public PackageInclusion packages;
+
+	@Param({ "MAP", "TRIE", "CACHED_TRIE" })
+	public Judge judge;
+
+	private DependencyJudge dependencyJudge;
+	private String[] dependents;
+	private String[] dependencies;
+
+	@Setup
+	public void createJudgeAndDependencies() {
+		Random random = new Random(rules);
+
+		DependencyJudgeBuilder builder = judge.createBuilder()
+				.withInclusion(packages)
+				.withDefaultSeverity(Severity.WARN);
+		for (int rule = 0; rule < rules; rule++) {
+			InternalType dependency = internalType(random);
+			// alternate between rules for packages and for types as well as for types and their packages
+			String dependent = rule % 2 == 0 ? SyntheticData.packageName(rule) : SyntheticData.typeName(rule);
+			String dependencyName = rule % 3 == 0 ? dependency.getPackageName() : dependency.getFullyQualifiedName();
+			builder.addDependency(dependent, dependencyName, Severity.values()[rule % Severity.values().length]);
+		}
+		dependencyJudge = judge.build(builder);
+
+		dependents = new String[DEPENDENCIES];
+		dependencies = new String[DEPENDENCIES];
+		for (int index = 0; index < DEPENDENCIES; index++) {
+			// types with an index greater than the number of rules * 10 are in packages without rules
+			int dependentLimit = index % 2 == 0 ? rules * 10 : Integer.MAX_VALUE / 2;
+			dependents[index] = SyntheticData.typeName(random.nextInt(dependentLimit));
+			dependencies[index] = internalType(random).getFullyQualifiedName();
+		}
+	}
+
+	private static InternalType internalType(Random random) {
+		return SyntheticData.INTERNAL_TYPES.get(random.nextInt(SyntheticData.INTERNAL_TYPES.size()));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(DEPENDENCIES)
+	public void judgeSeverity(Blackhole blackhole) {
+		for (int index = 0; index < DEPENDENCIES; index++)
+			blackhole.consume(dependencyJudge.judgeSeverity(dependents[index], dependencies[index]));
+	}
+
+	/**
+	 * The judge implementations that can be benchmarked; the cached trie judge has room for all judged dependencies,
+	 * so after the warmup every judgement is a cache hit.
+	 */
+	public enum Judge {
+
+		MAP(MapDependencyJudgeBuilder::new, false),
+		TRIE(TrieDependencyJudgeBuilder::new, false),
+		CACHED_TRIE(TrieDependencyJudgeBuilder::new, true);
+
+		private final Supplier<DependencyJudgeBuilder> createBuilder;
+		private final boolean cached;
+
+		Judge(Supplier<DependencyJudgeBuilder> createBuilder, boolean cached) {
+			this.createBuilder = createBuilder;
+			this.cached = cached;
+		}
+
+		DependencyJudgeBuilder createBuilder() {
+			return createBuilder.get();
+		}
+
+		DependencyJudge build(DependencyJudgeBuilder builder) {
+			DependencyJudge judge = builder.build();
+			return cached ? new CachingDependencyJudge(judge, 2 * DEPENDENCIES) : judge;
+		}
+
+	}
+
+}
@@ -0,0 +1,61 @@
+package org.codefx.mvn.jdeps.rules;
+
+import org.codefx.mvn.jdeps.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link TypeNameHierarchy#forFullyQualifiedName(String, PackageInclusion)} takes to create a
+ * hierarchy and how long iterating over it takes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeNameHierarchyBenchmark {
+
+	private static final int NAMES = 1024;
+
+	@Param({ "FLAT", "HIERARCHICAL" })
+	public PackageInclusion packages;
+
+	private String[] names;
+
+	@Setup
+	public void createNames() {
+		names = new String[NAMES];
+		for (int index = 0; index < NAMES; index++)
+			names[index] = SyntheticData.typeName(index);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NAMES)
+	public void create(Blackhole blackhole) {
+		for (String name : names)
+			blackhole.consume(TypeNameHierarchy.forFullyQualifiedName(name, packages));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NAMES)
+	public void createAndIterate(Blackhole blackhole) {
+		for (String name : names)
+			for (String ancestor : TypeNameHierarchy.forFullyQualifiedName(name, packages))
+				blackhole.consume(ancestor);
+	}
+
+}
@@ -0,0 +1,130 @@
+package org.codefx.mvn.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import org.codefx.mvn.jdeps.dependency.Violation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A content-addressed cache on disk that stores the violations jdeps reported for artifacts (i.e. JARs).
+ * <p>
+ * Entries are addressed by the {@link #digest(Path) SHA-256 digest} of the artifact's content and the jdeps version,
+ * so they stay valid as long as they exist and the same store can be shared by all projects on a machine. Like in the
+ * {@link JDepsResultCache}, the violations are not judged. Entries are written atomically, so concurrent builds can
+ * use the same store; if two of them scan the same artifact, the last one wins, which is fine because they agree.
+ */
+public class ArtifactResultCache {
+
+	/**
+	 * Increase this whenever the cache format or the parsing of jdeps' output changes, so that stale entries are not
+	 * used by newer versions of the plugin.
+	 */
+	private static final String FORMAT_VERSION = "1";
+
+	private static final String ENTRY_FILE_EXTENSION = ".violations";
+
+	private final Path storeFolder;
+
+	/**
+	 * Creates a new cache that stores its entries in the specified folder.
+	 *
+	 * @param storeFolder
+	 * 		the folder containing the entries; does not have to exist
+	 */
+	public ArtifactResultCache(Path storeFolder) {
+		this.storeFolder = requireNonNull(storeFolder, "The argument 'storeFolder' must not be null.");
+	}
+
+	/**
+	 * @param artifact
+	 * 		the artifact's file
+	 *
+	 * @return a hex-encoded SHA-256 digest of the artifact's content
+	 *
+	 * @throws IOException
+	 * 		if reading the artifact fails
+	 */
+	public static String digest(Path artifact) throws IOException {
+		requireNonNull(artifact, "The argument 'artifact' must not be null.");
+		// stream the artifact through the hash function instead of reading it into memory
+		ByteSource content = com.google.common.io.Files.asByteSource(artifact.toFile());
+		return content.hash(Hashing.sha256()).toString();
+	}
+
+	/**
+	 * @param artifactDigest
+	 * 		the {@link #digest(Path) digest} of the artifact
+	 * @param jDepsVersion
+	 * 		the version of the jdeps tool which scans the artifact
+	 *
+	 * @return the cached violations if the cache contains an entry for the specified artifact and jdeps version;
+	 * otherwise an empty {@link Optional}
+	 *
+	 * @throws IOException
+	 * 		if reading the cache fails or the entry is malformed
+	 */
+	public Optional<ImmutableList<Violation>> get(String artifactDigest, String jDepsVersion) throws IOException {
+		Path entry = entryFile(artifactDigest, jDepsVersion);
+		if (!Files.isRegularFile(entry))
+			return Optional.empty();
+
+		List<String> lines = Files.readAllLines(entry, UTF_8);
+		try {
+			return Optional.of(ViolationCodec.fromLines(lines));
+		} catch (IllegalArgumentException ex) {
+			throw new IOException(format("The cache entry '%s' is malformed.", entry), ex);
+		}
+	}
+
+	/**
+	 * Stores the specified violations for the specified artifact and jdeps version.
+	 *
+	 * @param artifactDigest
+	 * 		the {@link #digest(Path) digest} of the artifact
+	 * @param jDepsVersion
+	 * 		the version of the jdeps tool which scanned the artifact
+	 * @param violations
+	 * 		the violations reported by jdeps
+	 *
+	 * @throws IOException
+	 * 		if writing the cache fails
+	 */
+	public void put(String artifactDigest, String jDepsVersion, Collection<Violation> violations)
+			throws IOException {
+		requireNonNull(violations, "The argument 'violations' must not be null.");
+		Path entry = entryFile(artifactDigest, jDepsVersion);
+		List<String> lines = violations.stream().flatMap(ViolationCodec::toLines).collect(toList());
+		JDepsResultCache.writeAtomically(entry, lines);
+	}
+
+	private Path entryFile(String artifactDigest, String jDepsVersion) {
+		requireNonNull(artifactDigest, "The argument 'artifactDigest' must not be null.");
+		requireNonNull(jDepsVersion, "The argument 'jDepsVersion' must not be null.");
+		if (artifactDigest.length() < 3)
+			throw new IllegalArgumentException(format("The artifact digest '%s' is too short.", artifactDigest));
+
+		// the version can contain any character, so it is hashed into something usable as a file name
+		String scanDigest = Hashing.sha256()
+				.hashString(format("format %s; jdeps %s", FORMAT_VERSION, jDepsVersion), UTF_8)
+				.toString()
+				.substring(0, 16);
+		// like Git's object store, spread the entries across subfolders named after the digest's first characters
+		return storeFolder
+				.resolve(artifactDigest.substring(0, 2))
+				.resolve(artifactDigest.substring(2))
+				.resolve(scanDigest + ENTRY_FILE_EXTENSION);
+	}
+
+}
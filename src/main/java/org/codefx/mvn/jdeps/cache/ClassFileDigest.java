@@ -0,0 +1,89 @@
+package org.codefx.mvn.jdeps.cache;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Computes a digest over all class files in a folder.
+ * <p>
+ * The digest covers the files' relative paths and their contents, so it changes whenever a class file is added,
+ * removed, renamed or modified.
+ */
+public final class ClassFileDigest {
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	private ClassFileDigest() {
+		// no instances of this class
+	}
+
+	/**
+	 * @param folder
+	 * 		the folder containing the class files
+	 *
+	 * @return a hex-encoded SHA-256 digest of the folder's class files
+	 *
+	 * @throws IOException
+	 * 		if reading the folder or one of the files fails
+	 */
+	public static String digest(Path folder) throws IOException {
+		requireNonNull(folder, "The argument 'folder' must not be null.");
+
+		Hasher hasher = Hashing.sha256().newHasher();
+		for (Path classFile : sortedClassFiles(folder)) {
+			hasher.putString(relativeName(folder, classFile), UTF_8);
+			hasher.putBytes(Files.readAllBytes(classFile));
+		}
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * @param folder
+	 * 		the folder to search for class files
+	 *
+	 * @return all class files in the folder or its subfolders, sorted by their {@link #relativeName(Path, Path)
+	 * relative name}
+	 *
+	 * @throws IOException
+	 * 		if walking the folder fails
+	 */
+	public static List<Path> sortedClassFiles(Path folder) throws IOException {
+		if (!Files.isDirectory(folder))
+			return Collections.emptyList();
+
+		try (Stream<Path> files = Files.walk(folder)) {
+			return files
+					.filter(Files::isRegularFile)
+					.filter(file -> file.getFileName().toString().endsWith(CLASS_FILE_EXTENSION))
+					.sorted((first, second) -> relativeName(folder, first).compareTo(relativeName(folder, second)))
+					.collect(toList());
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * @param folder
+	 * 		a folder
+	 * @param file
+	 * 		a file in that folder or one of its subfolders
+	 *
+	 * @return the file's path relative to the folder with '/' as separator, regardless of the operating system
+	 */
+	public static String relativeName(Path folder, Path file) {
+		return folder.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+	}
+
+}
@@ -0,0 +1,300 @@
+package org.codefx.mvn.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.dependency.Violation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An incremental scan of a folder's class files, which only hands the class files to jdeps that changed since the last
+ * scan and reuses the stored violations of all others.
+ * <p>
+ * A class file is considered unchanged if its size and modification time did not change or, if they did, if its
+ * content hash did not change. The state of each class file and the violations jdeps reported for it are stored in a
+ * file in the cache folder. The stored state is discarded if the jdeps version changed.
+ * <p>
+ * Usage:
+ * <ol>
+ * <li>{@link #prepare(Path, String, Path) prepare} the scan
+ * <li>let jdeps scan the {@link #pathsToScan() pathsToScan} (if there are any)
+ * <li>{@link #complete(Collection) complete} the scan with the violations jdeps reported
+ * </ol>
+ */
+public class IncrementalScan {
+
+	/**
+	 * Increase this whenever the state format or the parsing of jdeps' output changes, so that stale states are not
+	 * used by newer versions of the plugin.
+	 */
+	private static final String FORMAT_VERSION = "1";
+
+	private static final String STATE_FILE_NAME = "incremental.state";
+	private static final String ENTRY_MARKER = "=";
+	private static final String SEPARATOR = "\t";
+
+	/**
+	 * If more class files than this changed, the whole folder is scanned instead of passing each file to jdeps. This
+	 * keeps the command line short and is not much slower than scanning that many individual files.
+	 */
+	private static final int MAX_CLASS_FILES_TO_SCAN_INDIVIDUALLY = 500;
+
+	private final Path stateFile;
+	private final String header;
+	private final Map<String, ClassFileState> currentStates;
+	private final Map<String, ImmutableList<Violation>> unchangedViolations;
+	private final ImmutableList<Path> pathsToScan;
+
+	private IncrementalScan(
+			Path stateFile,
+			String header,
+			Map<String, ClassFileState> currentStates,
+			Map<String, ImmutableList<Violation>> unchangedViolations,
+			ImmutableList<Path> pathsToScan) {
+		this.stateFile = stateFile;
+		this.header = header;
+		this.currentStates = currentStates;
+		this.unchangedViolations = unchangedViolations;
+		this.pathsToScan = pathsToScan;
+	}
+
+	/**
+	 * Compares the class files in the scanned folder with the state stored by the last scan and determines which files
+	 * have to be scanned.
+	 *
+	 * @param cacheFolder
+	 * 		the folder containing the stored state; does not have to exist
+	 * @param jDepsVersion
+	 * 		the version of the jdeps tool which scans the folder
+	 * @param scannedFolder
+	 * 		the folder to be scanned by jdeps
+	 *
+	 * @return an incremental scan
+	 *
+	 * @throws IOException
+	 * 		if reading the class files fails
+	 */
+	public static IncrementalScan prepare(Path cacheFolder, String jDepsVersion, Path scannedFolder)
+			throws IOException {
+		requireNonNull(cacheFolder, "The argument 'cacheFolder' must not be null.");
+		requireNonNull(jDepsVersion, "The argument 'jDepsVersion' must not be null.");
+		requireNonNull(scannedFolder, "The argument 'scannedFolder' must not be null.");
+
+		Path stateFile = cacheFolder.resolve(STATE_FILE_NAME);
+		String header = format("format %s; jdeps %s", FORMAT_VERSION, jDepsVersion);
+		Map<String, StoredEntry> storedEntries = readStoredEntries(stateFile, header);
+
+		Map<String, ClassFileState> currentStates = new LinkedHashMap<>();
+		Map<String, ImmutableList<Violation>> unchangedViolations = new LinkedHashMap<>();
+		List<Path> changedClassFiles = new ArrayList<>();
+		for (Path classFile : ClassFileDigest.sortedClassFiles(scannedFolder)) {
+			String relativeName = ClassFileDigest.relativeName(scannedFolder, classFile);
+			StoredEntry storedEntry = storedEntries.get(relativeName);
+			ClassFileState currentState = ClassFileState.of(classFile, storedEntry);
+			currentStates.put(relativeName, currentState);
+
+			if (storedEntry != null && storedEntry.state.hash.equals(currentState.hash))
+				unchangedViolations.put(relativeName, storedEntry.violations);
+			else
+				changedClassFiles.add(classFile);
+		}
+
+		ImmutableList<Path> pathsToScan = determinePathsToScan(scannedFolder, changedClassFiles, unchangedViolations);
+		return new IncrementalScan(stateFile, header, currentStates, unchangedViolations, pathsToScan);
+	}
+
+	private static ImmutableList<Path> determinePathsToScan(
+			Path scannedFolder,
+			List<Path> changedClassFiles,
+			Map<String, ImmutableList<Violation>> unchangedViolations) {
+		if (changedClassFiles.size() > MAX_CLASS_FILES_TO_SCAN_INDIVIDUALLY) {
+			// the whole folder is scanned, so the stored violations of unchanged files are replaced as well
+			unchangedViolations.clear();
+			return ImmutableList.of(scannedFolder);
+		}
+		return ImmutableList.copyOf(changedClassFiles);
+	}
+
+	/**
+	 * @return the paths jdeps has to scan, either individual class files or the whole folder; if empty, jdeps does not
+	 * have to run at all
+	 */
+	public ImmutableList<Path> pathsToScan() {
+		return pathsToScan;
+	}
+
+	/**
+	 * Completes the scan by merging the specified violations with the stored violations of the unchanged class files.
+	 * The new state is stored for the next scan.
+	 *
+	 * @param scannedViolations
+	 * 		the violations jdeps reported for the {@link #pathsToScan() pathsToScan}
+	 *
+	 * @return all violations of the scanned folder
+	 *
+	 * @throws IOException
+	 * 		if storing the new state fails
+	 */
+	public ImmutableList<Violation> complete(Collection<Violation> scannedViolations) throws IOException {
+		requireNonNull(scannedViolations, "The argument 'scannedViolations' must not be null.");
+
+		Map<String, List<Violation>> violationsByClassFile = new LinkedHashMap<>();
+		currentStates.keySet().forEach(relativeName -> violationsByClassFile.put(relativeName, new ArrayList<>()));
+		unchangedViolations.forEach((relativeName, violations) ->
+				violationsByClassFile.get(relativeName).addAll(violations));
+
+		List<Violation> unattributedViolations = new ArrayList<>();
+		for (Violation violation : scannedViolations) {
+			List<Violation> violationsOfClassFile = violationsByClassFile.get(classFileName(violation.getDependent()));
+			if (violationsOfClassFile == null)
+				unattributedViolations.add(violation);
+			else
+				violationsOfClassFile.add(violation);
+		}
+
+		if (unattributedViolations.isEmpty())
+			storeState(violationsByClassFile);
+		else
+			// the state can not be stored correctly, so make sure the next scan starts from scratch
+			Files.deleteIfExists(stateFile);
+
+		ImmutableList.Builder<Violation> allViolations = ImmutableList.builder();
+		violationsByClassFile.values().forEach(allViolations::addAll);
+		allViolations.addAll(unattributedViolations);
+		return allViolations.build();
+	}
+
+	/**
+	 * @return the name of the class file containing the specified type relative to the scanned folder
+	 */
+	private static String classFileName(Type type) {
+		return type.getPackageName().replace('.', '/') + "/" + type.getClassName() + ".class";
+	}
+
+	// #begin STORE STATE
+
+	private void storeState(Map<String, List<Violation>> violationsByClassFile) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add(header);
+		violationsByClassFile.forEach((relativeName, violations) -> {
+			lines.add(ENTRY_MARKER + currentStates.get(relativeName).toLine(relativeName));
+			violations.stream().flatMap(ViolationCodec::toLines).forEachOrdered(lines::add);
+		});
+		JDepsResultCache.writeAtomically(stateFile, lines);
+	}
+
+	private static Map<String, StoredEntry> readStoredEntries(Path stateFile, String expectedHeader) {
+		if (!Files.isRegularFile(stateFile))
+			return new HashMap<>();
+
+		try {
+			List<String> lines = Files.readAllLines(stateFile, UTF_8);
+			boolean headerMatches = !lines.isEmpty() && lines.get(0).equals(expectedHeader);
+			if (!headerMatches)
+				return new HashMap<>();
+			return parseEntries(lines.subList(1, lines.size()));
+		} catch (IOException | IllegalArgumentException ex) {
+			// a corrupt state only means that all class files have to be scanned again
+			return new HashMap<>();
+		}
+	}
+
+	private static Map<String, StoredEntry> parseEntries(List<String> lines) {
+		Map<String, StoredEntry> entries = new HashMap<>();
+		int entryStart = 0;
+		while (entryStart < lines.size()) {
+			int entryEnd = entryStart + 1;
+			while (entryEnd < lines.size() && !lines.get(entryEnd).startsWith(ENTRY_MARKER))
+				entryEnd++;
+
+			String entryLine = lines.get(entryStart);
+			if (!entryLine.startsWith(ENTRY_MARKER))
+				throw new IllegalArgumentException(format("The line '%s' starts no entry.", entryLine));
+			String[] fields = entryLine.substring(ENTRY_MARKER.length()).split(SEPARATOR, -1);
+			ImmutableList<Violation> violations = ViolationCodec.fromLines(lines.subList(entryStart + 1, entryEnd));
+			entries.put(fields[0], new StoredEntry(ClassFileState.fromFields(fields), violations));
+
+			entryStart = entryEnd;
+		}
+		return entries;
+	}
+
+	// #end STORE STATE
+
+	// #begin NESTED CLASSES
+
+	private static final class StoredEntry {
+
+		private final ClassFileState state;
+		private final ImmutableList<Violation> violations;
+
+		StoredEntry(ClassFileState state, ImmutableList<Violation> violations) {
+			this.state = state;
+			this.violations = violations;
+		}
+
+	}
+
+	private static final class ClassFileState {
+
+		private static final int FIELDS = 4;
+
+		private final long lastModified;
+		private final long size;
+		private final String hash;
+
+		private ClassFileState(long lastModified, long size, String hash) {
+			this.lastModified = lastModified;
+			this.size = size;
+			this.hash = hash;
+		}
+
+		/**
+		 * Determines the state of the specified class file. If its modification time and size equal the stored
+		 * state's, the file is assumed to be unchanged and its content is not hashed.
+		 */
+		static ClassFileState of(Path classFile, StoredEntry storedEntry) throws IOException {
+			long lastModified = Files.getLastModifiedTime(classFile).toMillis();
+			long size = Files.size(classFile);
+
+			Optional<ClassFileState> storedState = Optional.ofNullable(storedEntry).map(entry -> entry.state);
+			boolean seemsUnchanged = storedState
+					.map(state -> state.lastModified == lastModified && state.size == size)
+					.orElse(false);
+			if (seemsUnchanged)
+				return storedState.get();
+
+			String hash = Hashing.sha256().hashBytes(Files.readAllBytes(classFile)).toString();
+			return new ClassFileState(lastModified, size, hash);
+		}
+
+		static ClassFileState fromFields(String[] fields) {
+			if (fields.length != FIELDS)
+				throw new IllegalArgumentException(
+						format("A class file entry must contain %d fields but contains %d.", FIELDS, fields.length));
+			return new ClassFileState(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]);
+		}
+
+		String toLine(String relativeName) {
+			return relativeName + SEPARATOR + lastModified + SEPARATOR + size + SEPARATOR + hash;
+		}
+
+	}
+
+	// #end NESTED CLASSES
+
+}
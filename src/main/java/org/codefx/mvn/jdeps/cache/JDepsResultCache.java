@@ -0,0 +1,140 @@
+package org.codefx.mvn.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A cache on disk that stores the violations jdeps reported for a scanned folder.
+ * <p>
+ * The cache holds a single entry, whose key should be created with {@link #createKey(String, Path) createKey} so
+ * that it changes whenever the scanned class files or the jdeps version change. The cached violations are not judged,
+ * so changing the dependency rules does not invalidate the cache.
+ */
+public class JDepsResultCache {
+
+	/**
+	 * Increase this whenever the cache format or the parsing of jdeps' output changes, so that stale entries are not
+	 * used by newer versions of the plugin.
+	 */
+	private static final String FORMAT_VERSION = "1";
+
+	private static final String CACHE_FILE_NAME = "jdkinternals.cache";
+
+	private final Path cacheFile;
+
+	/**
+	 * Creates a new cache that stores its entry in the specified folder.
+	 *
+	 * @param cacheFolder
+	 * 		the folder containing the cache file; does not have to exist
+	 */
+	public JDepsResultCache(Path cacheFolder) {
+		requireNonNull(cacheFolder, "The argument 'cacheFolder' must not be null.");
+		this.cacheFile = cacheFolder.resolve(CACHE_FILE_NAME);
+	}
+
+	/**
+	 * Creates the key for the specified jdeps version and scanned folder.
+	 *
+	 * @param jDepsVersion
+	 * 		the version of the jdeps tool which scans the folder
+	 * @param scannedFolder
+	 * 		the folder to be scanned by jdeps
+	 *
+	 * @return a key for the cache
+	 *
+	 * @throws IOException
+	 * 		if reading the class files in the scanned folder fails
+	 */
+	public static String createKey(String jDepsVersion, Path scannedFolder) throws IOException {
+		requireNonNull(jDepsVersion, "The argument 'jDepsVersion' must not be null.");
+		return format("format %s; jdeps %s; classes %s",
+				FORMAT_VERSION, jDepsVersion, ClassFileDigest.digest(scannedFolder));
+	}
+
+	/**
+	 * @param key
+	 * 		the key for the requested violations
+	 *
+	 * @return the cached violations if the cache contains an entry for the specified key; otherwise an empty
+	 * {@link Optional}
+	 *
+	 * @throws IOException
+	 * 		if reading the cache fails or its content is malformed
+	 */
+	public Optional<ImmutableList<Violation>> get(String key) throws IOException {
+		requireNonNull(key, "The argument 'key' must not be null.");
+		if (!Files.isRegularFile(cacheFile))
+			return Optional.empty();
+
+		List<String> lines = Files.readAllLines(cacheFile, UTF_8);
+		boolean keyMatches = !lines.isEmpty() && lines.get(0).equals(key);
+		if (!keyMatches)
+			return Optional.empty();
+
+		try {
+			return Optional.of(ViolationCodec.fromLines(lines.subList(1, lines.size())));
+		} catch (IllegalArgumentException ex) {
+			throw new IOException(format("The cache file '%s' is malformed.", cacheFile), ex);
+		}
+	}
+
+	/**
+	 * Replaces the cache's entry with the specified violations.
+	 *
+	 * @param key
+	 * 		the key for the violations
+	 * @param violations
+	 * 		the violations reported by jdeps
+	 *
+	 * @throws IOException
+	 * 		if writing the cache fails
+	 */
+	public void put(String key, Collection<Violation> violations) throws IOException {
+		requireNonNull(key, "The argument 'key' must not be null.");
+		requireNonNull(violations, "The argument 'violations' must not be null.");
+
+		List<String> lines = Stream.concat(
+				Stream.of(key),
+				violations.stream().flatMap(ViolationCodec::toLines))
+				.collect(toList());
+		writeAtomically(cacheFile, lines);
+	}
+
+	/**
+	 * Writes the lines to a temporary file and then moves it to the specified file, so that concurrent readers never
+	 * see a partially written file.
+	 */
+	static void writeAtomically(Path file, Iterable<String> lines) throws IOException {
+		Path folder = file.toAbsolutePath().getParent();
+		Files.createDirectories(folder);
+		Path temporaryFile = Files.createTempFile(folder, file.getFileName().toString(), ".tmp");
+		try {
+			Files.write(temporaryFile, lines, UTF_8);
+			try {
+				Files.move(temporaryFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temporaryFile, file, REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+}
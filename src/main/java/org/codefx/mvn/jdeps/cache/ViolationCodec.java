@@ -0,0 +1,123 @@
+package org.codefx.mvn.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.dependency.Violation.ViolationBuilder;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Stream.concat;
+
+/**
+ * Converts {@link Violation}s to lines of text and back.
+ * <p>
+ * Each violation is represented by one line for the dependent followed by one line for each internal dependency. The
+ * lines consist of tab-separated fields, where dependency lines additionally start with a tab:
+ *
+ * <pre>
+ * org.food.fruit	Apple
+ * 	sun.misc	Unsafe	JDK internal API	rt.jar
+ * </pre>
+ */
+final class ViolationCodec {
+
+	private static final String SEPARATOR = "\t";
+	private static final int DEPENDENT_FIELDS = 2;
+	private static final int DEPENDENCY_FIELDS = 4;
+
+	private ViolationCodec() {
+		// no instances of this class
+	}
+
+	/**
+	 * @param violation
+	 * 		the violation to encode
+	 *
+	 * @return the lines representing the specified violation
+	 */
+	public static Stream<String> toLines(Violation violation) {
+		requireNonNull(violation, "The argument 'violation' must not be null.");
+
+		Type dependent = violation.getDependent();
+		return concat(
+				Stream.of(dependent.getPackageName() + SEPARATOR + dependent.getClassName()),
+				violation.getInternalDependencies().stream().map(ViolationCodec::toLine));
+	}
+
+	private static String toLine(InternalType dependency) {
+		return SEPARATOR + dependency.getPackageName()
+				+ SEPARATOR + dependency.getClassName()
+				+ SEPARATOR + dependency.getCategory()
+				+ SEPARATOR + dependency.getSource();
+	}
+
+	/**
+	 * @param lines
+	 * 		the lines to decode, e.g. as created by {@link #toLines(Violation)}
+	 *
+	 * @return the violations represented by the specified lines
+	 *
+	 * @throws IllegalArgumentException
+	 * 		if the lines are malformed
+	 */
+	public static ImmutableList<Violation> fromLines(Iterable<String> lines) {
+		requireNonNull(lines, "The argument 'lines' must not be null.");
+
+		ImmutableList.Builder<Violation> violations = ImmutableList.builder();
+		ViolationBuilder currentViolation = null;
+		Iterator<String> lineIterator = lines.iterator();
+		while (lineIterator.hasNext()) {
+			String line = lineIterator.next();
+			if (line.isEmpty())
+				continue;
+
+			if (line.startsWith(SEPARATOR)) {
+				if (currentViolation == null)
+					throw new IllegalArgumentException(format("The line '%s' belongs to no dependent.", line));
+				currentViolation.addDependency(parseDependency(line));
+			} else {
+				if (currentViolation != null)
+					violations.add(buildViolation(currentViolation));
+				currentViolation = Violation.buildForDependent(parseDependent(line));
+			}
+		}
+		if (currentViolation != null)
+			violations.add(buildViolation(currentViolation));
+
+		return violations.build();
+	}
+
+	private static Type parseDependent(String line) {
+		String[] fields = split(line, DEPENDENT_FIELDS);
+		return Type.of(fields[0], fields[1]);
+	}
+
+	private static InternalType parseDependency(String line) {
+		String[] fields = split(line.substring(SEPARATOR.length()), DEPENDENCY_FIELDS);
+		return InternalType.of(fields[0], fields[1], fields[2], fields[3]);
+	}
+
+	private static String[] split(String line, int expectedFields) {
+		// the limit keeps trailing empty fields (e.g. an empty source)
+		String[] fields = line.split(SEPARATOR, -1);
+		if (fields.length != expectedFields)
+			throw new IllegalArgumentException(
+					format("The line '%s' should contain %d fields but contains %d.",
+							line, expectedFields, fields.length));
+		return fields;
+	}
+
+	private static Violation buildViolation(ViolationBuilder violation) {
+		try {
+			return violation.build();
+		} catch (IllegalStateException ex) {
+			throw new IllegalArgumentException(ex.getMessage(), ex);
+		}
+	}
+
+}
@@ -1,5 +1,9 @@
 package org.codefx.mvn.jdeps.dependency;
 
+import com.google.common.collect.MapMaker;
+
+import java.util.concurrent.ConcurrentMap;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -10,6 +14,11 @@ import static java.util.Objects.requireNonNull;
  */
 public final class InternalType extends Type {
 
+	/**
+	 * The shared internal types by their fully qualified name; see {@link Type}.
+	 */
+	private static final ConcurrentMap<String, InternalType> INTERNAL_TYPES = new MapMaker().weakValues().makeMap();
+
 	private final String category;
 	private final String source;
 
@@ -21,6 +30,9 @@ public final class InternalType extends Type {
 
 	/**
 	 * Returns an internal type for the specified arguments.
+	 * <p>
+	 * Like {@link Type#of(String, String)}, this has to create the fully qualified name to look up the shared type, so
+	 * callers which already have that name should use {@link #of(String, String, String)} instead.
 	 *
 	 * @param packageName
 	 * 		the name of the package containing the type (dotted)
@@ -38,7 +50,56 @@ public final class InternalType extends Type {
 			String className,
 			String category,
 			String source) {
-		return new InternalType(packageName, className, category, source);
+		requireNonNull(packageName, "The argument 'packageName' must not be null.");
+		requireNonNull(className, "The argument 'className' must not be null.");
+
+		for (InternalType type = INTERNAL_TYPES.get(packageName + "." + className);
+				type != null;
+				type = type.nextVariant())
+			if (type.hasNames(packageName, className) && type.hasDetails(category, source))
+				return type;
+		return share(INTERNAL_TYPES, new InternalType(packageName, className, category, source));
+	}
+
+	/**
+	 * Returns an internal type for the specified arguments.
+	 *
+	 * @param qualifiedClassName
+	 * 		the fully qualified name of the type's class (dotted); must contain at least one dot
+	 * @param category
+	 * 		the category as reported by JDeps (e.g. "JDK internal API")
+	 * @param source
+	 * 		the source as reported by JDeps (e.g. "rt.jar")
+	 *
+	 * @return an internal type
+	 */
+	public static InternalType of(String qualifiedClassName, String category, String source) {
+		requireNonNull(qualifiedClassName, "The argument 'qualifiedClassName' must not be null.");
+		int lastDotIndex = qualifiedClassName.lastIndexOf('.');
+		if (lastDotIndex == -1)
+			throw new IllegalArgumentException(
+					"The argument 'qualifiedClassName' must be a fully qualified class name "
+							+ "with at least one dot ('.').");
+
+		for (InternalType type = INTERNAL_TYPES.get(qualifiedClassName); type != null; type = type.nextVariant())
+			if (type.getPackageName().length() == lastDotIndex && type.hasDetails(category, source))
+				return type;
+
+		String packageName = qualifiedClassName.substring(0, lastDotIndex);
+		String className = qualifiedClassName.substring(lastDotIndex + 1);
+		return share(INTERNAL_TYPES, new InternalType(packageName, className, category, source));
+	}
+
+	private boolean hasDetails(String category, String source) {
+		return this.category.equals(category) && this.source.equals(source);
+	}
+
+	@Override
+	boolean hasSameDetails(Type other) {
+		if (!super.hasSameDetails(other))
+			return false;
+		InternalType otherInternalType = (InternalType) other;
+		return hasDetails(otherInternalType.category, otherInternalType.source);
 	}
 
 	/**
@@ -1,12 +1,20 @@
 package org.codefx.mvn.jdeps.dependency;
 
+import com.google.common.collect.MapMaker;
+
 import java.util.Comparator;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * A simple textual representation of a type consisting of the package and the class name.
+ * <p>
+ * The same types are reported over and over (e.g. every class using {@code sun.misc.Unsafe} repeats that name), so
+ * {@link #of(String) of} hands out one shared instance per name as long as it is in use anywhere. The first instance
+ * created for a name is shared; it is not replaced if the same name is later split differently. The fully qualified
+ * name and the hash code are computed once per instance, which makes comparing shared instances an identity check.
  */
 public class Type implements Comparable<Type> {
 
@@ -14,8 +22,21 @@ public class Type implements Comparable<Type> {
 			.comparing(Type::getPackageName)
 			.thenComparing(Type::getClassName);
 
+	/**
+	 * The shared types by their fully qualified name; a type that is no longer referenced anywhere else is removed.
+	 */
+	private static final ConcurrentMap<String, Type> TYPES = new MapMaker().weakValues().makeMap();
+
 	private final String packageName;
 	private final String className;
+	private final String fullyQualifiedName;
+	private final int hashCode;
+
+	/**
+	 * The next shared type with the same fully qualified name but another split or other details; see
+	 * {@link #share(ConcurrentMap, Type) share}.
+	 */
+	private volatile Type nextVariant;
 
 	/**
 	 * Creates a new type.
@@ -33,10 +54,16 @@ public class Type implements Comparable<Type> {
 			throw new IllegalArgumentException("The argument 'packageName' must not be empty.");
 		if (className.isEmpty())
 			throw new IllegalArgumentException("The argument 'className' must not be empty.");
+
+		this.fullyQualifiedName = packageName + "." + className;
+		this.hashCode = Objects.hash(packageName, className);
 	}
 
 	/**
 	 * Returns a type for the specified package and class name.
+	 * <p>
+	 * Looking up the shared type requires the fully qualified name, which this method has to create, so callers which
+	 * already have that name should use {@link #of(String)} instead.
 	 *
 	 * @param packageName
 	 * 		the name of the package containing the type (dotted)
@@ -46,7 +73,13 @@ public class Type implements Comparable<Type> {
 	 * @return a type
 	 */
 	public static Type of(String packageName, String className) {
-		return new Type(packageName, className);
+		requireNonNull(packageName, "The argument 'packageName' must not be null.");
+		requireNonNull(className, "The argument 'className' must not be null.");
+
+		for (Type type = TYPES.get(packageName + "." + className); type != null; type = type.nextVariant())
+			if (type.hasNames(packageName, className))
+				return type;
+		return share(TYPES, new Type(packageName, className));
 	}
 
 	/**
@@ -68,9 +101,73 @@ public class Type implements Comparable<Type> {
 					"The argument 'qualifiedClassName' must be a fully qualified class name "
 							+ "with at least one dot ('.').");
 
+		for (Type type = TYPES.get(qualifiedClassName); type != null; type = type.nextVariant())
+			if (type.packageName.length() == lastDotIndex)
+				return type;
+
 		String packageName = qualifiedClassName.substring(0, lastDotIndex);
 		String className = qualifiedClassName.substring(lastDotIndex + 1);
-		return new Type(packageName, className);
+		return share(TYPES, new Type(packageName, className));
+	}
+
+	/**
+	 * Shares the specified type unless a type that is the same in all regards is already shared.
+	 * <p>
+	 * Names like "a.b.C" can be split in different ways (and internal types can differ in their details), so the same
+	 * name can stand for different types. The first type shared for a name is put into the map and each other variant
+	 * is appended to its chain of {@link #nextVariant() variants}. Shared types are never replaced, so there is one
+	 * canonical instance per type.
+	 *
+	 * @param types
+	 * 		the shared types by their fully qualified name
+	 * @param type
+	 * 		the type to share
+	 *
+	 * @return the type that was already shared if it is {@link #equals(Object) equal} to the specified one in all
+	 * regards, otherwise the specified type
+	 */
+	static <T extends Type> T share(ConcurrentMap<String, T> types, T type) {
+		T sharedType = types.putIfAbsent(type.getFullyQualifiedName(), type);
+		if (sharedType == null)
+			return type;
+		return sharedType.shareVariant(type);
+	}
+
+	synchronized <T extends Type> T shareVariant(T type) {
+		// variants are only appended while holding the first type's lock, so none is lost
+		Type variant = this;
+		while (!variant.hasSameDetails(type)) {
+			if (variant.nextVariant == null) {
+				variant.nextVariant = type;
+				return type;
+			}
+			variant = variant.nextVariant;
+		}
+		@SuppressWarnings("unchecked")
+		T sharedVariant = (T) variant;
+		return sharedVariant;
+	}
+
+	/**
+	 * @return the next shared type with the same fully qualified name as this one; null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	<T extends Type> T nextVariant() {
+		return (T) nextVariant;
+	}
+
+	boolean hasNames(String packageName, String className) {
+		return this.packageName.equals(packageName) && this.className.equals(className);
+	}
+
+	/**
+	 * @param other
+	 * 		a type with the same fully qualified name
+	 *
+	 * @return whether the specified type is the same as this one, including the details subclasses add
+	 */
+	boolean hasSameDetails(Type other) {
+		return getClass() == other.getClass() && hasNames(other.packageName, other.className);
 	}
 
 	/**
@@ -92,7 +189,7 @@ public class Type implements Comparable<Type> {
 	 * {@link #getPackageName() packageName}.{@link #getClassName() className}
 	 */
 	public String getFullyQualifiedName() {
-		return packageName + "." + className;
+		return fullyQualifiedName;
 	}
 
 	// #begin COMPARETO / EQUALS / HASHCODE / TOSTRING
@@ -107,6 +204,7 @@ public class Type implements Comparable<Type> {
 
 	@Override
 	public final boolean equals(Object obj) {
+		// types are shared, so most comparisons end here
 		if (this == obj)
 			return true;
 		if (obj == null)
@@ -115,18 +213,19 @@ public class Type implements Comparable<Type> {
 			return false;
 
 		Type other = (Type) obj;
-		return Objects.equals(this.packageName, other.packageName)
-				&& Objects.equals(this.className, other.className);
+		return this.hashCode == other.hashCode
+				&& this.packageName.equals(other.packageName)
+				&& this.className.equals(other.className);
 	}
 
 	@Override
 	public final int hashCode() {
-		return Objects.hash(packageName, className);
+		return hashCode;
 	}
 
 	@Override
 	public String toString() {
-		return packageName + "." + className;
+		return fullyQualifiedName;
 	}
 
 	// #end COMPARETO / EQUALS / HASHCODE / TOSTRING
@@ -0,0 +1,155 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.toolchain.ToolchainManager;
+import org.codefx.mvn.jdeps.tool.jdeps.JDepsExecution;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
+
+/**
+ * Holds the parameters that define how a project's class files are scanned, so the mojos which scan them (or prefetch
+ * the scan) are configured in the same way.
+ */
+public abstract class AbstractScanMojo extends AbstractMojo {
+
+	@Parameter(defaultValue = "${project.build.outputDirectory}", readonly = true)
+	private File buildOutputDirectory;
+
+	@Parameter(defaultValue = "${project}", readonly = true)
+	private MavenProject project;
+
+	@Parameter(defaultValue = "${session}", readonly = true)
+	private MavenSession session;
+
+	@Component
+	private ToolchainManager toolchainManager;
+
+	@Parameter
+	private JDepsExecution jdepsExecution = JDepsExecution.IN_PROCESS;
+
+	/**
+	 * Whether the violations jdeps reports are cached in the {@link #cacheDirectory}, keyed by a digest of the class
+	 * files and the jdeps version, so an unchanged project is not scanned again. Computing the digest reads all class
+	 * files, which only pays off if jdeps is slow compared to that, e.g. for large projects.
+	 */
+	@Parameter
+	private boolean cacheResults = false;
+
+	@Parameter(defaultValue = "${project.build.directory}/jdeps-cache")
+	private File cacheDirectory;
+
+	@Parameter
+	private boolean incrementalScan = false;
+
+	@Parameter
+	private boolean scanDependencies = false;
+
+	@Parameter(defaultValue = "${settings.localRepository}/.cache/jdeps-maven-plugin")
+	private File artifactCacheDirectory;
+
+	@Parameter
+	private boolean parallelScan = false;
+
+	@Parameter
+	private int scanThreads = Runtime.getRuntime().availableProcessors();
+
+	@Parameter
+	private boolean prefilterClassFiles = false;
+
+	@Parameter
+	private boolean traceParse = false;
+
+	@Parameter(defaultValue = "${project.build.directory}/jdeps-parse-trace.txt")
+	private File parseTraceFile;
+
+	/**
+	 * Logs the scan parameters on debug level.
+	 */
+	protected void logScanConfiguration() {
+		logger().debug("\tjdepsExecution = " + jdepsExecution);
+		logger().debug("\tcacheResults = " + cacheResults);
+		logger().debug("\tincrementalScan = " + incrementalScan);
+		if (cacheResults || incrementalScan)
+			logger().debug("\tcacheDirectory = " + cacheDirectory);
+		logger().debug("\tscanDependencies = " + scanDependencies);
+		if (scanDependencies)
+			logger().debug("\tartifactCacheDirectory = " + artifactCacheDirectory);
+		logger().debug("\tparallelScan = " + parallelScan);
+		if (parallelScan)
+			logger().debug("\tscanThreads = " + scanThreads);
+		logger().debug("\tprefilterClassFiles = " + prefilterClassFiles);
+		logger().debug("\ttraceParse = " + traceParse);
+		if (traceParse)
+			logger().debug("\tparseTraceFile = " + parseTraceFile);
+	}
+
+	/**
+	 * @return the configuration for scanning the project's class files
+	 */
+	ScanConfiguration createScanConfiguration() {
+		return new ScanConfiguration(
+				Paths.get(buildOutputDirectory.toURI()),
+				jdepsExecution,
+				getCacheFolder(),
+				incrementalScan && cacheDirectory != null,
+				parallelScan ? Math.max(scanThreads, 1) : 1,
+				prefilterClassFiles,
+				getParseTraceFile(),
+				Toolchains.findJdkToolchain(toolchainManager, session),
+				getDependencyArtifacts(),
+				getArtifactCacheFolder());
+	}
+
+	private Optional<Path> getParseTraceFile() {
+		if (traceParse && parseTraceFile != null)
+			return Optional.of(parseTraceFile.toPath());
+		else
+			return Optional.empty();
+	}
+
+	private ImmutableList<Path> getDependencyArtifacts() {
+		if (!scanDependencies || project == null)
+			return ImmutableList.of();
+
+		// the compile class path was resolved for this mojo; reactor artifacts can be folders, which are skipped
+		@SuppressWarnings("unchecked")
+		Set<Artifact> artifacts = project.getArtifacts();
+		return ImmutableList.copyOf(artifacts.stream()
+				.map(Artifact::getFile)
+				.filter(Objects::nonNull)
+				.map(File::toPath)
+				.filter(Files::isRegularFile)
+				.sorted()
+				.collect(toList()));
+	}
+
+	private Optional<Path> getArtifactCacheFolder() {
+		if (scanDependencies && artifactCacheDirectory != null)
+			return Optional.of(artifactCacheDirectory.toPath());
+		else
+			return Optional.empty();
+	}
+
+	private Optional<Path> getCacheFolder() {
+		if ((cacheResults || incrementalScan) && cacheDirectory != null)
+			return Optional.of(cacheDirectory.toPath());
+		else
+			return Optional.empty();
+	}
+
+}
@@ -1,13 +1,14 @@
 package org.codefx.mvn.jdeps.mojo;
 
 import org.codefx.mvn.jdeps.rules.ArrowRuleParser;
+import org.codefx.mvn.jdeps.rules.CachingDependencyJudge;
 import org.codefx.mvn.jdeps.rules.DependencyJudge;
 import org.codefx.mvn.jdeps.rules.DependencyJudgeBuilder;
 import org.codefx.mvn.jdeps.rules.DependencyRule;
-import org.codefx.mvn.jdeps.rules.MapDependencyJudge.MapDependencyJudgeBuilder;
 import org.codefx.mvn.jdeps.rules.PackageInclusion;
 import org.codefx.mvn.jdeps.rules.Severity;
 import org.codefx.mvn.jdeps.rules.SimpleDependencyJudge;
+import org.codefx.mvn.jdeps.rules.TrieDependencyJudge.TrieDependencyJudgeBuilder;
 import org.codefx.mvn.jdeps.rules.XmlRule;
 import org.codehaus.plexus.classworlds.launcher.ConfigurationException;
 
@@ -29,21 +30,58 @@ class DependencyRulesConfiguration {
 	 * than introduce Maven-specific logging into the other package.
 	 */
 
+	/**
+	 * The number of severities the judge caches; each entry is a pair of type names, so this is well below a megabyte.
+	 */
+	private static final long CACHED_SEVERITIES = 10_000;
+
 	private final Severity defaultSeverity;
 	private final PackageInclusion packageInclusion;
 	private final List<XmlRule> xml;
 	private final List<String> arrow;
+	private final boolean cacheSeverities;
 
 	public DependencyRulesConfiguration(
 			Severity defaultSeverity, PackageInclusion packageInclusion, List<XmlRule> xml, List<String> arrow) {
+		this(defaultSeverity, packageInclusion, xml, arrow, false);
+	}
+
+	public DependencyRulesConfiguration(
+			Severity defaultSeverity,
+			PackageInclusion packageInclusion,
+			List<XmlRule> xml,
+			List<String> arrow,
+			boolean cacheSeverities) {
 		this.defaultSeverity = requireNonNull(defaultSeverity, "The argument 'defaultSeverity' must not be null.");
 		this.packageInclusion = requireNonNull(packageInclusion, "The argument 'packageInclusion' must not be null.");
 		this.xml = requireNonNull(xml, "The argument 'xml' must not be null.");
 		this.arrow = requireNonNull(arrow, "The argument 'arrow' must not be null.");
+		this.cacheSeverities = cacheSeverities;
+	}
+
+	public Severity getDefaultSeverity() {
+		return defaultSeverity;
+	}
+
+	public PackageInclusion getPackageInclusion() {
+		return packageInclusion;
+	}
+
+	public List<XmlRule> getXmlRules() {
+		return xml;
+	}
+
+	public List<String> getArrowRules() {
+		return arrow;
+	}
+
+	public boolean isCacheSeverities() {
+		return cacheSeverities;
 	}
 
 	/**
-	 * @return the {@link DependencyJudge} matching the configuration
+	 * @return the {@link DependencyJudge} matching the configuration; if severities are cached, the judge built from
+	 * the rules is wrapped in a {@link CachingDependencyJudge}
 	 */
 	public DependencyJudge createJudge() throws ConfigurationException {
 		if (xml.isEmpty() && arrow.isEmpty())
@@ -52,11 +90,12 @@ class DependencyRulesConfiguration {
 		DependencyJudgeBuilder dependencyJudgeBuilder = createBuilderFromConfiguration();
 		addXmlRulesToBuilder(xml, dependencyJudgeBuilder);
 		addArrowRulesToBuilder(arrow, dependencyJudgeBuilder);
-		return dependencyJudgeBuilder.build();
+		DependencyJudge judge = dependencyJudgeBuilder.build();
+		return cacheSeverities ? new CachingDependencyJudge(judge, CACHED_SEVERITIES) : judge;
 	}
 
 	private DependencyJudgeBuilder createBuilderFromConfiguration() {
-		return new MapDependencyJudgeBuilder()
+		return new TrieDependencyJudgeBuilder()
 				.withInclusion(packageInclusion)
 				.withDefaultSeverity(defaultSeverity);
 	}
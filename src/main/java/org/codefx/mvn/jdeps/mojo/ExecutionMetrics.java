@@ -0,0 +1,320 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import com.google.common.base.CaseFormat;
+import com.google.common.base.Stopwatch;
+import org.apache.maven.plugin.MojoFailureException;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.result.ViolationSink;
+import org.codefx.mvn.jdeps.rules.DependencyJudge;
+import org.codefx.mvn.jdeps.rules.Severity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Measures how long the phases of a plugin execution take and counts what passes through them.
+ * <p>
+ * The phases are nested: jdeps' output is parsed while it is streamed and each violation is judged and output as soon
+ * as the parser reports it. The time of a phase hence excludes the time spent in phases that were measured while it
+ * was running, so that the phases add up to (a little less than) the total time.
+ * <p>
+ * Lines can be counted from any thread (e.g. by parallel scans); everything else must be recorded from the thread
+ * that executes the plugin.
+ */
+final class ExecutionMetrics {
+
+	private final Stopwatch total;
+	private final long[] phaseNanos;
+	private final long[] judgements;
+	private final LongAdder lines;
+	private long violations;
+
+	/**
+	 * The time of all phases that were measured so far; used to find out how much time of a phase was spent in nested
+	 * phases.
+	 */
+	private long measuredNanos;
+
+	/**
+	 * Creates new metrics; the total time is measured from here on.
+	 */
+	public ExecutionMetrics() {
+		total = Stopwatch.createStarted();
+		phaseNanos = new long[Phase.values().length];
+		judgements = new long[Severity.values().length];
+		lines = new LongAdder();
+	}
+
+	// #begin RECORD
+
+	/**
+	 * Starts measuring the specified phase.
+	 *
+	 * @param phase
+	 * 		the phase to measure
+	 *
+	 * @return the running measurement, which must be {@link Measurement#stop() stopped} when the phase ends
+	 */
+	public Measurement start(Phase phase) {
+		return new Measurement(requireNonNull(phase, "The argument 'phase' must not be null."));
+	}
+
+	/**
+	 * Counts a line of jdeps output.
+	 *
+	 * @param line
+	 * 		the line; only counted, not inspected
+	 */
+	public void countLine(String line) {
+		lines.increment();
+	}
+
+	/**
+	 * @param judge
+	 * 		the judge to count the judgements of
+	 *
+	 * @return a judge that counts the severities the specified judge returns
+	 */
+	public DependencyJudge countJudgements(DependencyJudge judge) {
+		requireNonNull(judge, "The argument 'judge' must not be null.");
+		return (dependentName, dependencyName) -> {
+			Severity severity = judge.judgeSeverity(dependentName, dependencyName);
+			judgements[severity.ordinal()]++;
+			return severity;
+		};
+	}
+
+	/**
+	 * @param judgeViolation
+	 * 		the consumer which judges the violations (e.g. a {@link org.codefx.mvn.jdeps.result.ViolationPipeline})
+	 *
+	 * @return a consumer that counts the violations and measures how long judging them takes
+	 */
+	public Consumer<Violation> measureJudging(Consumer<Violation> judgeViolation) {
+		requireNonNull(judgeViolation, "The argument 'judgeViolation' must not be null.");
+		return violation -> {
+			violations++;
+			Measurement judging = start(Phase.JUDGE);
+			try {
+				judgeViolation.accept(violation);
+			} finally {
+				judging.stop();
+			}
+		};
+	}
+
+	/**
+	 * @param sink
+	 * 		the sink to measure
+	 *
+	 * @return a sink that measures how long the specified sink takes to accept and finish the violations
+	 */
+	public ViolationSink measureOutput(ViolationSink sink) {
+		requireNonNull(sink, "The argument 'sink' must not be null.");
+		return new ViolationSink() {
+			@Override
+			public void accept(Severity severity, Violation violation) {
+				Measurement outputting = start(Phase.OUTPUT);
+				try {
+					sink.accept(severity, violation);
+				} finally {
+					outputting.stop();
+				}
+			}
+
+			@Override
+			public void finish() throws MojoFailureException {
+				Measurement outputting = start(Phase.OUTPUT);
+				try {
+					sink.finish();
+				} finally {
+					outputting.stop();
+				}
+			}
+		};
+	}
+
+	// #end RECORD
+
+	// #begin QUERY
+
+	/**
+	 * @return the time since these metrics were created in nanoseconds
+	 */
+	public long totalNanos() {
+		return total.elapsed(NANOSECONDS);
+	}
+
+	/**
+	 * @param phase
+	 * 		the phase whose time to return
+	 *
+	 * @return the time spent in the specified phase (excluding nested phases) in nanoseconds
+	 */
+	public long nanos(Phase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * @return the number of lines of jdeps output
+	 */
+	public long lines() {
+		return lines.sum();
+	}
+
+	/**
+	 * @return the number of judged violations
+	 */
+	public long violations() {
+		return violations;
+	}
+
+	/**
+	 * @param severity
+	 * 		the severity whose judgements to return
+	 *
+	 * @return the number of judged dependencies that got the specified severity
+	 */
+	public long judgements(Severity severity) {
+		return judgements[severity.ordinal()];
+	}
+
+	/**
+	 * @return the number of judged dependencies, which is the sum of the {@link #judgements(Severity) judgements} of
+	 * all severities
+	 */
+	public long dependencies() {
+		long dependencies = 0;
+		for (long judgementsWithSeverity : judgements)
+			dependencies += judgementsWithSeverity;
+		return dependencies;
+	}
+
+	// #end QUERY
+
+	// #begin REPORT
+
+	/**
+	 * @return a human-readable summary of the metrics
+	 */
+	public Stream<String> toLines() {
+		List<String> lines = new ArrayList<>();
+		lines.add(format("Metrics (total: %d ms):", NANOSECONDS.toMillis(totalNanos())));
+		for (Phase phase : Phase.values())
+			lines.add(format("\t%s: %d ms", phase.description, NANOSECONDS.toMillis(nanos(phase))));
+		lines.add(format("\tlines of jdeps output: %d", lines()));
+		lines.add(format("\tviolations: %d", violations()));
+		lines.add(format("\tjudged dependencies: %d", dependencies()));
+		for (Severity severity : Severity.values())
+			lines.add(format("\t\t%s: %d", severity, judgements(severity)));
+		return lines.stream();
+	}
+
+	/**
+	 * @return the metrics as a JSON object; all times are in nanoseconds
+	 */
+	public String toJson() {
+		String phases = Stream.of(Phase.values())
+				.map(phase -> format("\"%s\": %d", phase.jsonName(), nanos(phase)))
+				.collect(joining(", ", "{ ", " }"));
+		String severities = Stream.of(Severity.values())
+				.map(severity -> format("\"%s\": %d", severity, judgements(severity)))
+				.collect(joining(", ", "{ ", " }"));
+		return format("{%n"
+						+ "\t\"totalNanos\": %d,%n"
+						+ "\t\"phaseNanos\": %s,%n"
+						+ "\t\"lines\": %d,%n"
+						+ "\t\"violations\": %d,%n"
+						+ "\t\"dependencies\": %d,%n"
+						+ "\t\"judgements\": %s%n"
+						+ "}%n",
+				totalNanos(), phases, lines(), violations(), dependencies(), severities);
+	}
+
+	/**
+	 * Writes the metrics {@link #toJson() as JSON} to the specified file, replacing it if it exists.
+	 *
+	 * @param file
+	 * 		the file to write to; missing folders are created
+	 *
+	 * @throws IOException
+	 * 		if writing the file failed
+	 */
+	public void writeJson(Path file) throws IOException {
+		requireNonNull(file, "The argument 'file' must not be null.");
+		Path folder = file.toAbsolutePath().getParent();
+		if (folder != null)
+			Files.createDirectories(folder);
+		Files.write(file, toJson().getBytes(UTF_8));
+	}
+
+	// #end REPORT
+
+	// #begin NESTED CLASSES
+
+	/**
+	 * The measured phases of a plugin execution.
+	 */
+	enum Phase {
+
+		CREATE_JUDGE("creating the judge"),
+		FIND_SCANNER("finding jdeps"),
+		SCAN("running jdeps and parsing its output"),
+		JUDGE("judging violations"),
+		OUTPUT("outputting violations");
+
+		private final String description;
+
+		Phase(String description) {
+			this.description = description;
+		}
+
+		private String jsonName() {
+			return CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, name());
+		}
+
+	}
+
+	/**
+	 * A running measurement of a phase.
+	 */
+	final class Measurement {
+
+		private final Phase phase;
+		private final long startNanos;
+		private final long measuredNanosAtStart;
+
+		private Measurement(Phase phase) {
+			this.phase = phase;
+			this.startNanos = System.nanoTime();
+			this.measuredNanosAtStart = measuredNanos;
+		}
+
+		/**
+		 * Stops the measurement and adds the elapsed time, minus the time spent in nested phases, to the phase.
+		 */
+		public void stop() {
+			long elapsedNanos = System.nanoTime() - startNanos;
+			long nestedNanos = measuredNanos - measuredNanosAtStart;
+			long phaseNanos = Math.max(elapsedNanos - nestedNanos, 0);
+			ExecutionMetrics.this.phaseNanos[phase.ordinal()] += phaseNanos;
+			measuredNanos += phaseNanos;
+		}
+
+	}
+
+	// #end NESTED CLASSES
+
+}
@@ -0,0 +1,166 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.toolchain.ToolchainManager;
+import org.codefx.mvn.jdeps.result.Result;
+import org.codefx.mvn.jdeps.result.ResultOutputStrategy;
+import org.codefx.mvn.jdeps.result.RuleOutputFormat;
+import org.codefx.mvn.jdeps.rules.PackageInclusion;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.codefx.mvn.jdeps.rules.XmlRule;
+import org.codefx.mvn.jdeps.tool.jdeps.JDepsExecution;
+import org.codehaus.plexus.classworlds.launcher.ConfigurationException;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import static java.lang.String.format;
+import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
+
+/**
+ * Runs "jdeps -jdkinternals" once over the class files of all modules in the reactor and breaks the build if the tool
+ * reports dependencies on JDK internal API.
+ * <p>
+ * Each violation is attributed to the module whose output folder contains the dependent class and judged by the
+ * dependency rules with which that module runs the "jdkinternals" goal. Modules that configure no rules use those
+ * configured for this goal.
+ * <p>
+ * The modules' class files must exist when this goal runs, so it should be called after compilation, e.g. with
+ * {@code mvn compile jdeps:jdkinternals-aggregate}.
+ */
+@Mojo(name = "jdkinternals-aggregate",
+		aggregator = true,
+		threadSafe = true,
+		requiresProject = true)
+public class JdkInternalsAggregateMojo extends AbstractMojo {
+
+	@Parameter(defaultValue = "${reactorProjects}", readonly = true)
+	private List<MavenProject> reactorProjects;
+
+	@Parameter(defaultValue = "${plugin}", readonly = true)
+	private PluginDescriptor plugin;
+
+	@Parameter(defaultValue = "${session}", readonly = true)
+	private MavenSession session;
+
+	@Component
+	private ToolchainManager toolchainManager;
+
+	@Parameter
+	private Severity defaultSeverity = Severity.WARN;
+
+	@Parameter
+	private PackageInclusion packages = PackageInclusion.FLAT;
+
+	@Parameter
+	private List<XmlRule> xmlDependencyRules = new ArrayList<>();
+
+	@Parameter
+	private List<String> arrowDependencyRules = new ArrayList<>();
+
+	@Parameter
+	private JDepsExecution jdepsExecution = JDepsExecution.IN_PROCESS;
+
+	@Parameter
+	private int scanThreads = 1;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		MojoLogging.registerLogger(this::getLog);
+		logPluginStart();
+		executePlugin();
+		MojoLogging.unregisterLogger();
+	}
+
+	private void logPluginStart() {
+		logger().debug("Hello from JDeps-Maven-Plugin's aggregator!");
+		logger().debug("Configuration:");
+		logger().debug("\tdefaultSeverity = " + defaultSeverity);
+		logger().debug("\tpackages = " + packages);
+		logger().debug("\tjdepsExecution = " + jdepsExecution);
+		logger().debug("\tscanThreads = " + scanThreads);
+	}
+
+	private void executePlugin() throws MojoExecutionException, MojoFailureException {
+		ImmutableList<ReactorModule> modules = createModules();
+		if (modules.isEmpty()) {
+			logger().info("No module in the reactor contains class files.");
+			return;
+		}
+
+		ImmutableMap<ReactorModule, Result> results = executeJDeps(modules);
+		outputResults(results);
+	}
+
+	private ImmutableList<ReactorModule> createModules() throws MojoExecutionException {
+		DependencyRulesConfiguration defaultConfiguration = new DependencyRulesConfiguration(
+				defaultSeverity, packages, xmlDependencyRules, arrowDependencyRules);
+		ImmutableList.Builder<ReactorModule> modules = ImmutableList.builder();
+		for (MavenProject project : reactorProjects) {
+			ReactorModule module = createModule(project, defaultConfiguration);
+			if (Files.isDirectory(module.getOutputFolder()))
+				modules.add(module);
+			else
+				logger().debug(format("Module '%s' has no class files and is skipped.", module.getName()));
+		}
+		return modules.build();
+	}
+
+	private ReactorModule createModule(MavenProject project, DependencyRulesConfiguration defaultConfiguration)
+			throws MojoExecutionException {
+		try {
+			return ReactorModule.of(
+					project, session.getExecutionProperties(), plugin.getPluginLookupKey(), defaultConfiguration);
+		} catch (ConfigurationException ex) {
+			throw new MojoExecutionException(
+					format("Parsing the configuration of module '%s' failed.", project.getArtifactId()), ex);
+		}
+	}
+
+	private ImmutableMap<ReactorModule, Result> executeJDeps(List<ReactorModule> modules)
+			throws MojoExecutionException {
+		try {
+			return JdkInternalsExecutionService.executeForReactor(
+					modules,
+					jdepsExecution,
+					Math.max(scanThreads, 1),
+					Toolchains.findJdkToolchain(toolchainManager, session));
+		} catch (CommandLineException ex) {
+			throw new MojoExecutionException("Executing 'jdeps -jdkinternals' failed.", ex);
+		} catch (ConfigurationException ex) {
+			throw new MojoExecutionException("Parsing the configuration failed.", ex);
+		}
+	}
+
+	private static void outputResults(ImmutableMap<ReactorModule, Result> results) throws MojoFailureException {
+		ResultOutputStrategy outputStrategy =
+				new OutputConfiguration(false, RuleOutputFormat.XML, "").createOutputStrategy();
+		List<String> failures = new ArrayList<>();
+		for (Entry<ReactorModule, Result> moduleResult : results.entrySet()) {
+			logger().info(format("Module '%s':", moduleResult.getKey().getName()));
+			try {
+				outputStrategy.output(moduleResult.getValue());
+			} catch (MojoFailureException ex) {
+				// output all modules' results before failing the build
+				failures.add(format("Module '%s': %s", moduleResult.getKey().getName(), ex.getMessage()));
+			}
+		}
+
+		if (!failures.isEmpty())
+			throw new MojoFailureException(String.join("\n\n", failures));
+	}
+
+}
@@ -1,24 +1,62 @@
 package org.codefx.mvn.jdeps.mojo;
 
-import org.codefx.mvn.jdeps.parse.ViolationParser;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.maven.toolchain.Toolchain;
+import org.codefx.mvn.jdeps.cache.ArtifactResultCache;
+import org.codefx.mvn.jdeps.cache.IncrementalScan;
+import org.codefx.mvn.jdeps.cache.JDepsResultCache;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.mojo.ExecutionMetrics.Measurement;
+import org.codefx.mvn.jdeps.mojo.ExecutionMetrics.Phase;
+import org.codefx.mvn.jdeps.parse.ParseTrace;
 import org.codefx.mvn.jdeps.result.Result;
 import org.codefx.mvn.jdeps.result.ResultBuilder;
+import org.codefx.mvn.jdeps.result.ViolationPipeline;
+import org.codefx.mvn.jdeps.result.ViolationSink;
 import org.codefx.mvn.jdeps.rules.DependencyJudge;
-import org.codefx.mvn.jdeps.tool.jdeps.ComposedJDepsSearch;
+import org.codefx.mvn.jdeps.tool.JdkInternalsScanner;
+import org.codefx.mvn.jdeps.tool.ParallelJdkInternalsScanner;
+import org.codefx.mvn.jdeps.tool.classfile.ClassFileJdkInternalsScanner;
+import org.codefx.mvn.jdeps.tool.classfile.PrefilteringJdkInternalsScanner;
+import org.codefx.mvn.jdeps.tool.jdeps.CachingJDepsSearch;
+import org.codefx.mvn.jdeps.tool.jdeps.ForkedJDepsTool;
+import org.codefx.mvn.jdeps.tool.jdeps.InProcessJDepsTool;
+import org.codefx.mvn.jdeps.tool.jdeps.JDepsExecution;
+import org.codefx.mvn.jdeps.tool.jdeps.JDepsJdkInternalsScanner;
 import org.codefx.mvn.jdeps.tool.jdeps.JDepsSearch;
-import org.codefx.mvn.jdeps.tool.jdeps.JdkInternalsExecutor;
+import org.codefx.mvn.jdeps.tool.jdeps.JDepsTool;
+import org.codefx.mvn.jdeps.tool.jdeps.WorkerJDepsTool;
 import org.codehaus.plexus.classworlds.launcher.ConfigurationException;
 import org.codehaus.plexus.util.cli.CommandLineException;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
 
 /**
  * Orchestrates all bits and pieces which are needed to run "jdeps -jdkInternals" and parse the output.
  */
 class JdkInternalsExecutionService {
 
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
 	/**
-	 * Executes jdeps.
+	 * Executes jdeps {@link JDepsExecution#IN_PROCESS in-process} if possible.
 	 *
 	 * @param scannedFolder
 	 * 		the folder to be scanned by JDeps
@@ -30,28 +68,497 @@ class JdkInternalsExecutionService {
 	 */
 	public static Result execute(Path scannedFolder, DependencyRulesConfiguration dependencyRulesConfiguration)
 			throws CommandLineException, ConfigurationException {
+		return execute(ScanConfiguration.forFolder(scannedFolder), dependencyRulesConfiguration);
+	}
+
+	/**
+	 * Executes jdeps.
+	 *
+	 * @param scanConfiguration
+	 * 		the configuration for scanning the class files
+	 * @param dependencyRulesConfiguration
+	 * 		the configuration for the dependency rules
+	 *
+	 * @throws CommandLineException
+	 * 		if the jdeps executable could not be found, running the tool failed or it returned with an error
+	 */
+	public static Result execute(
+			ScanConfiguration scanConfiguration, DependencyRulesConfiguration dependencyRulesConfiguration)
+			throws CommandLineException, ConfigurationException {
 
 		ResultBuilder resultBuilder = createResultBuilder(dependencyRulesConfiguration);
-		createJdkInternalsExecutor(scannedFolder, resultBuilder).execute();
+		scan(scanConfiguration, resultBuilder::addViolation, new ExecutionMetrics());
 		return resultBuilder.build();
 	}
 
+	/**
+	 * Executes jdeps and pushes each judged violation into the specified sink as soon as it is reported, so no
+	 * complete {@link Result} is built.
+	 *
+	 * @param scanConfiguration
+	 * 		the configuration for scanning the class files
+	 * @param dependencyRulesConfiguration
+	 * 		the configuration for the dependency rules
+	 * @param violationSink
+	 * 		the sink receiving the judged violations; it is not {@link ViolationSink#finish() finished}
+	 * @param metrics
+	 * 		the metrics recording the phases of the execution; to include the output, the sink should be
+	 * 		{@link ExecutionMetrics#measureOutput(ViolationSink) measured} by them as well
+	 *
+	 * @throws CommandLineException
+	 * 		if the jdeps executable could not be found, running the tool failed or it returned with an error
+	 */
+	public static void execute(
+			ScanConfiguration scanConfiguration,
+			DependencyRulesConfiguration dependencyRulesConfiguration,
+			ViolationSink violationSink,
+			ExecutionMetrics metrics)
+			throws CommandLineException, ConfigurationException {
+		Consumer<Violation> pipeline = createPipeline(dependencyRulesConfiguration, violationSink, metrics);
+		scan(scanConfiguration, pipeline, metrics);
+	}
+
+	/**
+	 * Executes jdeps and collects the violations it reports without judging them, so this can run before the rules
+	 * are applied (e.g. while the tests run).
+	 *
+	 * @param scanConfiguration
+	 * 		the configuration for scanning the class files
+	 *
+	 * @return the unjudged violations
+	 *
+	 * @throws CommandLineException
+	 * 		if the jdeps executable could not be found, running the tool failed or it returned with an error
+	 * @see #judge(Collection, DependencyRulesConfiguration, ViolationSink, ExecutionMetrics)
+	 */
+	public static ImmutableList<Violation> scan(ScanConfiguration scanConfiguration) throws CommandLineException {
+		ImmutableList.Builder<Violation> violations = ImmutableList.builder();
+		scan(scanConfiguration, violations::add, new ExecutionMetrics());
+		return violations.build();
+	}
+
+	/**
+	 * Judges the specified violations, which were {@link #scan(ScanConfiguration) scanned} earlier, and pushes them
+	 * into the specified sink.
+	 *
+	 * @param violations
+	 * 		the violations to judge
+	 * @param dependencyRulesConfiguration
+	 * 		the configuration for the dependency rules
+	 * @param violationSink
+	 * 		the sink receiving the judged violations; it is not {@link ViolationSink#finish() finished}
+	 * @param metrics
+	 * 		the metrics recording the phases of the execution
+	 */
+	public static void judge(
+			Collection<Violation> violations,
+			DependencyRulesConfiguration dependencyRulesConfiguration,
+			ViolationSink violationSink,
+			ExecutionMetrics metrics)
+			throws ConfigurationException {
+		Consumer<Violation> pipeline = createPipeline(dependencyRulesConfiguration, violationSink, metrics);
+		violations.forEach(pipeline);
+	}
+
+	private static Consumer<Violation> createPipeline(
+			DependencyRulesConfiguration dependencyRulesConfiguration,
+			ViolationSink violationSink,
+			ExecutionMetrics metrics)
+			throws ConfigurationException {
+		Measurement creatingJudge = metrics.start(Phase.CREATE_JUDGE);
+		DependencyJudge dependencyJudge = metrics.countJudgements(dependencyRulesConfiguration.createJudge());
+		creatingJudge.stop();
+
+		return metrics.measureJudging(new ViolationPipeline(dependencyJudge, violationSink));
+	}
+
+	/**
+	 * Scans the class files of all specified modules and judges each module's violations according to its own rules.
+	 * <p>
+	 * All output folders are scanned together, so JDeps' startup costs are only paid once. Each violation is then
+	 * attributed to the module whose folder contains the dependent class file. If several modules contain a class
+	 * with the same name, jdeps' output can not tell them apart, so just those class files are scanned again for each
+	 * module which contains them.
+	 *
+	 * @param modules
+	 * 		the modules to scan; must not be empty
+	 * @param jDepsExecution
+	 * 		how to execute JDeps
+	 * @param parallelism
+	 * 		the number of JDeps invocations that scan shards of the modules at the same time
+	 * @param toolchain
+	 * 		the JDK toolchain whose JDeps is forked; if empty or if it contains no JDeps, the JDK running Maven provides
+	 * 		JDeps
+	 *
+	 * @return the result for each module in the order of the specified list
+	 *
+	 * @throws CommandLineException
+	 * 		if the jdeps executable could not be found, running the tool failed or it returned with an error
+	 */
+	public static ImmutableMap<ReactorModule, Result> executeForReactor(
+			List<ReactorModule> modules, JDepsExecution jDepsExecution, int parallelism, Optional<Toolchain> toolchain)
+			throws CommandLineException, ConfigurationException {
+		JdkInternalsScanner scanner =
+				findScanner(jDepsExecution, toolchain, parallelism, false, line -> { }, Optional.empty());
+
+		Map<ReactorModule, ResultBuilder> resultBuilders = new LinkedHashMap<>();
+		for (ReactorModule module : modules)
+			resultBuilders.put(module, createResultBuilder(module.getDependencyRulesConfiguration()));
+
+		Set<Type> ambiguousDependents = new LinkedHashSet<>();
+		List<Path> outputFolders = modules.stream().map(ReactorModule::getOutputFolder).collect(toList());
+		scanner.scan(outputFolders, violation -> {
+			List<ReactorModule> containingModules = findModulesContaining(modules, violation.getDependent());
+			if (containingModules.size() == 1)
+				resultBuilders.get(containingModules.get(0)).addViolation(violation);
+			else if (containingModules.isEmpty())
+				logger().warn(format("No module contains the class '%s', so its violation is ignored.",
+						violation.getDependent()));
+			else
+				ambiguousDependents.add(violation.getDependent());
+		});
+		rescanAmbiguousDependents(scanner, ambiguousDependents, resultBuilders);
+
+		ImmutableMap.Builder<ReactorModule, Result> results = ImmutableMap.builder();
+		resultBuilders.forEach((module, resultBuilder) -> results.put(module, resultBuilder.build()));
+		return results.build();
+	}
+
+	private static List<ReactorModule> findModulesContaining(List<ReactorModule> modules, Type type) {
+		return modules.stream()
+				.filter(module -> Files.isRegularFile(classFileIn(module, type)))
+				.collect(toList());
+	}
+
+	private static Path classFileIn(ReactorModule module, Type type) {
+		return module.getOutputFolder()
+				.resolve(type.getPackageName().replace('.', '/'))
+				.resolve(type.getClassName() + CLASS_FILE_EXTENSION);
+	}
+
+	private static void rescanAmbiguousDependents(
+			JdkInternalsScanner scanner,
+			Set<Type> ambiguousDependents,
+			Map<ReactorModule, ResultBuilder> resultBuilders)
+			throws CommandLineException {
+		if (ambiguousDependents.isEmpty())
+			return;
+
+		logger().debug(format("%d classes exist in several modules and are scanned again for each of them.",
+				ambiguousDependents.size()));
+		for (Entry<ReactorModule, ResultBuilder> moduleResult : resultBuilders.entrySet()) {
+			List<Path> classFiles = ambiguousDependents.stream()
+					.map(type -> classFileIn(moduleResult.getKey(), type))
+					.filter(Files::isRegularFile)
+					.collect(toList());
+			if (!classFiles.isEmpty())
+				scanner.scan(classFiles, moduleResult.getValue()::addViolation);
+		}
+	}
+
 	private static ResultBuilder createResultBuilder(DependencyRulesConfiguration dependencyRulesConfiguration)
 			throws ConfigurationException {
 		DependencyJudge dependencyJudge = dependencyRulesConfiguration.createJudge();
 		return new ResultBuilder(dependencyJudge);
 	}
 
-	private static JdkInternalsExecutor createJdkInternalsExecutor(Path scannedFolder, ResultBuilder resultBuilder)
+	// #begin SCAN
+
+	private static void scan(
+			ScanConfiguration scanConfiguration, Consumer<Violation> violationConsumer, ExecutionMetrics metrics)
+			throws CommandLineException {
+		Optional<ParseTrace> parseTrace = openParseTrace(scanConfiguration.getParseTraceFile());
+		try {
+			Measurement findingScanner = metrics.start(Phase.FIND_SCANNER);
+			JdkInternalsScanner scanner = findScanner(
+					scanConfiguration.getJDepsExecution(),
+					scanConfiguration.getToolchain(),
+					scanConfiguration.getParallelism(),
+					scanConfiguration.isPrefiltered(),
+					metrics::countLine,
+					parseTrace);
+			findingScanner.stop();
+
+			// judging and outputting the violations happens while scanning but is measured separately
+			Measurement scanning = metrics.start(Phase.SCAN);
+			scan(scanner, scanConfiguration, violationConsumer);
+			scanning.stop();
+		} finally {
+			parseTrace.ifPresent(JdkInternalsExecutionService::closeParseTrace);
+		}
+	}
+
+	private static Optional<ParseTrace> openParseTrace(Optional<Path> parseTraceFile) {
+		if (!parseTraceFile.isPresent())
+			return Optional.empty();
+
+		try {
+			return Optional.of(ParseTrace.toFile(parseTraceFile.get()));
+		} catch (IOException ex) {
+			logger().warn(format("Creating the parse trace '%s' failed; the JDeps output will not be traced. (%s)",
+					parseTraceFile.get(), ex.getMessage()));
+			return Optional.empty();
+		}
+	}
+
+	private static void closeParseTrace(ParseTrace parseTrace) {
+		try {
+			parseTrace.close();
+			logger().debug(format("The parsed JDeps output was traced to '%s'.", parseTrace.getFile()));
+		} catch (IOException ex) {
+			logger().warn(format("Writing the parse trace '%s' failed. (%s)", parseTrace.getFile(), ex.getMessage()));
+		}
+	}
+
+	private static void scan(
+			JdkInternalsScanner scanner, ScanConfiguration scanConfiguration, Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		Path scannedFolder = scanConfiguration.getScannedFolder();
+
+		if (scanConfiguration.isIncremental())
+			scanIncrementally(scanner, scannedFolder, scanConfiguration.getCacheFolder().get(), violationConsumer);
+		else if (scanConfiguration.getCacheFolder().isPresent()) {
+			JDepsResultCache cache = new JDepsResultCache(scanConfiguration.getCacheFolder().get());
+			scanWithCache(scanner, scannedFolder, cache, violationConsumer);
+		} else
+			scanFolder(scanner, scannedFolder, violationConsumer);
+
+		if (!scanConfiguration.getScannedArtifacts().isEmpty())
+			scanArtifacts(
+					scanner,
+					scanConfiguration.getScannedArtifacts(),
+					scanConfiguration.getArtifactCacheFolder(),
+					violationConsumer);
+	}
+
+	private static void scanIncrementally(
+			JdkInternalsScanner scanner, Path scannedFolder, Path cacheFolder, Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		IncrementalScan incrementalScan;
+		try {
+			incrementalScan = IncrementalScan.prepare(cacheFolder, scanner.version(), scannedFolder);
+		} catch (IOException ex) {
+			logger().warn(format("Preparing the incremental scan of '%s' failed; scanning all class files. (%s)",
+					scannedFolder, ex.getMessage()));
+			scanFolder(scanner, scannedFolder, violationConsumer);
+			return;
+		}
+
+		ImmutableList.Builder<Violation> scannedViolations = ImmutableList.builder();
+		if (incrementalScan.pathsToScan().isEmpty())
+			logger().debug("No class files changed since the last run; using the stored JDeps result.");
+		else {
+			logger().debug(format("Scanning %d changed path(s).", incrementalScan.pathsToScan().size()));
+			scanner.scan(incrementalScan.pathsToScan(), scannedViolations::add);
+		}
+
+		try {
+			incrementalScan.complete(scannedViolations.build()).forEach(violationConsumer);
+		} catch (IOException ex) {
+			// the violations were already handed over, only storing the state for the next scan failed
+			logger().warn(format("Storing the state of the incremental scan failed. (%s)", ex.getMessage()));
+		}
+	}
+
+	private static void scanWithCache(
+			JdkInternalsScanner scanner,
+			Path scannedFolder,
+			JDepsResultCache cache,
+			Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		Optional<String> key = tryCreateCacheKey(scanner, scannedFolder);
+		if (!key.isPresent()) {
+			scanFolder(scanner, scannedFolder, violationConsumer);
+			return;
+		}
+
+		Optional<ImmutableList<Violation>> cachedViolations = tryGetFromCache(cache, key.get());
+		if (cachedViolations.isPresent()) {
+			logger().debug("The class files did not change since the last run; using the cached JDeps result.");
+			cachedViolations.get().forEach(violationConsumer);
+			return;
+		}
+
+		ImmutableList.Builder<Violation> violations = ImmutableList.builder();
+		scanFolder(scanner, scannedFolder, violations::add);
+		ImmutableList<Violation> scannedViolations = violations.build();
+		tryPutToCache(cache, key.get(), scannedViolations);
+		scannedViolations.forEach(violationConsumer);
+	}
+
+	private static Optional<String> tryCreateCacheKey(JdkInternalsScanner scanner, Path scannedFolder)
+			throws CommandLineException {
+		try {
+			return Optional.of(JDepsResultCache.createKey(scanner.version(), scannedFolder));
+		} catch (IOException ex) {
+			logger().warn(format("Computing the digest of '%s' failed; the JDeps result will not be cached. (%s)",
+					scannedFolder, ex.getMessage()));
+			return Optional.empty();
+		}
+	}
+
+	private static Optional<ImmutableList<Violation>> tryGetFromCache(JDepsResultCache cache, String key) {
+		try {
+			return cache.get(key);
+		} catch (IOException ex) {
+			logger().warn(format("Reading the cached JDeps result failed. (%s)", ex.getMessage()));
+			return Optional.empty();
+		}
+	}
+
+	private static void tryPutToCache(JDepsResultCache cache, String key, ImmutableList<Violation> violations) {
+		try {
+			cache.put(key, violations);
+		} catch (IOException ex) {
+			logger().warn(format("Caching the JDeps result failed. (%s)", ex.getMessage()));
+		}
+	}
+
+	private static void scanArtifacts(
+			JdkInternalsScanner scanner,
+			ImmutableList<Path> artifacts,
+			Optional<Path> artifactCacheFolder,
+			Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		if (!artifactCacheFolder.isPresent()) {
+			logger().debug(format("Scanning %d dependency artifact(s).", artifacts.size()));
+			scanner.scan(artifacts, violationConsumer);
+			return;
+		}
+
+		// jdeps does not report which artifact contains a dependent, so each uncached artifact is scanned on its own
+		ArtifactResultCache cache = new ArtifactResultCache(artifactCacheFolder.get());
+		String version = scanner.version();
+		int scannedArtifacts = 0;
+		for (Path artifact : artifacts)
+			if (scanArtifactWithCache(scanner, artifact, cache, version, violationConsumer))
+				scannedArtifacts++;
+		logger().debug(format("Scanned %d dependency artifact(s); used the cached JDeps result for %d.",
+				scannedArtifacts, artifacts.size() - scannedArtifacts));
+	}
+
+	/**
+	 * @return whether the artifact had to be scanned (as opposed to its result being found in the cache)
+	 */
+	private static boolean scanArtifactWithCache(
+			JdkInternalsScanner scanner,
+			Path artifact,
+			ArtifactResultCache cache,
+			String version,
+			Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		Optional<String> digest = tryDigestArtifact(artifact);
+		if (!digest.isPresent()) {
+			scanner.scan(ImmutableList.of(artifact), violationConsumer);
+			return true;
+		}
+
+		Optional<ImmutableList<Violation>> cachedViolations = tryGetArtifactFromCache(cache, digest.get(), version);
+		if (cachedViolations.isPresent()) {
+			cachedViolations.get().forEach(violationConsumer);
+			return false;
+		}
+
+		ImmutableList.Builder<Violation> violations = ImmutableList.builder();
+		scanner.scan(ImmutableList.of(artifact), violations::add);
+		ImmutableList<Violation> scannedViolations = violations.build();
+		try {
+			cache.put(digest.get(), version, scannedViolations);
+		} catch (IOException ex) {
+			logger().warn(format("Caching the JDeps result for '%s' failed. (%s)", artifact, ex.getMessage()));
+		}
+		scannedViolations.forEach(violationConsumer);
+		return true;
+	}
+
+	private static Optional<String> tryDigestArtifact(Path artifact) {
+		try {
+			return Optional.of(ArtifactResultCache.digest(artifact));
+		} catch (IOException ex) {
+			logger().warn(format("Computing the digest of '%s' failed; the JDeps result will not be cached. (%s)",
+					artifact, ex.getMessage()));
+			return Optional.empty();
+		}
+	}
+
+	private static Optional<ImmutableList<Violation>> tryGetArtifactFromCache(
+			ArtifactResultCache cache, String digest, String version) {
+		try {
+			return cache.get(digest, version);
+		} catch (IOException ex) {
+			logger().warn(format("Reading the cached JDeps result failed. (%s)", ex.getMessage()));
+			return Optional.empty();
+		}
+	}
+
+	private static void scanFolder(
+			JdkInternalsScanner scanner, Path scannedFolder, Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		scanner.scan(ImmutableList.of(scannedFolder), violationConsumer);
+	}
+
+	// #end SCAN
+
+	// #begin FIND SCANNER
+
+	private static JdkInternalsScanner findScanner(
+			JDepsExecution jDepsExecution,
+			Optional<Toolchain> toolchain,
+			int parallelism,
+			boolean prefilter,
+			Consumer<String> lineObserver,
+			Optional<ParseTrace> parseTrace)
 			throws CommandLineException {
-		Path jDepsExecutable = findJDepsExecutable();
-		ViolationParser violationParser = new ViolationParser(resultBuilder::addViolation);
-		return new JdkInternalsExecutor(jDepsExecutable, scannedFolder, violationParser::parseLine);
+		if (jDepsExecution == JDepsExecution.BYTECODE)
+			// this scanner reads the class files in parallel anyway, so there is no need to split or filter them
+			return new ClassFileJdkInternalsScanner();
+
+		JdkInternalsScanner scanner = new JDepsJdkInternalsScanner(
+				findJDepsTool(jDepsExecution, toolchain), lineObserver, parseTrace);
+		if (parallelism > 1)
+			scanner = new ParallelJdkInternalsScanner(scanner, parallelism);
+		if (prefilter)
+			// filter first, so only the remaining class files are split into shards
+			scanner = new PrefilteringJdkInternalsScanner(scanner);
+		return scanner;
+	}
+
+	private static JDepsTool findJDepsTool(JDepsExecution jDepsExecution, Optional<Toolchain> toolchain)
+			throws CommandLineException {
+		if (toolchain.isPresent()) {
+			// like the compiler, use the toolchain's JDK if there is one; it runs in another JVM so it must be forked
+			Optional<Path> toolchainJDeps = CachingJDepsSearch.forToolchain(toolchain.get()).search();
+			if (toolchainJDeps.isPresent()) {
+				logger().debug(format("Using JDeps '%s' from toolchain %s.", toolchainJDeps.get(), toolchain.get()));
+				return forkJDeps(jDepsExecution, toolchainJDeps.get());
+			}
+			logger().warn(format(
+					"The toolchain %s provides no JDeps executable; using the JDK that runs Maven instead.",
+					toolchain.get()));
+		}
+
+		if (jDepsExecution == JDepsExecution.IN_PROCESS) {
+			Optional<JDepsTool> inProcessJDeps = InProcessJDepsTool.find();
+			if (inProcessJDeps.isPresent())
+				return inProcessJDeps.get();
+			logger().debug("The running JDK provides no JDeps tool to run in-process; forking a new process instead.");
+		}
+		return forkJDeps(jDepsExecution, findJDepsExecutable());
+	}
+
+	private static JDepsTool forkJDeps(JDepsExecution jDepsExecution, Path jDepsExecutable) {
+		if (jDepsExecution == JDepsExecution.WORKER)
+			return WorkerJDepsTool.forExecutable(jDepsExecutable);
+		else
+			return new ForkedJDepsTool(jDepsExecutable);
 	}
 
 	private static Path findJDepsExecutable() throws CommandLineException {
-		JDepsSearch jDepsSearch = new ComposedJDepsSearch();
+		// the search's result is cached, so only the first execution in this JVM probes the file system
+		JDepsSearch jDepsSearch = CachingJDepsSearch.forRunningJvm();
 		return jDepsSearch.search().orElseThrow(() -> new CommandLineException("Could not locate JDeps executable."));
 	}
 
+	// #end FIND SCANNER
+
 }
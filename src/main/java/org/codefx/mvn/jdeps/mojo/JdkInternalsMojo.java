@@ -1,13 +1,15 @@
 package org.codefx.mvn.jdeps.mojo;
 
-import org.apache.maven.plugin.AbstractMojo;
+import com.google.common.collect.ImmutableList;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
-import org.codefx.mvn.jdeps.result.Result;
-import org.codefx.mvn.jdeps.result.ResultOutputStrategy;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.mojo.ExecutionMetrics.Measurement;
+import org.codefx.mvn.jdeps.mojo.ExecutionMetrics.Phase;
 import org.codefx.mvn.jdeps.result.RuleOutputFormat;
+import org.codefx.mvn.jdeps.result.ViolationSink;
 import org.codefx.mvn.jdeps.rules.PackageInclusion;
 import org.codefx.mvn.jdeps.rules.Severity;
 import org.codefx.mvn.jdeps.rules.XmlRule;
@@ -15,23 +17,28 @@ import org.codehaus.plexus.classworlds.launcher.ConfigurationException;
 import org.codehaus.plexus.util.cli.CommandLineException;
 
 import java.io.File;
-import java.nio.file.Paths;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+import static java.lang.String.format;
 import static org.apache.maven.plugins.annotations.LifecyclePhase.VERIFY;
 import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE;
 import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
 
 /**
  * Runs "jdeps -jdkinternals" and breaks the build if the tool reports dependencies on JDK internal API.
+ * <p>
+ * If the {@link JdkInternalsPrefetchMojo jdkinternals-prefetch goal} already started the scan, it is not repeated;
+ * instead its result is judged.
  */
 @Mojo(name = "jdkinternals",
 		threadSafe = true,
 		requiresProject = true,
 		defaultPhase = VERIFY,
 		requiresDependencyResolution = COMPILE)
-public class JdkInternalsMojo extends AbstractMojo {
+public class JdkInternalsMojo extends AbstractScanMojo {
 
 	@Parameter
 	private Severity defaultSeverity = Severity.WARN;
@@ -45,8 +52,12 @@ public class JdkInternalsMojo extends AbstractMojo {
 	@Parameter
 	private List<String> arrowDependencyRules = new ArrayList<>();
 
-	@Parameter(defaultValue = "${project.build.outputDirectory}", readonly = true)
-	private File buildOutputDirectory;
+	/**
+	 * Whether the judged severities are cached, which only pays off if the same pairs of dependent and dependency are
+	 * judged many times; a cache miss takes several times as long as judging without a cache.
+	 */
+	@Parameter
+	private boolean cacheSeverities = false;
 
 	@Parameter
 	private boolean outputRulesForViolations = false;
@@ -57,6 +68,12 @@ public class JdkInternalsMojo extends AbstractMojo {
 	@Parameter(defaultValue = "${project.build.outputDirectory}")
 	private String outputFilePath = "";
 
+	@Parameter
+	private boolean writeMetrics = false;
+
+	@Parameter(defaultValue = "${project.build.directory}/jdeps-metrics.json")
+	private File metricsFile;
+
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		MojoLogging.registerLogger(this::getLog);
@@ -70,32 +87,46 @@ public class JdkInternalsMojo extends AbstractMojo {
 		logger().debug("Configuration:");
 		logger().debug("\tdefaultSeverity = " + defaultSeverity);
 		logger().debug("\tpackages = " + packages);
+		logger().debug("\tcacheSeverities = " + cacheSeverities);
+		logScanConfiguration();
 		logger().debug("\toutputRulesForViolations = " + outputRulesForViolations);
 		if (outputRulesForViolations) {
 			logger().debug("\toutputRuleFormat = " + outputRuleFormat);
 			logger().debug("\toutputFilePath = " + outputFilePath);
 		}
+		logger().debug("\twriteMetrics = " + writeMetrics);
+		if (writeMetrics)
+			logger().debug("\tmetricsFile = " + metricsFile);
 	}
 
 	private void executePlugin() throws MojoExecutionException, MojoFailureException {
-		Result result = executeJDeps();
-		outputResult(result);
-	}
-
-	private void outputResult(Result result) throws MojoFailureException {
-		ResultOutputStrategy outputStrategy = new OutputConfiguration(
+		ExecutionMetrics metrics = new ExecutionMetrics();
+		// the violations are pushed through the sink while jdeps reports them; only finishing it outputs them
+		ViolationSink violationSink = metrics.measureOutput(new OutputConfiguration(
 				outputRulesForViolations, outputRuleFormat, outputFilePath)
-				.createOutputStrategy();
-		outputStrategy.output(result);
+				.createOutputStrategy()
+				.createSink());
+		executeJDeps(violationSink, metrics);
+		try {
+			violationSink.finish();
+		} finally {
+			// finishing the sink fails the build if there are violations, which is exactly when metrics are interesting
+			reportMetrics(metrics);
+		}
 	}
 
-	private Result executeJDeps() throws MojoExecutionException {
+	private void executeJDeps(ViolationSink violationSink, ExecutionMetrics metrics)
+			throws MojoExecutionException {
+		ScanConfiguration scanConfiguration = createScanConfiguration();
+		DependencyRulesConfiguration dependencyRulesConfiguration = new DependencyRulesConfiguration(
+				defaultSeverity, packages, xmlDependencyRules, arrowDependencyRules, cacheSeverities);
 		try {
-			return JdkInternalsExecutionService.execute(
-					Paths.get(buildOutputDirectory.toURI()),
-					new DependencyRulesConfiguration(
-							defaultSeverity, packages, xmlDependencyRules, arrowDependencyRules)
-			);
+			Optional<PrefetchedScan> prefetchedScan = findPrefetchedScan(scanConfiguration);
+			if (prefetchedScan.isPresent())
+				judgePrefetchedScan(prefetchedScan.get(), dependencyRulesConfiguration, violationSink, metrics);
+			else
+				JdkInternalsExecutionService.execute(
+						scanConfiguration, dependencyRulesConfiguration, violationSink, metrics);
 		} catch (CommandLineException ex) {
 			throw new MojoExecutionException("Executing 'jdeps -jdkinternals' failed.", ex);
 		} catch (ConfigurationException ex) {
@@ -103,4 +134,44 @@ public class JdkInternalsMojo extends AbstractMojo {
 		}
 	}
 
+	private Optional<PrefetchedScan> findPrefetchedScan(ScanConfiguration scanConfiguration) {
+		Optional<PrefetchedScan> prefetchedScan = PrefetchedScan.takeFrom(getPluginContext());
+		if (prefetchedScan.isPresent() && !prefetchedScan.get().matches(scanConfiguration)) {
+			logger().warn("The prefetched scan was configured differently than this one; scanning again.");
+			return Optional.empty();
+		}
+		return prefetchedScan;
+	}
+
+	private static void judgePrefetchedScan(
+			PrefetchedScan prefetchedScan,
+			DependencyRulesConfiguration dependencyRulesConfiguration,
+			ViolationSink violationSink,
+			ExecutionMetrics metrics)
+			throws CommandLineException, ConfigurationException {
+		logger().debug("Waiting for the prefetched scan.");
+		// the scan ran in the background, so only the time this build waited for it is measured
+		Measurement awaitingScan = metrics.start(Phase.SCAN);
+		ImmutableList<Violation> violations;
+		try {
+			violations = prefetchedScan.await();
+		} finally {
+			awaitingScan.stop();
+		}
+		JdkInternalsExecutionService.judge(violations, dependencyRulesConfiguration, violationSink, metrics);
+	}
+
+	private void reportMetrics(ExecutionMetrics metrics) {
+		metrics.toLines().forEach(logger()::debug);
+		if (!writeMetrics || metricsFile == null)
+			return;
+
+		try {
+			metrics.writeJson(metricsFile.toPath());
+		} catch (IOException ex) {
+			// the metrics are no reason to break the build
+			logger().warn(format("Writing the metrics to '%s' failed. (%s)", metricsFile, ex.getMessage()));
+		}
+	}
+
 }
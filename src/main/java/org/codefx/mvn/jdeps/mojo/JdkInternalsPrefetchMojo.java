@@ -0,0 +1,35 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import static org.apache.maven.plugins.annotations.LifecyclePhase.PROCESS_CLASSES;
+import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE;
+import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
+
+/**
+ * Starts "jdeps -jdkinternals" in the background as soon as the class files exist, so the scan runs while the tests
+ * do. The {@link JdkInternalsMojo jdkinternals goal} then only waits for the scan and judges its result.
+ * <p>
+ * The scan is only used if it was configured like the one the {@code jdkinternals} goal would run; otherwise that
+ * goal scans again.
+ */
+@Mojo(name = "jdkinternals-prefetch",
+		threadSafe = true,
+		requiresProject = true,
+		defaultPhase = PROCESS_CLASSES,
+		requiresDependencyResolution = COMPILE)
+public class JdkInternalsPrefetchMojo extends AbstractScanMojo {
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		MojoLogging.registerLogger(this::getLog);
+		logger().debug("Hello from JDeps-Maven-Plugin! Prefetching the scan.");
+		logger().debug("Configuration:");
+		logScanConfiguration();
+		PrefetchedScan.start(createScanConfiguration()).storeIn(getPluginContext());
+		MojoLogging.unregisterLogger();
+	}
+
+}
@@ -4,9 +4,10 @@ import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugin.logging.SystemStreamLog;
 
-import java.util.Optional;
 import java.util.function.Supplier;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * Evil global-state that makes the {@link JdkInternalsMojo mojo}'s logger available to all the plugin's classes.
  * <p>
@@ -17,15 +18,20 @@ public class MojoLogging {
 
 	private static final Log fallbackSystemStreamLog = new SystemStreamLog();
 
-	private static Optional<Supplier<Log>> getLogger = Optional.empty();
+	private static final Supplier<Log> getFallbackLogger = () -> fallbackSystemStreamLog;
+
+	private static volatile Supplier<Log> getLogger = getFallbackLogger;
 
 	/**
+	 * Returns the currently registered logger.
+	 * <p>
+	 * Code that logs a lot (e.g. for each line of jdeps output) should call this once and keep the logger for the
+	 * rest of the execution.
+	 *
 	 * @return the currently registered logger
 	 */
 	public static Log logger() {
-		return getLogger
-				.orElse(() -> fallbackSystemStreamLog)
-				.get();
+		return getLogger.get();
 	}
 
 	/**
@@ -35,7 +41,7 @@ public class MojoLogging {
 	 * 		a supplier for the logger
 	 */
 	static void registerLogger(Supplier<Log> getLogger) {
-		MojoLogging.getLogger = Optional.of(getLogger);
+		MojoLogging.getLogger = requireNonNull(getLogger, "The argument 'getLogger' must not be null.");
 	}
 
 	/**
@@ -44,7 +50,7 @@ public class MojoLogging {
 	 * Until another logger is {@link #registerLogger(Supplier) registered}, a {@link SystemStreamLog} will be used.
 	 */
 	static void unregisterLogger() {
-		getLogger = Optional.empty();
+		getLogger = getFallbackLogger;
 	}
 
 }
@@ -40,10 +40,7 @@ class OutputConfiguration {
 				outputRules ? createRuleOutputStrategy() : createFailingStrategy();
 
 		// always log the result before doing anything else
-		return result -> {
-			logResult.output(result);
-			outputRulesOrFailBuild.output(result);
-		};
+		return () -> logResult.createSink().andThen(outputRulesOrFailBuild.createSink());
 	}
 
 	private ResultOutputStrategy createRuleOutputStrategy() {
@@ -0,0 +1,136 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A scan which was started in the background by the {@link JdkInternalsPrefetchMojo prefetch goal} and is handed
+ * over to the {@link JdkInternalsMojo} via the plugin context, which Maven shares between the executions of this
+ * plugin in the same project.
+ */
+final class PrefetchedScan {
+
+	private static final String CONTEXT_KEY = PrefetchedScan.class.getName();
+
+	private final ScanConfiguration scanConfiguration;
+	private final FutureTask<ImmutableList<Violation>> scan;
+
+	PrefetchedScan(ScanConfiguration scanConfiguration, Callable<ImmutableList<Violation>> scan) {
+		this.scanConfiguration =
+				requireNonNull(scanConfiguration, "The argument 'scanConfiguration' must not be null.");
+		this.scan = new FutureTask<>(requireNonNull(scan, "The argument 'scan' must not be null."));
+	}
+
+	/**
+	 * Starts scanning on a background thread.
+	 *
+	 * @param scanConfiguration
+	 * 		the configuration for scanning the class files
+	 *
+	 * @return the started scan
+	 */
+	static PrefetchedScan start(ScanConfiguration scanConfiguration) {
+		PrefetchedScan prefetchedScan =
+				new PrefetchedScan(scanConfiguration, () -> JdkInternalsExecutionService.scan(scanConfiguration));
+		prefetchedScan.startInBackground();
+		return prefetchedScan;
+	}
+
+	void startInBackground() {
+		// a daemon does not keep the JVM alive if the build ends before any execution waits for the scan
+		Thread scanner = new Thread(scan, "jdeps-prefetch");
+		scanner.setDaemon(true);
+		scanner.start();
+	}
+
+	// #begin PLUGIN CONTEXT
+
+	/**
+	 * Stores this scan in the specified plugin context, replacing any scan stored earlier.
+	 *
+	 * @param pluginContext
+	 * 		the plugin context as returned by {@link org.apache.maven.plugin.AbstractMojo#getPluginContext()}
+	 */
+	@SuppressWarnings("unchecked")
+	void storeIn(Map pluginContext) {
+		requireNonNull(pluginContext, "The argument 'pluginContext' must not be null.");
+		pluginContext.put(CONTEXT_KEY, this);
+	}
+
+	/**
+	 * Removes the scan stored in the specified plugin context, so each prefetched scan is used at most once.
+	 *
+	 * @param pluginContext
+	 * 		the plugin context as returned by {@link org.apache.maven.plugin.AbstractMojo#getPluginContext()}; can be
+	 * 		null if the mojo was not created by Maven
+	 *
+	 * @return the stored scan or an empty {@code Optional} if there is none
+	 */
+	static Optional<PrefetchedScan> takeFrom(Map pluginContext) {
+		if (pluginContext == null)
+			return Optional.empty();
+
+		Object prefetchedScan = pluginContext.remove(CONTEXT_KEY);
+		if (prefetchedScan instanceof PrefetchedScan)
+			return Optional.of((PrefetchedScan) prefetchedScan);
+		else
+			return Optional.empty();
+	}
+
+	// #end PLUGIN CONTEXT
+
+	/**
+	 * Indicates whether this scan finds the same violations as a scan with the specified configuration.
+	 * <p>
+	 * Caching, parallelism and tracing do not change the violations, so they are ignored.
+	 *
+	 * @param scanConfiguration
+	 * 		the configuration to compare with
+	 *
+	 * @return whether the configurations scan the same files with the same JDeps
+	 */
+	boolean matches(ScanConfiguration scanConfiguration) {
+		return Objects.equals(this.scanConfiguration.getScannedFolder(), scanConfiguration.getScannedFolder())
+				&& this.scanConfiguration.getJDepsExecution() == scanConfiguration.getJDepsExecution()
+				// toolchains do not implement 'equals' but their string representation contains type and home
+				&& Objects.equals(
+						this.scanConfiguration.getToolchain().map(Object::toString),
+						scanConfiguration.getToolchain().map(Object::toString))
+				&& Objects.equals(
+						this.scanConfiguration.getScannedArtifacts(), scanConfiguration.getScannedArtifacts());
+	}
+
+	/**
+	 * Waits for the scan to finish.
+	 *
+	 * @return the unjudged violations
+	 *
+	 * @throws CommandLineException
+	 * 		if the scan failed or waiting for it was interrupted
+	 */
+	ImmutableList<Violation> await() throws CommandLineException {
+		try {
+			return scan.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CommandLineException("Interrupted while waiting for the prefetched scan.", ex);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			Throwables.propagateIfInstanceOf(cause, CommandLineException.class);
+			Throwables.propagateIfPossible(cause);
+			throw new IllegalStateException(cause);
+		}
+	}
+
+}
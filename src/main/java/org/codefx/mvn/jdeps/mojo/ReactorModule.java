@@ -0,0 +1,268 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.codefx.mvn.jdeps.rules.PackageInclusion;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.codefx.mvn.jdeps.rules.XmlRule;
+import org.codehaus.plexus.classworlds.launcher.ConfigurationException;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A module of the reactor whose class files are scanned by the {@link JdkInternalsAggregateMojo aggregator}.
+ * <p>
+ * Each module has its own dependency rules, which are read from the module's configuration of this plugin. Like Maven
+ * does for a mojo's parameters, expressions like {@code ${severity}} in that configuration are replaced by the
+ * values of the corresponding properties.
+ */
+class ReactorModule {
+
+	private static final String SCANNING_GOAL = "jdkinternals";
+	private static final Pattern EXPRESSION = Pattern.compile("\\$\\{([^}]+)}");
+
+	private final String name;
+	private final Path outputFolder;
+	private final DependencyRulesConfiguration dependencyRulesConfiguration;
+
+	/**
+	 * Creates a new module.
+	 *
+	 * @param name
+	 * 		the module's name as it is shown to the user
+	 * @param outputFolder
+	 * 		the folder containing the module's class files
+	 * @param dependencyRulesConfiguration
+	 * 		the dependency rules which apply to the module
+	 */
+	public ReactorModule(String name, Path outputFolder, DependencyRulesConfiguration dependencyRulesConfiguration) {
+		this.name = requireNonNull(name, "The argument 'name' must not be null.");
+		this.outputFolder = requireNonNull(outputFolder, "The argument 'outputFolder' must not be null.");
+		this.dependencyRulesConfiguration = requireNonNull(
+				dependencyRulesConfiguration, "The argument 'dependencyRulesConfiguration' must not be null.");
+	}
+
+	/**
+	 * Creates a module for the specified project.
+	 * <p>
+	 * The dependency rules are read from the project's configuration of the plugin with the specified key. All values
+	 * which are not configured there are taken from the specified default configuration. Expressions are evaluated
+	 * with the execution's properties, the project's properties and the project's coordinates and folders (in that
+	 * order of precedence).
+	 *
+	 * @param project
+	 * 		the Maven project of the module
+	 * @param executionProperties
+	 * 		the properties of the Maven execution (i.e. system and user properties)
+	 * @param pluginKey
+	 * 		the key ("groupId:artifactId") of this plugin
+	 * @param defaultConfiguration
+	 * 		the dependency rules to use where the project configures none
+	 *
+	 * @return a module
+	 *
+	 * @throws ConfigurationException
+	 * 		if the project's plugin configuration can not be read
+	 */
+	public static ReactorModule of(
+			MavenProject project,
+			Properties executionProperties,
+			String pluginKey,
+			DependencyRulesConfiguration defaultConfiguration)
+			throws ConfigurationException {
+		requireNonNull(project, "The argument 'project' must not be null.");
+		requireNonNull(executionProperties, "The argument 'executionProperties' must not be null.");
+		@SuppressWarnings("unchecked")
+		List<Plugin> buildPlugins = project.getBuildPlugins();
+		return of(
+				project.getArtifactId(),
+				Paths.get(project.getBuild().getOutputDirectory()),
+				buildPlugins,
+				collectProperties(project, executionProperties),
+				pluginKey,
+				defaultConfiguration);
+	}
+
+	private static Properties collectProperties(MavenProject project, Properties executionProperties) {
+		// later entries take precedence
+		Properties properties = new Properties();
+		properties.setProperty("project.groupId", project.getGroupId());
+		properties.setProperty("project.artifactId", project.getArtifactId());
+		properties.setProperty("project.version", project.getVersion());
+		properties.setProperty("project.basedir", project.getBasedir().getPath());
+		properties.setProperty("basedir", project.getBasedir().getPath());
+		properties.setProperty("project.build.directory", project.getBuild().getDirectory());
+		properties.setProperty("project.build.outputDirectory", project.getBuild().getOutputDirectory());
+		properties.putAll(project.getProperties());
+		properties.putAll(executionProperties);
+		return properties;
+	}
+
+	/**
+	 * Creates a module from the specified project information; see {@link #of(MavenProject, Properties, String,
+	 * DependencyRulesConfiguration)}.
+	 */
+	static ReactorModule of(
+			String name,
+			Path outputFolder,
+			List<Plugin> buildPlugins,
+			Properties properties,
+			String pluginKey,
+			DependencyRulesConfiguration defaultConfiguration)
+			throws ConfigurationException {
+		requireNonNull(buildPlugins, "The argument 'buildPlugins' must not be null.");
+		requireNonNull(properties, "The argument 'properties' must not be null.");
+		requireNonNull(pluginKey, "The argument 'pluginKey' must not be null.");
+		requireNonNull(defaultConfiguration, "The argument 'defaultConfiguration' must not be null.");
+
+		Optional<Xpp3Dom> pluginConfiguration = findPluginConfiguration(buildPlugins, pluginKey);
+		DependencyRulesConfiguration rulesConfiguration = pluginConfiguration.isPresent()
+				? readRulesConfiguration(pluginConfiguration.get(), properties, defaultConfiguration)
+				: defaultConfiguration;
+		return new ReactorModule(name, outputFolder, rulesConfiguration);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Path getOutputFolder() {
+		return outputFolder;
+	}
+
+	public DependencyRulesConfiguration getDependencyRulesConfiguration() {
+		return dependencyRulesConfiguration;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	// #begin READ CONFIGURATION
+
+	private static Optional<Xpp3Dom> findPluginConfiguration(List<Plugin> buildPlugins, String pluginKey) {
+		return buildPlugins.stream()
+				.filter(plugin -> plugin.getKey().equals(pluginKey))
+				.findFirst()
+				.map(ReactorModule::findScanningConfiguration);
+	}
+
+	/**
+	 * Returns the configuration with which the module's build runs the goal that judges its violations: the plugin's
+	 * configuration merged with that of the first execution of the goal (which takes precedence). Executions of other
+	 * goals are ignored, so their rules are not mixed into the module's rules.
+	 */
+	private static Xpp3Dom findScanningConfiguration(Plugin plugin) {
+		Xpp3Dom configuration = (Xpp3Dom) plugin.getConfiguration();
+		Optional<Xpp3Dom> executionConfiguration = plugin.getExecutions().stream()
+				.filter(execution -> execution.getGoals().contains(SCANNING_GOAL))
+				.findFirst()
+				.map(PluginExecution::getConfiguration)
+				.map(Xpp3Dom.class::cast);
+		if (executionConfiguration.isPresent())
+			configuration = Xpp3Dom.mergeXpp3Dom(new Xpp3Dom(executionConfiguration.get()), configuration);
+		return configuration == null ? new Xpp3Dom("configuration") : configuration;
+	}
+
+	private static DependencyRulesConfiguration readRulesConfiguration(
+			Xpp3Dom configuration, Properties properties, DependencyRulesConfiguration defaultConfiguration)
+			throws ConfigurationException {
+		Severity defaultSeverity = readEnum(configuration, "defaultSeverity", Severity.class, properties)
+				.orElse(defaultConfiguration.getDefaultSeverity());
+		PackageInclusion packages = readEnum(configuration, "packages", PackageInclusion.class, properties)
+				.orElse(defaultConfiguration.getPackageInclusion());
+		List<XmlRule> xmlRules = readXmlRules(configuration, properties)
+				.orElse(defaultConfiguration.getXmlRules());
+		List<String> arrowRules = readArrowRules(configuration, properties)
+				.orElse(defaultConfiguration.getArrowRules());
+		return new DependencyRulesConfiguration(defaultSeverity, packages, xmlRules, arrowRules);
+	}
+
+	private static <E extends Enum<E>> Optional<E> readEnum(
+			Xpp3Dom configuration, String name, Class<E> type, Properties properties)
+			throws ConfigurationException {
+		Optional<String> value = readValue(configuration, name, properties);
+		if (!value.isPresent())
+			return Optional.empty();
+
+		try {
+			return Optional.of(Enum.valueOf(type, value.get()));
+		} catch (IllegalArgumentException ex) {
+			throw new ConfigurationException(format("The value '%s' is invalid for '%s'.", value.get(), name));
+		}
+	}
+
+	private static Optional<List<XmlRule>> readXmlRules(Xpp3Dom configuration, Properties properties)
+			throws ConfigurationException {
+		Xpp3Dom xmlRulesElement = configuration.getChild("xmlDependencyRules");
+		if (xmlRulesElement == null)
+			return Optional.empty();
+
+		ImmutableList.Builder<XmlRule> xmlRules = ImmutableList.builder();
+		for (Xpp3Dom xmlRule : xmlRulesElement.getChildren()) {
+			String dependent = readValue(xmlRule, "dependent", properties)
+					.orElseThrow(() -> missing("dependent"));
+			String dependency = readValue(xmlRule, "dependency", properties)
+					.orElseThrow(() -> missing("dependency"));
+			Severity severity = readEnum(xmlRule, "severity", Severity.class, properties)
+					.orElseThrow(() -> missing("severity"));
+			xmlRules.add(new XmlRule(dependent, dependency, severity));
+		}
+		return Optional.of(xmlRules.build());
+	}
+
+	private static ConfigurationException missing(String name) {
+		return new ConfigurationException(format("An XML rule is missing the element '%s'.", name));
+	}
+
+	private static Optional<List<String>> readArrowRules(Xpp3Dom configuration, Properties properties) {
+		Xpp3Dom arrowRulesElement = configuration.getChild("arrowDependencyRules");
+		if (arrowRulesElement == null)
+			return Optional.empty();
+
+		ImmutableList.Builder<String> arrowRules = ImmutableList.builder();
+		for (Xpp3Dom arrowRule : arrowRulesElement.getChildren())
+			if (arrowRule.getValue() != null)
+				arrowRules.add(evaluate(arrowRule.getValue(), properties));
+		return Optional.of(arrowRules.build());
+	}
+
+	private static Optional<String> readValue(Xpp3Dom configuration, String name, Properties properties) {
+		return Optional.ofNullable(configuration.getChild(name))
+				.map(Xpp3Dom::getValue)
+				.map(value -> evaluate(value, properties))
+				.map(String::trim)
+				.filter(value -> !value.isEmpty());
+	}
+
+	/**
+	 * Replaces each expression "${name}" in the specified value with the property of that name; like Maven, expressions
+	 * for which no property exists are left unchanged.
+	 */
+	static String evaluate(String value, Properties properties) {
+		Matcher expressions = EXPRESSION.matcher(value);
+		StringBuffer evaluated = new StringBuffer();
+		while (expressions.find()) {
+			String property = properties.getProperty(expressions.group(1), expressions.group());
+			expressions.appendReplacement(evaluated, Matcher.quoteReplacement(property));
+		}
+		expressions.appendTail(evaluated);
+		return evaluated.toString();
+	}
+
+	// #end READ CONFIGURATION
+
+}
@@ -0,0 +1,147 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.toolchain.Toolchain;
+import org.codefx.mvn.jdeps.tool.jdeps.JDepsExecution;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Captures the MOJO configuration that pertains to how the class files are scanned for dependencies on JDK-internal
+ * API.
+ */
+class ScanConfiguration {
+
+	private final Path scannedFolder;
+	private final JDepsExecution jDepsExecution;
+	private final Optional<Path> cacheFolder;
+	private final boolean incremental;
+	private final int parallelism;
+	private final boolean prefilter;
+	private final Optional<Path> parseTraceFile;
+	private final Optional<Toolchain> toolchain;
+	private final ImmutableList<Path> scannedArtifacts;
+	private final Optional<Path> artifactCacheFolder;
+
+	/**
+	 * Creates a new configuration.
+	 *
+	 * @param scannedFolder
+	 * 		the folder to be scanned by JDeps
+	 * @param jDepsExecution
+	 * 		how to execute JDeps
+	 * @param cacheFolder
+	 * 		the folder in which the results are cached; if empty, results are not cached
+	 * @param incremental
+	 * 		whether only the class files that changed since the last scan are scanned; requires a cache folder
+	 * @param parallelism
+	 * 		the number of JDeps invocations that scan shards of the folder at the same time; 1 if the folder is not
+	 * 		split up
+	 * @param prefilter
+	 * 		whether only the class files whose constant pools contain names in internal packages are passed to JDeps
+	 * @param parseTraceFile
+	 * 		the file to which the parsed JDeps output is written; if empty, it is logged on debug level
+	 * @param toolchain
+	 * 		the JDK toolchain whose JDeps is forked; if empty or if it contains no JDeps, the JDK running Maven provides
+	 * 		JDeps
+	 * @param scannedArtifacts
+	 * 		the dependency artifacts (i.e. JARs) which are scanned in addition to the folder
+	 * @param artifactCacheFolder
+	 * 		the folder in which the results for the scanned artifacts are cached; if empty, they are not cached
+	 */
+	public ScanConfiguration(
+			Path scannedFolder,
+			JDepsExecution jDepsExecution,
+			Optional<Path> cacheFolder,
+			boolean incremental,
+			int parallelism,
+			boolean prefilter,
+			Optional<Path> parseTraceFile,
+			Optional<Toolchain> toolchain,
+			ImmutableList<Path> scannedArtifacts,
+			Optional<Path> artifactCacheFolder) {
+		this.scannedFolder = requireNonNull(scannedFolder, "The argument 'scannedFolder' must not be null.");
+		this.jDepsExecution = requireNonNull(jDepsExecution, "The argument 'jDepsExecution' must not be null.");
+		this.cacheFolder = requireNonNull(cacheFolder, "The argument 'cacheFolder' must not be null.");
+		if (incremental && !cacheFolder.isPresent())
+			throw new IllegalArgumentException("An incremental scan requires a cache folder.");
+		this.incremental = incremental;
+		if (parallelism < 1)
+			throw new IllegalArgumentException("The argument 'parallelism' must be at least 1.");
+		this.parallelism = parallelism;
+		this.prefilter = prefilter;
+		this.parseTraceFile = requireNonNull(parseTraceFile, "The argument 'parseTraceFile' must not be null.");
+		this.toolchain = requireNonNull(toolchain, "The argument 'toolchain' must not be null.");
+		this.scannedArtifacts = requireNonNull(scannedArtifacts, "The argument 'scannedArtifacts' must not be null.");
+		this.artifactCacheFolder =
+				requireNonNull(artifactCacheFolder, "The argument 'artifactCacheFolder' must not be null.");
+	}
+
+	/**
+	 * Creates a configuration which scans the specified folder with the default settings, i.e. it runs jdeps
+	 * {@link JDepsExecution#IN_PROCESS in-process}, does not cache results, does not split or prefilter the folder,
+	 * ignores toolchains and does not scan dependency artifacts.
+	 *
+	 * @param scannedFolder
+	 * 		the folder to be scanned by JDeps
+	 *
+	 * @return a configuration
+	 */
+	public static ScanConfiguration forFolder(Path scannedFolder) {
+		return new ScanConfiguration(
+				scannedFolder,
+				JDepsExecution.IN_PROCESS,
+				Optional.empty(),
+				false,
+				1,
+				false,
+				Optional.empty(),
+				Optional.empty(),
+				ImmutableList.of(),
+				Optional.empty());
+	}
+
+	public Path getScannedFolder() {
+		return scannedFolder;
+	}
+
+	public JDepsExecution getJDepsExecution() {
+		return jDepsExecution;
+	}
+
+	public Optional<Path> getCacheFolder() {
+		return cacheFolder;
+	}
+
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public boolean isPrefiltered() {
+		return prefilter;
+	}
+
+	public Optional<Path> getParseTraceFile() {
+		return parseTraceFile;
+	}
+
+	public Optional<Toolchain> getToolchain() {
+		return toolchain;
+	}
+
+	public ImmutableList<Path> getScannedArtifacts() {
+		return scannedArtifacts;
+	}
+
+	public Optional<Path> getArtifactCacheFolder() {
+		return artifactCacheFolder;
+	}
+
+}
@@ -0,0 +1,40 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.toolchain.Toolchain;
+import org.apache.maven.toolchain.ToolchainManager;
+
+import java.util.Optional;
+
+/**
+ * Finds the JDK toolchain that the maven-toolchains-plugin selected for the current project.
+ */
+final class Toolchains {
+
+	private static final String JDK_TOOLCHAIN_TYPE = "jdk";
+
+	private Toolchains() {
+		// no instances of this class
+	}
+
+	/**
+	 * Looks up the JDK toolchain of the session's current project.
+	 * <p>
+	 * The lookup only asks the session's build context; what is expensive is locating jdeps in the toolchain's JDK,
+	 * which is why that is {@link org.codefx.mvn.jdeps.tool.jdeps.CachingJDepsSearch#forToolchain(Toolchain) cached}.
+	 *
+	 * @param toolchainManager
+	 * 		the manager injected into the mojo; can be null outside of a Maven build (e.g. in tests)
+	 * @param session
+	 * 		the current session; can be null outside of a Maven build (e.g. in tests)
+	 *
+	 * @return the JDK toolchain or an empty {@link Optional} if none was selected
+	 */
+	public static Optional<Toolchain> findJdkToolchain(ToolchainManager toolchainManager, MavenSession session) {
+		if (toolchainManager == null || session == null)
+			return Optional.empty();
+
+		return Optional.ofNullable(toolchainManager.getToolchainFromBuildContext(JDK_TOOLCHAIN_TYPE, session));
+	}
+
+}
@@ -1,11 +1,10 @@
 package org.codefx.mvn.jdeps.parse;
 
 import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.parse.JDepsLineLexer.LineType;
 
 import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Parses a single line of JDeps output to an {@link InternalType}.
@@ -15,18 +14,11 @@ import java.util.regex.Pattern;
  * <pre>
  *       -&gt; package.name.ClassName     category (source)
  * </pre>
+ *
+ * @see JDepsLineLexer
  */
 class InternalTypeLineParser {
 
-	private static final Pattern JDEPS_DEPENDENCY_PATTERN = Pattern.compile(""
-			+ "\\s+->\\s+" // leading spaces and arrow, e.g. "      -> "
-			+ "([a-zA-Z_][\\.\\w]*)" // qualified class name (simplified), e.g. "sun.misc.Unsafe"
-			+ "\\s+" // spaces to fill up the column
-			+ "(\\w[\\w\\s]*\\w*)" // category, e.g. "JDK Internal API"
-			+ "\\s" // space between category and source
-			+ "\\(([\\w\\.]*)\\)" // source, e.g. "(jt.jar)"
-			+ ".*");
-
 	/**
 	 * Indicates whether the specified line is an {@link InternalType}.
 	 *
@@ -37,7 +29,7 @@ class InternalTypeLineParser {
 	public boolean isInternalTypeLine(String line) {
 		Objects.requireNonNull(line, "The argument 'line' must not be null.");
 
-		return JDEPS_DEPENDENCY_PATTERN.matcher(line).matches();
+		return new JDepsLineLexer().lex(line) == LineType.INTERNAL_TYPE;
 	}
 
 	/**
@@ -50,30 +42,10 @@ class InternalTypeLineParser {
 	public Optional<InternalType> parseLine(String line) {
 		Objects.requireNonNull(line, "The argument 'line' must not be null.");
 
-		Matcher lineMatcher = JDEPS_DEPENDENCY_PATTERN.matcher(line);
-		if (!lineMatcher.matches() || lineMatcher.groupCount() != 3)
+		JDepsLineLexer lexer = new JDepsLineLexer();
+		if (lexer.lex(line) != LineType.INTERNAL_TYPE)
 			return Optional.empty();
-
-		String fullyQualifiedClassName = lineMatcher.group(1);
-		String category = lineMatcher.group(2);
-		String source = lineMatcher.group(3);
-
-		InternalType type = InternalType.of(
-				extractPackageName(fullyQualifiedClassName),
-				extractClassName(fullyQualifiedClassName),
-				category,
-				source);
-		return Optional.of(type);
-	}
-
-	private static String extractPackageName(String fullyQualifiedClassName) {
-		int indexOfLastPoint = fullyQualifiedClassName.lastIndexOf('.');
-		return fullyQualifiedClassName.substring(0, indexOfLastPoint);
-	}
-
-	private static String extractClassName(String fullyQualifiedClassName) {
-		int indexOfLastPoint = fullyQualifiedClassName.lastIndexOf('.');
-		return fullyQualifiedClassName.substring(indexOfLastPoint + 1);
+		return Optional.of(lexer.internalType());
 	}
 
 }
@@ -0,0 +1,410 @@
+package org.codefx.mvn.jdeps.parse;
+
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+
+import static java.lang.String.format;
+
+/**
+ * Classifies single lines of JDeps output and locates their parts by index.
+ * <p>
+ * The lexer recognizes three kinds of lines:
+ * <ul>
+ * <li>{@link LineType#REPORTED_TYPE REPORTED_TYPE}: a type for which dependencies are reported, e.g.
+ * <pre>
+ *    org.codefx.lab.App (target)
+ * </pre>
+ * <li>{@link LineType#INTERNAL_TYPE INTERNAL_TYPE}: a type the reported type depends upon, e.g.
+ * <pre>
+ *       -&gt; sun.misc.Unsafe     JDK internal API (rt.jar)
+ * </pre>
+ * <li>{@link LineType#DEPENDENCY_EDGE DEPENDENCY_EDGE}: a type together with a type it depends upon, as printed by
+ * JDeps 9 and later (which omits the source of removed types), e.g.
+ * <pre>
+ *    org.codefx.lab.App     -&gt; sun.misc.Unsafe     JDK internal API (jdk.unsupported)
+ *    org.codefx.lab.App     -&gt; sun.misc.BASE64Decoder     JDK removed internal API
+ * </pre>
+ * </ul>
+ * The accepted lines are exactly those the following regular expressions match, and the extracted parts are the same
+ * as those expressions' groups:
+ * <pre>
+ * REPORTED_TYPE: \s+([a-zA-Z_][\.\w]*)\s+.*
+ * INTERNAL_TYPE: \s+-&gt;\s+([a-zA-Z_][\.\w]*)\s+(\w[\w\s]*\w*)\s\(([\w\.]*)\).*
+ * DEPENDENCY_EDGE:
+ *     \s+([a-zA-Z_][\.\w]*)\s+-&gt;\s+([a-zA-Z_][\.\w]*)\s+(?:(\w[\w\s]*\w*)\s\(([\w\.]*)\).*|(\w[\w\s]*?)\s*)
+ * </pre>
+ * Dependency edges also match the expression for reported types but are classified as edges. Because none of the
+ * variable parts can be matched in more than one way, each line is scanned once from left to
+ * right without any backtracking.
+ * <p>
+ * A lexer is stateful: the indices of the parts found in a line are only valid until the next call to
+ * {@link #lex(String)}. It is not thread-safe.
+ * <p>
+ * The types a lexer creates are kept in {@link SymbolTable symbol tables}, so each name is only extracted from the line
+ * the first time it appears; later lines with the same name are resolved without creating any strings.
+ */
+final class JDepsLineLexer {
+
+	private final SymbolTable<Type> reportedTypes = new SymbolTable<>();
+	private final SymbolTable<InternalType> internalTypes = new SymbolTable<>();
+
+	private String line;
+	private int dependentNameStart;
+	private int dependentNameEnd;
+	private int typeNameStart;
+	private int typeNameEnd;
+	private int categoryStart;
+	private int categoryEnd;
+	private int sourceStart;
+	private int sourceEnd;
+
+	/**
+	 * Classifies the specified line and locates its parts.
+	 *
+	 * @param line
+	 * 		the line to classify
+	 *
+	 * @return the type of the line
+	 */
+	public LineType lex(String line) {
+		this.line = line;
+		if (lexInternalType())
+			return LineType.INTERNAL_TYPE;
+		if (lexDependencyEdge())
+			return LineType.DEPENDENCY_EDGE;
+		if (lexReportedType())
+			return LineType.REPORTED_TYPE;
+		return LineType.OTHER;
+	}
+
+	private boolean lexReportedType() {
+		// \s+([a-zA-Z_][\.\w]*)\s+.*
+		int index = skipWhitespace(0);
+		if (index == 0)
+			return false;
+
+		index = lexDependentName(index);
+		if (index < 0)
+			return false;
+
+		int afterWhitespace = skipWhitespace(index);
+		if (afterWhitespace == index)
+			return false;
+
+		return !containsLineTerminator(afterWhitespace);
+	}
+
+	private boolean lexInternalType() {
+		// \s+->\s+([a-zA-Z_][\.\w]*)\s+(\w[\w\s]*\w*)\s\(([\w\.]*)\).*
+		int index = skipWhitespace(0);
+		if (index == 0)
+			return false;
+
+		index = lexArrowAndTypeName(index);
+		if (index < 0)
+			return false;
+
+		index = lexCategory(index);
+		if (index < 0)
+			return false;
+
+		index = lexSource(index);
+		if (index < 0)
+			return false;
+
+		return !containsLineTerminator(index);
+	}
+
+	private boolean lexDependencyEdge() {
+		// \s+([a-zA-Z_][\.\w]*)\s+->\s+([a-zA-Z_][\.\w]*)\s+(?:(\w[\w\s]*\w*)\s\(([\w\.]*)\).*|(\w[\w\s]*?)\s*)
+		int index = skipWhitespace(0);
+		if (index == 0)
+			return false;
+
+		index = lexDependentName(index);
+		if (index < 0)
+			return false;
+
+		int afterDependentName = index;
+		index = skipWhitespace(afterDependentName);
+		if (index == afterDependentName)
+			return false;
+
+		index = lexArrowAndTypeName(index);
+		if (index < 0)
+			return false;
+
+		int afterCategory = lexCategory(index);
+		if (afterCategory < 0)
+			// JDeps prints no source for types that were removed from the JDK
+			return lexCategoryWithoutSource(index);
+
+		int afterSource = lexSource(afterCategory);
+		if (afterSource < 0)
+			return false;
+
+		return !containsLineTerminator(afterSource);
+	}
+
+	/**
+	 * Lexes {@code ->\s+([a-zA-Z_][\.\w]*)\s+} starting at the specified index.
+	 *
+	 * @return the index after the whitespace following the type name or -1 if there is none
+	 */
+	private int lexArrowAndTypeName(int start) {
+		if (!line.startsWith("->", start))
+			return -1;
+
+		int afterArrow = start + 2;
+		int index = skipWhitespace(afterArrow);
+		if (index == afterArrow)
+			return -1;
+
+		index = lexTypeName(index);
+		if (index < 0)
+			return -1;
+
+		int afterTypeName = index;
+		index = skipWhitespace(afterTypeName);
+		if (index == afterTypeName)
+			return -1;
+		return index;
+	}
+
+	/**
+	 * Lexes {@code [a-zA-Z_][\.\w]*} as the name of the type for which dependencies are reported, starting at the
+	 * specified index.
+	 *
+	 * @return the index after the name or -1 if there is none
+	 */
+	private int lexDependentName(int start) {
+		int index = lexTypeName(start);
+		dependentNameStart = typeNameStart;
+		dependentNameEnd = typeNameEnd;
+		return index;
+	}
+
+	/**
+	 * Lexes {@code [a-zA-Z_][\.\w]*} starting at the specified index.
+	 *
+	 * @return the index after the type name or -1 if there is none
+	 */
+	private int lexTypeName(int start) {
+		if (start >= line.length() || !isTypeNameStart(line.charAt(start)))
+			return -1;
+
+		int index = start + 1;
+		while (index < line.length() && isTypeNamePart(line.charAt(index)))
+			index++;
+		typeNameStart = start;
+		typeNameEnd = index;
+		return index;
+	}
+
+	/**
+	 * Lexes {@code (\w[\w\s]*\w*)\s\(} starting at the specified index.
+	 * <p>
+	 * The category can contain spaces, so it extends over all word and whitespace characters; the last of those must
+	 * be the whitespace in front of the opening parenthesis.
+	 *
+	 * @return the index after the opening parenthesis or -1 if there is none
+	 */
+	private int lexCategory(int start) {
+		if (start >= line.length() || !isWord(line.charAt(start)))
+			return -1;
+
+		int index = start + 1;
+		while (index < line.length() && (isWord(line.charAt(index)) || isWhitespace(line.charAt(index))))
+			index++;
+		int separatingWhitespace = index - 1;
+		boolean categoryFollowedByWhitespaceAndParenthesis = separatingWhitespace > start
+				&& isWhitespace(line.charAt(separatingWhitespace))
+				&& index < line.length() && line.charAt(index) == '(';
+		if (!categoryFollowedByWhitespaceAndParenthesis)
+			return -1;
+
+		categoryStart = start;
+		categoryEnd = separatingWhitespace;
+		return index + 1;
+	}
+
+	/**
+	 * Lexes {@code (\w[\w\s]*?)\s*} up to the end of the line starting at the specified index, which leaves the
+	 * source empty.
+	 *
+	 * @return whether the rest of the line is such a category
+	 */
+	private boolean lexCategoryWithoutSource(int start) {
+		if (start >= line.length() || !isWord(line.charAt(start)))
+			return false;
+
+		// the category ends with its last word character; the whitespace after it is not part of it
+		int end = start + 1;
+		for (int index = end; index < line.length(); index++) {
+			char c = line.charAt(index);
+			if (isWord(c))
+				end = index + 1;
+			else if (!isWhitespace(c))
+				return false;
+		}
+
+		categoryStart = start;
+		categoryEnd = end;
+		sourceStart = end;
+		sourceEnd = end;
+		return true;
+	}
+
+	/**
+	 * Lexes {@code ([\w\.]*)\)} starting at the specified index.
+	 *
+	 * @return the index after the closing parenthesis or -1 if there is none
+	 */
+	private int lexSource(int start) {
+		int index = start;
+		while (index < line.length() && isTypeNamePart(line.charAt(index)))
+			index++;
+		if (index >= line.length() || line.charAt(index) != ')')
+			return -1;
+
+		sourceStart = start;
+		sourceEnd = index;
+		return index + 1;
+	}
+
+	private int skipWhitespace(int start) {
+		int index = start;
+		while (index < line.length() && isWhitespace(line.charAt(index)))
+			index++;
+		return index;
+	}
+
+	/**
+	 * Regular expressions' {@code .} does not match line terminators, so {@code .*} fails on them.
+	 */
+	private boolean containsLineTerminator(int start) {
+		for (int index = start; index < line.length(); index++)
+			if (isLineTerminator(line.charAt(index)))
+				return true;
+		return false;
+	}
+
+	// #begin CHARACTER CLASSES
+
+	private static boolean isTypeNameStart(char c) {
+		return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z') || c == '_';
+	}
+
+	private static boolean isTypeNamePart(char c) {
+		return isWord(c) || c == '.';
+	}
+
+	/**
+	 * Like the regular expressions' {@code \w}: {@code [a-zA-Z_0-9]}.
+	 */
+	private static boolean isWord(char c) {
+		return isTypeNameStart(c) || ('0' <= c && c <= '9');
+	}
+
+	/**
+	 * Like the regular expressions' {@code \s}: {@code [ \t\n\x0B\f\r]}.
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/**
+	 * Like the regular expressions' line terminators: {@code \n}, {@code \r}, NEL, LINE SEPARATOR and PARAGRAPH
+	 * SEPARATOR.
+	 */
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	// #end CHARACTER CLASSES
+
+	// #begin EXTRACT PARTS
+
+	/**
+	 * @return the name of the reported or internal type in the line that was lexed last; for a
+	 * {@link LineType#DEPENDENCY_EDGE DEPENDENCY_EDGE} line, the name of the internal type
+	 */
+	public String typeName() {
+		return line.substring(typeNameStart, typeNameEnd);
+	}
+
+	/**
+	 * @return the reported type in the line that was lexed last, which must be a
+	 * {@link LineType#REPORTED_TYPE REPORTED_TYPE} or {@link LineType#DEPENDENCY_EDGE DEPENDENCY_EDGE} line
+	 *
+	 * @throws IllegalArgumentException
+	 * 		if the type name contains no dot (see {@link Type#of(String)})
+	 */
+	public Type reportedType() {
+		Type type = reportedTypes.get(line, dependentNameStart, dependentNameEnd, 0, 0, 0, 0);
+		if (type != null)
+			return type;
+
+		String typeName = line.substring(dependentNameStart, dependentNameEnd);
+		type = Type.of(typeName);
+		reportedTypes.put(typeName, "", "", type);
+		return type;
+	}
+
+	/**
+	 * @return the internal type in the line that was lexed last, which must be an
+	 * {@link LineType#INTERNAL_TYPE INTERNAL_TYPE} or {@link LineType#DEPENDENCY_EDGE DEPENDENCY_EDGE} line
+	 *
+	 * @throws IllegalArgumentException
+	 * 		if the type name contains no dot
+	 */
+	public InternalType internalType() {
+		InternalType type = internalTypes.get(
+				line, typeNameStart, typeNameEnd, categoryStart, categoryEnd, sourceStart, sourceEnd);
+		if (type != null)
+			return type;
+
+		int indexOfLastPoint = line.lastIndexOf('.', typeNameEnd - 1);
+		if (indexOfLastPoint < typeNameStart)
+			throw new IllegalArgumentException(format(
+					"The internal type '%s' in the line \"%s\" has no package.", typeName(), line));
+
+		// the qualified name is split only if no internal type with that name is shared yet
+		String typeName = typeName();
+		String category = line.substring(categoryStart, categoryEnd);
+		String source = line.substring(sourceStart, sourceEnd);
+		type = InternalType.of(typeName, category, source);
+		internalTypes.put(typeName, category, source, type);
+		return type;
+	}
+
+	// #end EXTRACT PARTS
+
+	/**
+	 * The types of lines the lexer distinguishes.
+	 */
+	enum LineType {
+
+		/**
+		 * A type for which dependencies are reported.
+		 */
+		REPORTED_TYPE,
+
+		/**
+		 * A JDK-internal type upon which the previously reported type depends.
+		 */
+		INTERNAL_TYPE,
+
+		/**
+		 * A reported type and a JDK-internal type upon which it depends.
+		 */
+		DEPENDENCY_EDGE,
+
+		/**
+		 * Any other line.
+		 */
+		OTHER
+
+	}
+
+}
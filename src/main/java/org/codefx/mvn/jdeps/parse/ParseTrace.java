@@ -0,0 +1,86 @@
+package org.codefx.mvn.jdeps.parse;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes each line the {@link ViolationParser} parses, marked with how it was classified, to a file.
+ * <p>
+ * This is an alternative to logging the lines on debug level, which buries the rest of the debug output under the
+ * jdeps output. The trace can be used by several parsers (e.g. of parallel scans) at once; their lines are
+ * interleaved. Writing the trace never fails parsing: the first error stops the trace and is thrown on
+ * {@link #close()}.
+ */
+public class ParseTrace implements Closeable {
+
+	private final Path file;
+	private final BufferedWriter writer;
+	private IOException exception;
+
+	private ParseTrace(Path file, BufferedWriter writer) {
+		this.file = file;
+		this.writer = writer;
+	}
+
+	/**
+	 * Creates a trace that writes to the specified file, replacing it if it exists.
+	 *
+	 * @param file
+	 * 		the file to write to; missing folders are created
+	 *
+	 * @return a new trace
+	 *
+	 * @throws IOException
+	 * 		if the file could not be created
+	 */
+	public static ParseTrace toFile(Path file) throws IOException {
+		requireNonNull(file, "The argument 'file' must not be null.");
+		Path folder = file.toAbsolutePath().getParent();
+		if (folder != null)
+			Files.createDirectories(folder);
+		return new ParseTrace(file, Files.newBufferedWriter(file, UTF_8));
+	}
+
+	/**
+	 * @return the file this trace writes to
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Writes the specified line to the trace.
+	 *
+	 * @param marker
+	 * 		the marker for the line's classification, e.g. {@link ViolationParser#MESSAGE_MARKER_JDEPS_LINE}
+	 * @param line
+	 * 		the parsed line
+	 */
+	synchronized void trace(String marker, String line) {
+		if (exception != null)
+			return;
+
+		try {
+			writer.write(marker);
+			writer.write(' ');
+			writer.write(line);
+			writer.newLine();
+		} catch (IOException ex) {
+			exception = ex;
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+		if (exception != null)
+			throw exception;
+	}
+
+}
@@ -0,0 +1,147 @@
+package org.codefx.mvn.jdeps.parse;
+
+import org.codefx.mvn.jdeps.dependency.Type;
+
+/**
+ * Remembers the types created for the names found in JDeps output, so a name that was seen before can be resolved by
+ * comparing the characters of the line in place instead of extracting substrings from it.
+ * <p>
+ * A symbol consists of up to three parts of a line (e.g. an internal type's name, category and source), each given by
+ * its start and end index. Only when a symbol appears for the first time are its parts materialized as strings (to
+ * {@link #put(String, String, String, Type) put} it into the table). Looking up a known symbol allocates nothing.
+ * <p>
+ * The table is an open-addressing hash table which grows when it is half full. It is not thread-safe.
+ */
+final class SymbolTable<T extends Type> {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private Symbol<T>[] symbols;
+	private int size;
+
+	SymbolTable() {
+		symbols = newSymbols(INITIAL_CAPACITY);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Type> Symbol<T>[] newSymbols(int capacity) {
+		return (Symbol<T>[]) new Symbol<?>[capacity];
+	}
+
+	/**
+	 * Looks up the type for the symbol with the specified parts.
+	 *
+	 * @return the type that was {@link #put(String, String, String, Type) put} for the same parts or null if there is
+	 * none
+	 */
+	public T get(
+			String line,
+			int nameStart, int nameEnd,
+			int categoryStart, int categoryEnd,
+			int sourceStart, int sourceEnd) {
+		int hash = hash(line, nameStart, nameEnd, categoryStart, categoryEnd, sourceStart, sourceEnd);
+		int mask = symbols.length - 1;
+		for (int index = hash & mask; symbols[index] != null; index = (index + 1) & mask) {
+			Symbol<T> symbol = symbols[index];
+			if (symbol.hash == hash
+					&& matches(symbol.name, line, nameStart, nameEnd)
+					&& matches(symbol.category, line, categoryStart, categoryEnd)
+					&& matches(symbol.source, line, sourceStart, sourceEnd))
+				return symbol.type;
+		}
+		return null;
+	}
+
+	/**
+	 * Puts the type for the symbol with the specified parts into the table; for symbols with fewer than three parts,
+	 * the missing ones are empty.
+	 */
+	public void put(String name, String category, String source, T type) {
+		if (2 * (size + 1) > symbols.length)
+			grow();
+		insert(new Symbol<>(
+				hash(name, 0, name.length(), category, 0, category.length(), source, 0, source.length()),
+				name, category, source, type));
+		size++;
+	}
+
+	private void grow() {
+		Symbol<T>[] oldSymbols = symbols;
+		symbols = newSymbols(2 * oldSymbols.length);
+		for (Symbol<T> symbol : oldSymbols)
+			if (symbol != null)
+				insert(symbol);
+	}
+
+	private void insert(Symbol<T> symbol) {
+		int mask = symbols.length - 1;
+		int index = symbol.hash & mask;
+		while (symbols[index] != null)
+			index = (index + 1) & mask;
+		symbols[index] = symbol;
+	}
+
+	/**
+	 * @return the number of symbols in the table
+	 */
+	public int size() {
+		return size;
+	}
+
+	// #begin HASH AND COMPARE
+
+	private static int hash(
+			String line,
+			int nameStart, int nameEnd,
+			int categoryStart, int categoryEnd,
+			int sourceStart, int sourceEnd) {
+		return hash(line, nameStart, nameEnd, line, categoryStart, categoryEnd, line, sourceStart, sourceEnd);
+	}
+
+	private static int hash(
+			String name, int nameStart, int nameEnd,
+			String category, int categoryStart, int categoryEnd,
+			String source, int sourceStart, int sourceEnd) {
+		int hash = hash(0, name, nameStart, nameEnd);
+		// separate the parts, so that moving characters from one to the next changes the hash
+		hash = hash(31 * hash + 1, category, categoryStart, categoryEnd);
+		hash = hash(31 * hash + 1, source, sourceStart, sourceEnd);
+		// spread the higher bits, which the mask would otherwise ignore
+		return hash ^ (hash >>> 16);
+	}
+
+	private static int hash(int hash, String text, int start, int end) {
+		int result = hash;
+		for (int index = start; index < end; index++)
+			result = 31 * result + text.charAt(index);
+		return result;
+	}
+
+	private static boolean matches(String part, String line, int start, int end) {
+		return part.length() == end - start && line.regionMatches(start, part, 0, part.length());
+	}
+
+	// #end HASH AND COMPARE
+
+	/**
+	 * An entry of the table.
+	 */
+	private static final class Symbol<T extends Type> {
+
+		final int hash;
+		final String name;
+		final String category;
+		final String source;
+		final T type;
+
+		Symbol(int hash, String name, String category, String source, T type) {
+			this.hash = hash;
+			this.name = name;
+			this.category = category;
+			this.source = source;
+			this.type = type;
+		}
+
+	}
+
+}
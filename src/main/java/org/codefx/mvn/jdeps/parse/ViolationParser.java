@@ -1,44 +1,35 @@
 package org.codefx.mvn.jdeps.parse;
 
-import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.apache.maven.plugin.logging.Log;
 import org.codefx.mvn.jdeps.dependency.Type;
 import org.codefx.mvn.jdeps.dependency.Violation;
 import org.codefx.mvn.jdeps.dependency.Violation.ViolationBuilder;
 import org.codefx.mvn.jdeps.mojo.MojoLogging;
+import org.codefx.mvn.jdeps.parse.JDepsLineLexer.LineType;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import static java.lang.String.format;
 
 /**
  * Parses violation blocks from the JDeps output line by line and hands created {@link Violation}s to a
  * {@link Consumer} that can further process it.
+ * <p>
+ * Each parsed line is either logged on debug level, written to a {@link ParseTrace} or (if neither is wanted) not
+ * touched again; whether and where lines go is decided once when the parser is created.
  */
 public class ViolationParser {
 
 	public static final String MESSAGE_MARKER_JDEPS_LINE = "[d]";
 	public static final String MESSAGE_MARKER_UNKNOWN_LINE = "[ ]";
-	private static final String MESSAGE_PARSED_LINE = " %s %s";
 
+	private final JDepsLineLexer lexer;
+	private final Consumer<Violation> violationConsumer;
 	/**
-	 * Pattern to match the reported type line, e.g.
-	 *
-	 * <pre>
-	 * 	   org.codefx.lab.App (...)
-	 * </pre>
+	 * Receives the marker and the parsed line; null if the lines are not logged.
 	 */
-	private static final Pattern REPORTED_TYPE_PATTERN = Pattern.compile(""
-			+ "\\s+" // leading spaces
-			+ "([a-zA-Z_][\\.\\w]*)" // qualified class name (simplified), e.g. "sun.misc.Unsafe"
-			+ "\\s+" // spaces to separate class name
-			+ ".*");
-
-	private final InternalTypeLineParser internalTypeLineParser;
-	private final Consumer<Violation> violationConsumer;
+	private final BiConsumer<String, String> lineLog;
 	private LineParserState lineParser;
 
 	/**
@@ -48,26 +39,39 @@ public class ViolationParser {
 	 * 		the {@link Consumer} to which parsed {@link Violation}s are handed over
 	 */
 	public ViolationParser(Consumer<Violation> violationConsumer) {
-		this(new InternalTypeLineParser(), violationConsumer);
+		this(violationConsumer, Optional.empty());
 	}
 
 	/**
 	 * Creates a new parser.
 	 *
-	 * @param internalTypeLineParser
-	 * 		used to parse individual internal dependencies
 	 * @param violationConsumer
 	 * 		the {@link Consumer} to which parsed {@link Violation}s are handed over
+	 * @param trace
+	 * 		the trace to which the parsed lines are written; if empty, they are logged on debug level instead
 	 */
-	public ViolationParser(InternalTypeLineParser internalTypeLineParser, Consumer<Violation> violationConsumer) {
-		Objects.requireNonNull(internalTypeLineParser, "The argument 'internalTypeLineParser' must not be null.");
+	public ViolationParser(Consumer<Violation> violationConsumer, Optional<ParseTrace> trace) {
 		Objects.requireNonNull(violationConsumer, "The argument 'violationConsumer' must not be null.");
+		Objects.requireNonNull(trace, "The argument 'trace' must not be null.");
 
-		this.internalTypeLineParser = internalTypeLineParser;
+		this.lexer = new JDepsLineLexer();
 		this.violationConsumer = violationConsumer;
+		this.lineLog = createLineLog(trace);
 		this.lineParser = new NoBlock();
 	}
 
+	private static BiConsumer<String, String> createLineLog(Optional<ParseTrace> trace) {
+		if (trace.isPresent())
+			return trace.get()::trace;
+
+		// resolve the logger once; if it does not log debug messages, there is no need to create them
+		Log log = MojoLogging.logger();
+		if (log.isDebugEnabled())
+			return (marker, line) -> log.debug(" " + marker + " " + line);
+		else
+			return null;
+	}
+
 	// #begin PARSE SUPPORT
 
 	/**
@@ -81,8 +85,10 @@ public class ViolationParser {
 	 */
 	public void parseLine(String line) {
 		Objects.requireNonNull(line, "The argument 'line' must not be null.");
-		lineParser = lineParser.parseLine(line);
-		lineParser.logLine(line);
+		// each line is lexed exactly once; the states only look at its type and the parts the lexer found
+		lineParser = lineParser.parseLine(lexer.lex(line));
+		if (lineLog != null)
+			lineLog.accept(lineParser.marker(), line);
 	}
 
 	/**
@@ -91,52 +97,45 @@ public class ViolationParser {
 	 * If a violation is currently being created, calling this method will build it.
 	 */
 	public void finish() {
-		lineParser = lineParser.parseLine("");
+		lineParser = lineParser.parseLine(LineType.OTHER);
 	}
 
-	private LineParserState determineWhetherNewBlockStarted(String line) {
-		Optional<String> asFirstBlockLine = parseAsFirstBlockLine(line);
-		if (asFirstBlockLine.isPresent())
-			return new BlockBegan(asFirstBlockLine.get());
+	private LineParserState determineWhetherNewBlockStarted(LineType lineType) {
+		if (lineType == LineType.REPORTED_TYPE)
+			return new BlockBegan(lexer.reportedType());
+		else if (lineType == LineType.DEPENDENCY_EDGE)
+			return new BlockBegan(lexer.reportedType()).parseLine(lineType);
 		else
 			return new NoBlock();
 	}
 
-	private static Optional<String> parseAsFirstBlockLine(String line) {
-		Matcher firstLineMatcher = REPORTED_TYPE_PATTERN.matcher(line);
-		boolean isFirstLine = firstLineMatcher.matches();
-		if (isFirstLine)
-			return Optional.of(firstLineMatcher.group(1));
-		else
-			return Optional.empty();
-	}
-
 	// #end PARSE SUPPORT
 
 	// #begin PARSE STATE MACHINE
 
 	private interface LineParserState {
 
-		LineParserState parseLine(String line);
+		LineParserState parseLine(LineType lineType);
 
-		void logLine(String line);
+		String marker();
 	}
 
 	/**
 	 * There is currently no violations block.
 	 * <p>
-	 * The next line may start a new block if it is a {@link #REPORTED_TYPE_PATTERN REPORTED_TYPE}.
+	 * The next line may start a new block if it is a {@link LineType#REPORTED_TYPE REPORTED_TYPE} or a
+	 * {@link LineType#DEPENDENCY_EDGE DEPENDENCY_EDGE}.
 	 */
 	private class NoBlock implements LineParserState {
 
 		@Override
-		public LineParserState parseLine(String line) {
-			return determineWhetherNewBlockStarted(line);
+		public LineParserState parseLine(LineType lineType) {
+			return determineWhetherNewBlockStarted(lineType);
 		}
 
 		@Override
-		public void logLine(String line) {
-			MojoLogging.logger().debug(format(MESSAGE_PARSED_LINE, MESSAGE_MARKER_UNKNOWN_LINE, line));
+		public String marker() {
+			return MESSAGE_MARKER_UNKNOWN_LINE;
 		}
 
 	}
@@ -144,7 +143,8 @@ public class ViolationParser {
 	/**
 	 * A block began and a violation is being build.
 	 * <p>
-	 * The block can either be continued with an internal dependency or may end. If it ends:
+	 * The block can either be continued with an internal dependency (in JDeps 9 and later, an edge from the same
+	 * dependent) or may end. If it ends:
 	 * <ul>
 	 * <li>the violation which is currently being build is finished and handed to the {@link #violationConsumer}
 	 * <li>a new block might start with the next line ~> transition to new {@link BlockBegan}
@@ -153,35 +153,29 @@ public class ViolationParser {
 	 */
 	private class BlockBegan implements LineParserState {
 
+		private final Type dependent;
 		private final ViolationBuilder violationBuilder;
 
-		public BlockBegan(String fullyQualifiedClassName) {
-			assert fullyQualifiedClassName != null : "The argument 'fullyQualifiedClassName' must not be null.";
+		public BlockBegan(Type dependent) {
+			assert dependent != null : "The argument 'dependent' must not be null.";
 
-			Type dependent = Type.of(fullyQualifiedClassName);
+			this.dependent = dependent;
 			violationBuilder = Violation.buildForDependent(dependent);
 		}
 
 		@Override
-		public LineParserState parseLine(String line) {
-			assert line != null : "The argument 'line' must not be null.";
-
-			boolean lineCouldBeProcessed = processLine(line);
-			return computeNextState(line, lineCouldBeProcessed);
-		}
-
-		private boolean processLine(String line) {
-			Optional<InternalType> parsedInternalType = internalTypeLineParser.parseLine(line);
-			parsedInternalType.ifPresent(violationBuilder::addDependency);
-			return parsedInternalType.isPresent();
-		}
-
-		private LineParserState computeNextState(String line, boolean lineCouldBeProcessed) {
-			if (lineCouldBeProcessed)
+		public LineParserState parseLine(LineType lineType) {
+			assert lineType != null : "The argument 'lineType' must not be null.";
+
+			// the lexer shares the types it creates, so edges from the same dependent have the identical type
+			boolean continuesBlock = lineType == LineType.INTERNAL_TYPE
+					|| (lineType == LineType.DEPENDENCY_EDGE && lexer.reportedType() == dependent);
+			if (continuesBlock) {
+				violationBuilder.addDependency(lexer.internalType());
 				return this;
-			else {
+			} else {
 				finishViolation();
-				return determineWhetherNewBlockStarted(line);
+				return determineWhetherNewBlockStarted(lineType);
 			}
 		}
 
@@ -191,8 +185,8 @@ public class ViolationParser {
 		}
 
 		@Override
-		public void logLine(String line) {
-			MojoLogging.logger().debug(format(MESSAGE_PARSED_LINE, MESSAGE_MARKER_JDEPS_LINE, line));
+		public String marker() {
+			return MESSAGE_MARKER_JDEPS_LINE;
 		}
 
 	}
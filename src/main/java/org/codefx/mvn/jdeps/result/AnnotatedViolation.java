@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableMap;
 import org.codefx.mvn.jdeps.dependency.InternalType;
 import org.codefx.mvn.jdeps.dependency.Type;
 import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.rules.DependencyJudge;
 import org.codefx.mvn.jdeps.rules.Severity;
 
 import java.util.Arrays;
@@ -53,6 +54,27 @@ final class AnnotatedViolation {
 		return new AnnotatedViolation(dependent, internalDependenciesMap);
 	}
 
+	/**
+	 * Annotates the specified violation's internal dependencies with the severities the specified judge assigns.
+	 *
+	 * @param violation
+	 * 		the violation to judge
+	 * @param judge
+	 * 		the judge to use
+	 *
+	 * @return an annotated violation
+	 */
+	public static AnnotatedViolation judge(Violation violation, DependencyJudge judge) {
+		requireNonNull(violation, "The argument 'violation' must not be null.");
+		requireNonNull(judge, "The argument 'judge' must not be null.");
+
+		Type dependent = violation.getDependent();
+		ImmutableList.Builder<AnnotatedInternalType> internalDependencies = ImmutableList.builder();
+		for (InternalType dependency : violation.getInternalDependencies())
+			internalDependencies.add(AnnotatedInternalType.of(dependency, judge.judgeSeverity(dependent, dependency)));
+		return of(dependent, internalDependencies.build());
+	}
+
 	/**
 	 * Returns a violation that contains only the internal dependencies with the specified severities.
 	 * <p>
@@ -0,0 +1,34 @@
+package org.codefx.mvn.jdeps.result;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.rules.Severity;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Passes violations to two sinks; see {@link ViolationSink#andThen(ViolationSink)}.
+ */
+final class ComposedViolationSink implements ViolationSink {
+
+	private final ViolationSink first;
+	private final ViolationSink second;
+
+	ComposedViolationSink(ViolationSink first, ViolationSink second) {
+		this.first = requireNonNull(first, "The argument 'first' must not be null.");
+		this.second = requireNonNull(second, "The argument 'second' must not be null.");
+	}
+
+	@Override
+	public void accept(Severity severity, Violation violation) {
+		first.accept(severity, violation);
+		second.accept(severity, violation);
+	}
+
+	@Override
+	public void finish() throws MojoFailureException {
+		first.finish();
+		second.finish();
+	}
+
+}
@@ -0,0 +1,33 @@
+package org.codefx.mvn.jdeps.result;
+
+import org.codefx.mvn.jdeps.dependency.Violation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Collects violations and counts their internal dependencies.
+ */
+final class CountedViolations {
+
+	private final List<Violation> violations = new ArrayList<>();
+	private int count;
+
+	public void add(Violation violation) {
+		violations.add(violation);
+		count += violation.getInternalDependencies().size();
+	}
+
+	/**
+	 * @return the number of internal dependencies of all added violations
+	 */
+	public int count() {
+		return count;
+	}
+
+	public Stream<String> toLines() {
+		return violations.stream().flatMap(Violation::toLines);
+	}
+
+}
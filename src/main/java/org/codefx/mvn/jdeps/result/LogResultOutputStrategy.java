@@ -1,17 +1,12 @@
 package org.codefx.mvn.jdeps.result;
 
 import org.codefx.mvn.jdeps.dependency.Violation;
-import org.codefx.mvn.jdeps.tool.PairCollector.Pair;
+import org.codefx.mvn.jdeps.rules.Severity;
 
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.reducing;
-import static java.util.stream.Collectors.summingInt;
 import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
-import static org.codefx.mvn.jdeps.tool.PairCollector.pairing;
 
 /**
  * A {@link ResultOutputStrategy} that uses the Mojos facilities to log violations.
@@ -33,66 +28,66 @@ public class LogResultOutputStrategy implements ResultOutputStrategy {
 			MESSAGE_ABOUT_JDEPS + "Configured to FAIL are %1$s:";
 
 	@Override
-	public void output(Result result) {
-		logger().debug("Printing analysis results...");
-
-		int violationsCount = logNumberOfViolationsToSummarize(result);
-		violationsCount += logViolationsToInform(result);
-		violationsCount += logViolationsToWarn(result);
-		violationsCount += logViolationsToFail(result);
-
-		if (violationsCount == 0)
-			logZeroDependencies(message -> logger().info(message));
-	}
-
-	private int logNumberOfViolationsToSummarize(Result result) {
-		return countAndIfViolationsExist(
-				result.violationsToSummarize(),
-				(count, ignoredViolationDetails) -> logger().info(format(MESSAGE_SUMMARIZE_DEPENDENCIES, count)));
-	}
-
-	private int logViolationsToInform(Result result) {
-		return logViolations(
-				result.violationsToInform(), MESSAGE_INFORM_DEPENDENCIES, message -> logger().info(message));
-	}
-
-	private int logViolationsToWarn(Result result) {
-		return logViolations(
-				result.violationsToWarn(), MESSAGE_WARN_DEPENDENCIES, message -> logger().warn(message));
+	public ViolationSink createSink() {
+		return new LogSink();
 	}
 
-	private int logViolationsToFail(Result result) {
-		return logViolations(
-				result.violationsToFail(), MESSAGE_FAIL_DEPENDENCIES, message -> logger().error(message));
-	}
-
-	private int logViolations(Stream<Violation> violations, String messageFormat, Consumer<String> log) {
-		return countAndIfViolationsExist(
-				violations,
-				(count, violationLines) -> logMessage(messageFormat, count, violationLines, log));
-	}
-
-	private void logMessage(
-			String messageFormat, int violationsCount, Stream<String> violationLines, Consumer<String> log) {
-		log.accept(format(messageFormat, violationsCount));
-		violationLines.forEach(log);
-	}
-
-	private int countAndIfViolationsExist(
-			Stream<Violation> violations, BiConsumer<Integer, Stream<String>> handleViolations) {
-		Pair<Integer, Stream<String>> countAndMessage = violations
-				.collect(pairing(
-						summingInt(violation -> violation.getInternalDependencies().size()),
-						reducing(Stream.of(), Violation::toLines, Stream::concat)));
-		if (countAndMessage.first == 0)
-			return 0;
-
-		handleViolations.accept(countAndMessage.first, countAndMessage.second);
-		return countAndMessage.first;
-	}
+	/**
+	 * Only counts the violations to summarize and keeps those that are logged line by line.
+	 */
+	private static class LogSink implements ViolationSink {
+
+		private int violationsToSummarizeCount;
+		private final CountedViolations violationsToInform = new CountedViolations();
+		private final CountedViolations violationsToWarn = new CountedViolations();
+		private final CountedViolations violationsToFail = new CountedViolations();
+
+		@Override
+		public void accept(Severity severity, Violation violation) {
+			switch (severity) {
+				case IGNORE:
+					break;
+				case SUMMARIZE:
+					violationsToSummarizeCount += violation.getInternalDependencies().size();
+					break;
+				case INFORM:
+					violationsToInform.add(violation);
+					break;
+				case WARN:
+					violationsToWarn.add(violation);
+					break;
+				case FAIL:
+					violationsToFail.add(violation);
+					break;
+				default:
+					throw new IllegalArgumentException(format("Unknown severity '%s'.", severity));
+			}
+		}
+
+		@Override
+		public void finish() {
+			logger().debug("Printing analysis results...");
+
+			if (violationsToSummarizeCount > 0)
+				logger().info(format(MESSAGE_SUMMARIZE_DEPENDENCIES, violationsToSummarizeCount));
+			logViolations(violationsToInform, MESSAGE_INFORM_DEPENDENCIES, message -> logger().info(message));
+			logViolations(violationsToWarn, MESSAGE_WARN_DEPENDENCIES, message -> logger().warn(message));
+			logViolations(violationsToFail, MESSAGE_FAIL_DEPENDENCIES, message -> logger().error(message));
+
+			int violationsCount = violationsToSummarizeCount
+					+ violationsToInform.count() + violationsToWarn.count() + violationsToFail.count();
+			if (violationsCount == 0)
+				logger().info(MESSAGE_NO_DEPENDENCIES);
+		}
+
+		private static void logViolations(CountedViolations violations, String messageFormat, Consumer<String> log) {
+			if (violations.count() == 0)
+				return;
+
+			log.accept(format(messageFormat, violations.count()));
+			violations.toLines().forEach(log);
+		}
 
-	private void logZeroDependencies(Consumer<String> log) {
-		log.accept(MESSAGE_NO_DEPENDENCIES);
 	}
 
 }
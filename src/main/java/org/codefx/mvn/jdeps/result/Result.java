@@ -1,10 +1,8 @@
 package org.codefx.mvn.jdeps.result;
 
-import com.google.common.collect.ImmutableList;
 import org.codefx.mvn.jdeps.dependency.Violation;
 import org.codefx.mvn.jdeps.rules.Severity;
 
-import java.util.Optional;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -12,13 +10,22 @@ import static java.util.Objects.requireNonNull;
 /**
  * The result of running JDeps.
  * <p>
- * The violations are made available with a number streams, one for each severity.
+ * The violations are made available with a number streams, one for each severity. They are stored in a compact
+ * {@link ViolationTable} and only created when they are streamed, so large results take little memory. The table
+ * buckets the violations by severity once, when they are added, so streaming one severity never visits the
+ * violations of the others and counting the dependencies of a severity takes constant time.
  */
 public class Result {
 
-	private final ImmutableList<AnnotatedViolation> violations;
+	private final ViolationTable violations;
 
-	Result(ImmutableList<AnnotatedViolation> violations) {
+	/**
+	 * Creates a new result.
+	 *
+	 * @param violations
+	 * 		the judged violations
+	 */
+	Result(ViolationTable violations) {
 		this.violations = requireNonNull(violations, "The argument 'violations' must not be null.");
 	}
 
@@ -29,10 +36,30 @@ public class Result {
 	 * @return a stream of violations with the specified severity
 	 */
 	public Stream<Violation> violationsWithSeverity(Severity severity) {
-		return violations.stream()
-				.map(violation -> violation.only(severity))
-				.filter(Optional::isPresent)
-				.map(Optional::get);
+		return violations.violationsWithSeverity(severity);
+	}
+
+	/**
+	 * @param severity
+	 * 		the severity to count
+	 *
+	 * @return the number of internal dependencies with the specified severity across all violations
+	 */
+	public int countDependenciesWithSeverity(Severity severity) {
+		return violations.countEdgesWithSeverity(severity);
+	}
+
+	/**
+	 * Passes all violations to the specified sink, ordered by severity, without {@link ViolationSink#finish()
+	 * finishing} it.
+	 *
+	 * @param sink
+	 * 		the sink to pass the violations to
+	 */
+	public void passViolationsTo(ViolationSink sink) {
+		requireNonNull(sink, "The argument 'sink' must not be null.");
+		for (Severity severity : Severity.values())
+			violationsWithSeverity(severity).forEach(violation -> sink.accept(severity, violation));
 	}
 
 	/**
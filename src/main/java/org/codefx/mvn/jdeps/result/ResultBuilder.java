@@ -1,24 +1,26 @@
 package org.codefx.mvn.jdeps.result;
 
-import com.google.common.collect.ImmutableList;
 import org.codefx.mvn.jdeps.dependency.InternalType;
 import org.codefx.mvn.jdeps.dependency.Type;
 import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.result.ViolationTable.ViolationTableBuilder;
 import org.codefx.mvn.jdeps.rules.DependencyJudge;
-import org.codefx.mvn.jdeps.rules.Severity;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Builds a result, judging the violation's severities with a {@link DependencyJudge} specified during construction.
  * <p>
+ * Each added violation is judged right away and stored in a {@link ViolationTable}, which only keeps the ids of the
+ * violation's types and the severities of its dependencies and buckets the violation by those severities.
+ * <p>
  * Builder instances can be reused; it is safe to call {@link #build()} multiple times to build multiple lists in
  * series. Each new list contains all the elements of the ones created before it.
  */
 public class ResultBuilder {
 
 	private final DependencyJudge judge;
-	private final ImmutableList.Builder<AnnotatedViolation> violations;
+	private final ViolationTableBuilder violations;
 
 	/**
 	 * Creates a new result builder.
@@ -28,7 +30,7 @@ public class ResultBuilder {
 	 */
 	public ResultBuilder(DependencyJudge judge) {
 		this.judge = requireNonNull(judge, "The argument 'judge' must not be null.");
-		violations = ImmutableList.builder();
+		this.violations = new ViolationTableBuilder();
 	}
 
 	/**
@@ -38,22 +40,15 @@ public class ResultBuilder {
 	 * 		the violation to add
 	 */
 	public ResultBuilder addViolation(Violation violation) {
-		Type dependent = violation.getDependent();
-		ImmutableList.Builder<AnnotatedInternalType> internalDependencies = ImmutableList.builder();
-		violation
-				.getInternalDependencies().stream()
-				.map(dependency -> annotateWithSeverity(dependent, dependency))
-				.forEach(internalDependencies::add);
-		violations.add(AnnotatedViolation.of(dependent, internalDependencies.build()));
+		requireNonNull(violation, "The argument 'violation' must not be null.");
 
+		Type dependent = violation.getDependent();
+		violations.addViolation(dependent);
+		for (InternalType dependency : violation.getInternalDependencies())
+			violations.addDependency(dependency, judge.judgeSeverity(dependent, dependency));
 		return this;
 	}
 
-	private AnnotatedInternalType annotateWithSeverity(Type dependent, InternalType dependency) {
-		Severity severity = judge.judgeSeverity(dependent, dependency);
-		return AnnotatedInternalType.of(dependency, severity);
-	}
-
 	/**
 	 * Builds a new result.
 	 * <p>
@@ -2,8 +2,30 @@ package org.codefx.mvn.jdeps.result;
 
 import org.apache.maven.plugin.MojoFailureException;
 
+/**
+ * Outputs judged violations, either pushed one by one into a {@link #createSink() sink} or all at once as a
+ * {@link Result}.
+ */
 public interface ResultOutputStrategy {
 
-	void output(Result result) throws MojoFailureException;
+	/**
+	 * Outputs the specified result by pushing its violations into a {@link #createSink() new sink}.
+	 *
+	 * @param result
+	 * 		the result to output
+	 *
+	 * @throws MojoFailureException
+	 * 		if the result should fail the build
+	 */
+	default void output(Result result) throws MojoFailureException {
+		ViolationSink sink = createSink();
+		result.passViolationsTo(sink);
+		sink.finish();
+	}
+
+	/**
+	 * @return a new sink which outputs the violations it receives according to this strategy
+	 */
+	ViolationSink createSink();
 
 }
@@ -1,9 +1,14 @@
 package org.codefx.mvn.jdeps.result;
 
 import org.apache.maven.plugin.MojoFailureException;
+import org.codefx.mvn.jdeps.dependency.Violation;
 import org.codefx.mvn.jdeps.rules.DependencyRule;
+import org.codefx.mvn.jdeps.rules.Severity;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -12,43 +17,55 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Interprets a result's violations as dependency rules and writes them to a file.
+ * <p>
+ * The sink turns each violation into rules as soon as it receives it, so only the (much smaller) rules are kept until
+ * they are sorted and written.
  */
 public class RuleOutputStrategy implements ResultOutputStrategy {
 
-	private final Function<Result, Stream<DependencyRule>> getRulesFromResult;
+	private final BiFunction<Severity, Violation, Stream<DependencyRule>> getRulesFromViolation;
 	private final Function<DependencyRule, Stream<String>> convertRuleToLines;
 	private final Writer writer;
 
 	/**
 	 * Creates a new output strategy, relying on the specified functions to do most of the work.
 	 *
-	 * @param getRulesFromResult
-	 * 		transforms a {@link Result} to a stream of {@link DependencyRule}s
+	 * @param getRulesFromViolation
+	 * 		transforms a {@link Violation} with the specified severity to a stream of {@link DependencyRule}s
 	 * @param convertRuleToLines
 	 * 		transforms dependency rules to lines
 	 * @param writer
 	 * 		writes lines to a file
 	 */
 	public RuleOutputStrategy(
-			Function<Result, Stream<DependencyRule>> getRulesFromResult,
+			BiFunction<Severity, Violation, Stream<DependencyRule>> getRulesFromViolation,
 			Function<DependencyRule, Stream<String>> convertRuleToLines,
 			Writer writer) {
-		this.getRulesFromResult =
-				requireNonNull(getRulesFromResult, "The argument 'getRulesFromResult' must not be null.");
+		this.getRulesFromViolation =
+				requireNonNull(getRulesFromViolation, "The argument 'getRulesFromViolation' must not be null.");
 		this.convertRuleToLines =
 				requireNonNull(convertRuleToLines, "The argument 'convertRuleToLines' must not be null.");
 		this.writer = requireNonNull(writer, "The argument 'writer' must not be null.");
 	}
 
 	@Override
-	public void output(Result result) throws MojoFailureException {
-		Stream<String> lines = getDependencyRuleLines(result);
-		writeDependencyRuleLines(lines);
+	public ViolationSink createSink() {
+		List<DependencyRule> rules = new ArrayList<>();
+		return new ViolationSink() {
+			@Override
+			public void accept(Severity severity, Violation violation) {
+				getRulesFromViolation.apply(severity, violation).forEach(rules::add);
+			}
+
+			@Override
+			public void finish() throws MojoFailureException {
+				writeDependencyRuleLines(getDependencyRuleLines(rules));
+			}
+		};
 	}
 
-	private Stream<String> getDependencyRuleLines(Result result) {
-		return getRulesFromResult
-				.apply(result)
+	private Stream<String> getDependencyRuleLines(List<DependencyRule> rules) {
+		return rules.stream()
 				.sorted(comparing(DependencyRule::getDependent).thenComparing(DependencyRule::getSeverity))
 				.flatMap(convertRuleToLines);
 	}
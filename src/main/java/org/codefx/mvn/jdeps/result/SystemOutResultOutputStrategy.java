@@ -1,9 +1,10 @@
 package org.codefx.mvn.jdeps.result;
 
-import org.apache.maven.plugin.MojoFailureException;
 import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.rules.Severity;
 
-import java.util.stream.Stream;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * A {@link ResultOutputStrategy} which simply prints to {@link System#out}.
@@ -11,18 +12,31 @@ import java.util.stream.Stream;
 public class SystemOutResultOutputStrategy implements ResultOutputStrategy {
 
 	@Override
-	public void output(Result result) throws MojoFailureException {
-		output("SUMMARIZE:", result.violationsToSummarize());
-		output("INFORM:", result.violationsToInform());
-		output("WARN:", result.violationsToWarn());
-		output("FAIL:", result.violationsToFail());
+	public ViolationSink createSink() {
+		Map<Severity, CountedViolations> violationsBySeverity = new EnumMap<>(Severity.class);
+		violationsBySeverity.put(Severity.SUMMARIZE, new CountedViolations());
+		violationsBySeverity.put(Severity.INFORM, new CountedViolations());
+		violationsBySeverity.put(Severity.WARN, new CountedViolations());
+		violationsBySeverity.put(Severity.FAIL, new CountedViolations());
+
+		return new ViolationSink() {
+			@Override
+			public void accept(Severity severity, Violation violation) {
+				CountedViolations violations = violationsBySeverity.get(severity);
+				if (violations != null)
+					violations.add(violation);
+			}
+
+			@Override
+			public void finish() {
+				violationsBySeverity.forEach(SystemOutResultOutputStrategy::output);
+			}
+		};
 	}
 
-	private static void output(String header, Stream<Violation> violations) {
-		System.out.println("\n\n" + header + ":");
-		violations
-				.flatMap(Violation::toLines)
-				.forEach(System.out::println);
+	private static void output(Severity severity, CountedViolations violations) {
+		System.out.println("\n\n" + severity + ":");
+		violations.toLines().forEach(System.out::println);
 	}
 
 }
@@ -0,0 +1,44 @@
+package org.codefx.mvn.jdeps.result;
+
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.rules.DependencyJudge;
+import org.codefx.mvn.jdeps.rules.Severity;
+
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Judges each violation as soon as it is reported and routes it to a {@link ViolationSink}, split by severity.
+ * <p>
+ * In contrast to the {@link ResultBuilder}, the pipeline holds on to no violation; which of them are kept until the
+ * end is up to the sink.
+ */
+public class ViolationPipeline implements Consumer<Violation> {
+
+	private final DependencyJudge judge;
+	private final ViolationSink sink;
+
+	/**
+	 * Creates a new pipeline.
+	 *
+	 * @param judge
+	 * 		the dependency judge to use
+	 * @param sink
+	 * 		the sink receiving the judged violations
+	 */
+	public ViolationPipeline(DependencyJudge judge, ViolationSink sink) {
+		this.judge = requireNonNull(judge, "The argument 'judge' must not be null.");
+		this.sink = requireNonNull(sink, "The argument 'sink' must not be null.");
+	}
+
+	@Override
+	public void accept(Violation violation) {
+		AnnotatedViolation annotatedViolation = AnnotatedViolation.judge(violation, judge);
+		for (Severity severity : Severity.values())
+			annotatedViolation
+					.only(severity)
+					.ifPresent(violationWithSeverity -> sink.accept(severity, violationWithSeverity));
+	}
+
+}
@@ -0,0 +1,46 @@
+package org.codefx.mvn.jdeps.result;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.rules.Severity;
+
+/**
+ * Receives judged violations one by one and outputs them once all were received.
+ * <p>
+ * A sink only holds on to the violations it needs for its output, so violations that are not reported (e.g. those
+ * configured to be ignored) are released as soon as they passed through.
+ */
+public interface ViolationSink {
+
+	/**
+	 * Receives a violation.
+	 *
+	 * @param severity
+	 * 		the severity of all of the violation's internal dependencies
+	 * @param violation
+	 * 		a violation containing only internal dependencies with the specified severity
+	 */
+	void accept(Severity severity, Violation violation);
+
+	/**
+	 * Returns a sink that passes each violation to this sink and then to the specified one. On {@link #finish()} this
+	 * sink finishes first.
+	 *
+	 * @param next
+	 * 		the sink to pass violations to after this one
+	 *
+	 * @return a composed sink
+	 */
+	default ViolationSink andThen(ViolationSink next) {
+		return new ComposedViolationSink(this, next);
+	}
+
+	/**
+	 * Outputs the received violations; called once after all violations were received.
+	 *
+	 * @throws MojoFailureException
+	 * 		if the received violations should fail the build
+	 */
+	void finish() throws MojoFailureException;
+
+}
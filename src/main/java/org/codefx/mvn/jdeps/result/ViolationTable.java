@@ -0,0 +1,257 @@
+package org.codefx.mvn.jdeps.result;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.rules.Severity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Stores judged violations in columns of primitive values instead of as objects.
+ * <p>
+ * Each distinct dependent and dependency is stored once in a symbol table and referenced by its index. The violations
+ * are stored as the index of their dependent and the index of their first dependency ("edge"); each edge is stored
+ * as the index of the internal type and the ordinal of its severity. Large results hence take a few bytes per edge
+ * instead of several objects per violation and severity. {@link Violation}s are only created when they are streamed.
+ * <p>
+ * While the violations are added, they are also bucketed by severity: for each severity, the table keeps the indices
+ * of the violations with at least one edge of that severity. Streaming the violations of a severity hence only visits
+ * those violations.
+ * <p>
+ * The table is immutable; it is created with a {@link ViolationTableBuilder}.
+ */
+final class ViolationTable {
+
+	private final ImmutableList<Type> dependents;
+	private final ImmutableList<InternalType> dependencies;
+
+	private final int[] violationDependents;
+	/**
+	 * The edges of violation {@code i} are those from {@code violationStarts[i]} (inclusive) to
+	 * {@code violationStarts[i + 1]} (exclusive), which is why this array has one more element than there are
+	 * violations.
+	 */
+	private final int[] violationStarts;
+	private final int[] edgeDependencies;
+	private final byte[] edgeSeverities;
+	/**
+	 * For each severity (by ordinal), the indices of the violations with at least one edge of that severity.
+	 */
+	private final int[][] violationsBySeverity;
+	private final int[] edgeCountsBySeverity;
+
+	private ViolationTable(
+			ImmutableList<Type> dependents,
+			ImmutableList<InternalType> dependencies,
+			int[] violationDependents,
+			int[] violationStarts,
+			int[] edgeDependencies,
+			byte[] edgeSeverities,
+			int[][] violationsBySeverity,
+			int[] edgeCountsBySeverity) {
+		this.dependents = dependents;
+		this.dependencies = dependencies;
+		this.violationDependents = violationDependents;
+		this.violationStarts = violationStarts;
+		this.edgeDependencies = edgeDependencies;
+		this.edgeSeverities = edgeSeverities;
+		this.violationsBySeverity = violationsBySeverity;
+		this.edgeCountsBySeverity = edgeCountsBySeverity;
+	}
+
+	/**
+	 * @param severity
+	 * 		the severity to count
+	 *
+	 * @return the number of internal dependencies with the specified severity across all violations
+	 */
+	public int countEdgesWithSeverity(Severity severity) {
+		return edgeCountsBySeverity[severity.ordinal()];
+	}
+
+	/**
+	 * Lazily creates the violations that only contain the internal dependencies with the specified severity. They
+	 * are streamed in the order in which the violations were added.
+	 *
+	 * @param severity
+	 * 		the severity to filter by
+	 *
+	 * @return a stream of violations
+	 */
+	public Stream<Violation> violationsWithSeverity(Severity severity) {
+		byte severityOrdinal = (byte) severity.ordinal();
+		return Arrays.stream(violationsBySeverity[severityOrdinal])
+				.mapToObj(violation -> violationWithSeverity(violation, severityOrdinal));
+	}
+
+	/**
+	 * @return the violation with the specified index, reduced to the dependencies with the specified severity, which
+	 * it must have
+	 */
+	private Violation violationWithSeverity(int violation, byte severity) {
+		List<InternalType> dependenciesWithSeverity = new ArrayList<>();
+		for (int edge = violationStarts[violation]; edge < violationStarts[violation + 1]; edge++)
+			if (edgeSeverities[edge] == severity)
+				dependenciesWithSeverity.add(dependencies.get(edgeDependencies[edge]));
+		return Violation.buildFor(dependents.get(violationDependents[violation]), dependenciesWithSeverity);
+	}
+
+	// #begin NESTED CLASSES
+
+	/**
+	 * Builds {@link ViolationTable}s.
+	 * <p>
+	 * Builder instances can be reused; each built table contains all the violations added since the builder was
+	 * created.
+	 */
+	static final class ViolationTableBuilder {
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		private final Symbols<Type> dependents = new Symbols<>();
+		private final Symbols<InternalType> dependencies = new Symbols<>();
+
+		private int[] violationDependents = new int[INITIAL_CAPACITY];
+		private int[] violationStarts = new int[INITIAL_CAPACITY + 1];
+		private int violationCount;
+
+		private int[] edgeDependencies = new int[INITIAL_CAPACITY];
+		private byte[] edgeSeverities = new byte[INITIAL_CAPACITY];
+		private int edgeCount;
+
+		private final int[][] violationsBySeverity = new int[Severity.values().length][INITIAL_CAPACITY];
+		private final int[] violationCountsBySeverity = new int[Severity.values().length];
+		private final int[] edgeCountsBySeverity = new int[Severity.values().length];
+
+		/**
+		 * Starts a new violation; the following {@link #addDependency(InternalType, Severity) dependencies} are
+		 * added to it.
+		 *
+		 * @param dependent
+		 * 		the violation's dependent
+		 *
+		 * @return this builder
+		 */
+		public ViolationTableBuilder addViolation(Type dependent) {
+			requireNonNull(dependent, "The argument 'dependent' must not be null.");
+
+			if (violationCount == violationDependents.length) {
+				violationDependents = Arrays.copyOf(violationDependents, 2 * violationCount);
+				violationStarts = Arrays.copyOf(violationStarts, 2 * violationCount + 1);
+			}
+			violationDependents[violationCount] = dependents.idOf(dependent);
+			violationStarts[violationCount] = edgeCount;
+			violationCount++;
+			violationStarts[violationCount] = edgeCount;
+			return this;
+		}
+
+		/**
+		 * Adds an internal dependency to the last {@link #addViolation(Type) added violation}.
+		 *
+		 * @param dependency
+		 * 		the internal type the violation's dependent depends upon
+		 * @param severity
+		 * 		the severity of that dependency
+		 *
+		 * @return this builder
+		 */
+		public ViolationTableBuilder addDependency(InternalType dependency, Severity severity) {
+			requireNonNull(dependency, "The argument 'dependency' must not be null.");
+			requireNonNull(severity, "The argument 'severity' must not be null.");
+			if (violationCount == 0)
+				throw new IllegalStateException("A violation must be added before its dependencies.");
+
+			if (edgeCount == edgeDependencies.length) {
+				edgeDependencies = Arrays.copyOf(edgeDependencies, 2 * edgeCount);
+				edgeSeverities = Arrays.copyOf(edgeSeverities, 2 * edgeCount);
+			}
+			edgeDependencies[edgeCount] = dependencies.idOf(dependency);
+			edgeSeverities[edgeCount] = (byte) severity.ordinal();
+			edgeCount++;
+			violationStarts[violationCount] = edgeCount;
+			addToSeverity(violationCount - 1, severity.ordinal());
+			return this;
+		}
+
+		private void addToSeverity(int violation, int severity) {
+			edgeCountsBySeverity[severity]++;
+
+			int[] violations = violationsBySeverity[severity];
+			int count = violationCountsBySeverity[severity];
+			// the violation's edges are added one after another, so it can only be the last one in the bucket
+			if (count > 0 && violations[count - 1] == violation)
+				return;
+			if (count == violations.length) {
+				violations = Arrays.copyOf(violations, 2 * count);
+				violationsBySeverity[severity] = violations;
+			}
+			violations[count] = violation;
+			violationCountsBySeverity[severity]++;
+		}
+
+		/**
+		 * @return a new table containing all violations added so far
+		 */
+		public ViolationTable build() {
+			return new ViolationTable(
+					dependents.toList(),
+					dependencies.toList(),
+					Arrays.copyOf(violationDependents, violationCount),
+					Arrays.copyOf(violationStarts, violationCount + 1),
+					Arrays.copyOf(edgeDependencies, edgeCount),
+					Arrays.copyOf(edgeSeverities, edgeCount),
+					copyViolationsBySeverity(),
+					edgeCountsBySeverity.clone());
+		}
+
+		private int[][] copyViolationsBySeverity() {
+			int[][] copy = new int[violationsBySeverity.length][];
+			for (int severity = 0; severity < copy.length; severity++)
+				copy[severity] = Arrays.copyOf(violationsBySeverity[severity], violationCountsBySeverity[severity]);
+			return copy;
+		}
+
+	}
+
+	/**
+	 * A symbol table that assigns consecutive ids to objects.
+	 * <p>
+	 * Objects are compared by identity: {@link Type}s are shared, so equal types are usually the same instance (and
+	 * {@link InternalType#equals(Object) equals} does not consider an internal type's category or source). An equal
+	 * but distinct instance merely gets its own id.
+	 */
+	private static final class Symbols<T> {
+
+		private final Map<T, Integer> ids = new IdentityHashMap<>();
+		private final List<T> symbols = new ArrayList<>();
+
+		int idOf(T symbol) {
+			Integer id = ids.get(symbol);
+			if (id != null)
+				return id;
+
+			int newId = symbols.size();
+			symbols.add(symbol);
+			ids.put(symbol, newId);
+			return newId;
+		}
+
+		ImmutableList<T> toList() {
+			return ImmutableList.copyOf(symbols);
+		}
+
+	}
+
+	// #end NESTED CLASSES
+
+}
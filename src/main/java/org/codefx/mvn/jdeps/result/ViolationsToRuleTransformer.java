@@ -27,10 +27,17 @@ public class ViolationsToRuleTransformer {
 	private static Stream<DependencyRule> dependencyRulesForSeverity(Result result, Severity severity) {
 		return result
 				.violationsWithSeverity(severity)
-				.flatMap(violation -> dependencyRulesForViolation(severity, violation));
+				.flatMap(violation -> transform(severity, violation));
 	}
 
-	private static Stream<DependencyRule> dependencyRulesForViolation(Severity severity, Violation violation) {
+	/**
+	 * @param severity the severity of the violation's internal dependencies
+	 * @param violation the violation
+	 * @return a stream of {@link DependencyRule}s, one for each of the violation's internal dependencies
+	 */
+	public static Stream<DependencyRule> transform(Severity severity, Violation violation) {
+		requireNonNull(severity, "The argument 'severity' must not be null.");
+		requireNonNull(violation, "The argument 'violation' must not be null.");
 		return violation
 				.getInternalDependencies().stream()
 				.map(dependency ->
@@ -0,0 +1,105 @@
+package org.codefx.mvn.jdeps.rules;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Objects;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link DependencyJudge} that remembers the severities another judge determined.
+ * <p>
+ * The same pairs of dependent and dependency are usually judged many times (e.g. once for each class of a package that
+ * uses {@code sun.misc.Unsafe}), so caching the severities saves repeatedly matching them against the rules. The
+ * cache is bounded and evicts the least recently used pairs once it is full. It is safe to use the judge from
+ * several threads at once if the wrapped judge is.
+ */
+public class CachingDependencyJudge implements DependencyJudge {
+
+	private final LoadingCache<Dependency, Severity> severities;
+
+	/**
+	 * Creates a new caching judge.
+	 *
+	 * @param judge
+	 * 		the judge whose severities are cached
+	 * @param maximumSize
+	 * 		the maximum number of cached severities; must be at least 1
+	 */
+	public CachingDependencyJudge(DependencyJudge judge, long maximumSize) {
+		requireNonNull(judge, "The argument 'judge' must not be null.");
+		if (maximumSize < 1)
+			throw new IllegalArgumentException("The argument 'maximumSize' must be at least 1.");
+
+		severities = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.recordStats()
+				.build(CacheLoader.from(
+						dependency -> judge.judgeSeverity(dependency.dependent, dependency.dependency)));
+	}
+
+	@Override
+	public Severity judgeSeverity(String dependentName, String dependencyName) {
+		requireNonNull(dependentName, "The argument 'dependentName' must not be null.");
+		requireNonNull(dependencyName, "The argument 'dependencyName' must not be null.");
+
+		try {
+			return severities.getUnchecked(new Dependency(dependentName, dependencyName));
+		} catch (UncheckedExecutionException ex) {
+			// rethrow the wrapped judge's exception (e.g. for invalid names) as if it were called directly
+			throw Throwables.propagate(ex.getCause());
+		}
+	}
+
+	/**
+	 * @return the number of judgements that were answered from the cache
+	 */
+	public long hitCount() {
+		return severities.stats().hitCount();
+	}
+
+	/**
+	 * @return the number of judgements that had to be passed to the wrapped judge
+	 */
+	public long missCount() {
+		return severities.stats().missCount();
+	}
+
+	@Override
+	public String toString() {
+		return format("CachingDependencyJudge (%d hits, %d misses)", hitCount(), missCount());
+	}
+
+	private static final class Dependency {
+
+		private final String dependent;
+		private final String dependency;
+
+		Dependency(String dependent, String dependency) {
+			this.dependent = dependent;
+			this.dependency = dependency;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Dependency))
+				return false;
+			Dependency other = (Dependency) obj;
+			return dependent.equals(other.dependent) && dependency.equals(other.dependency);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(dependent, dependency);
+		}
+
+	}
+
+}
@@ -0,0 +1,320 @@
+package org.codefx.mvn.jdeps.rules;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.lang.Integer.max;
+import static java.text.MessageFormat.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link DependencyJudge} which compiles the rules into tries of name segments (e.g. "com", "foo", "Bar").
+ * <p>
+ * There is one trie for the rules' dependents and each of its nodes that is a rule's dependent holds another trie for
+ * the dependencies of its rules. Judging a dependency walks the dependent's and the dependency's names through these
+ * tries, segment by segment, without splitting them or creating any other objects. The order in which the nodes are
+ * checked yields the same best matches as the {@link MapDependencyJudge}.
+ */
+public class TrieDependencyJudge implements DependencyJudge {
+
+	private final PackageInclusion packageInclusion;
+	private final Severity defaultSeverity;
+	private final Node<DependencyRules> dependents;
+	private final DependencyRules rulesForAllDependents;
+
+	private TrieDependencyJudge(
+			PackageInclusion packageInclusion,
+			Severity defaultSeverity,
+			Node<DependencyRules> dependents,
+			DependencyRules rulesForAllDependents) {
+		this.packageInclusion = requireNonNull(packageInclusion, "The argument 'packageInclusion' must not be null.");
+		this.defaultSeverity = requireNonNull(defaultSeverity, "The argument 'defaultSeverity' must not be null.");
+		this.dependents = requireNonNull(dependents, "The argument 'dependents' must not be null.");
+		this.rulesForAllDependents = rulesForAllDependents;
+	}
+
+	@Override
+	public Severity judgeSeverity(String dependentName, String dependencyName) {
+		requireNonNull(dependentName, "The argument 'dependentName' must not be null.");
+		requireNonNull(dependencyName, "The argument 'dependencyName' must not be null.");
+
+		int minimalDependentDepth = minimalDepth(dependentName);
+		int minimalDependencyDepth = minimalDepth(dependencyName);
+
+		Severity severity = judgeForDependents(
+				dependents, 0, dependentName, 0, minimalDependentDepth, dependencyName, minimalDependencyDepth);
+		if (severity == null && rulesForAllDependents != null)
+			severity = rulesForAllDependents.judge(dependencyName, minimalDependencyDepth);
+		return severity == null ? defaultSeverity : severity;
+	}
+
+	/**
+	 * Walks the dependent's name down the trie and checks the rules of the matching nodes on the way back up, so the
+	 * most specific dependent is checked first.
+	 *
+	 * @return the severity of the best matching rule or null if none matches
+	 */
+	private static Severity judgeForDependents(
+			Node<DependencyRules> node,
+			int depth,
+			String dependentName,
+			int segmentStart,
+			int minimalDependentDepth,
+			String dependencyName,
+			int minimalDependencyDepth) {
+		if (segmentStart <= dependentName.length()) {
+			int segmentEnd = segmentEnd(dependentName, segmentStart);
+			Node<DependencyRules> child = node.child(dependentName, segmentStart, segmentEnd);
+			if (child != null) {
+				Severity severity = judgeForDependents(
+						child, depth + 1, dependentName, segmentEnd + 1,
+						minimalDependentDepth, dependencyName, minimalDependencyDepth);
+				if (severity != null)
+					return severity;
+			}
+		}
+
+		if (depth >= minimalDependentDepth && node.value != null)
+			return node.value.judge(dependencyName, minimalDependencyDepth);
+		return null;
+	}
+
+	/**
+	 * Walks the dependency's name down the trie and returns the severity of the deepest matching node.
+	 *
+	 * @return the severity of the best matching rule or null if none matches
+	 */
+	private static Severity judgeForDependencies(
+			Node<Severity> node, int depth, String dependencyName, int segmentStart, int minimalDependencyDepth) {
+		if (segmentStart <= dependencyName.length()) {
+			int segmentEnd = segmentEnd(dependencyName, segmentStart);
+			Node<Severity> child = node.child(dependencyName, segmentStart, segmentEnd);
+			if (child != null) {
+				Severity severity = judgeForDependencies(
+						child, depth + 1, dependencyName, segmentEnd + 1, minimalDependencyDepth);
+				if (severity != null)
+					return severity;
+			}
+		}
+
+		return depth >= minimalDependencyDepth ? node.value : null;
+	}
+
+	private static int segmentEnd(String name, int segmentStart) {
+		int nextDot = name.indexOf('.', segmentStart);
+		return nextDot == -1 ? name.length() : nextDot;
+	}
+
+	/**
+	 * Determines the number of segments of the least specific name that is considered to contain the specified name.
+	 * <p>
+	 * This mirrors {@link TypeNameHierarchy}: for {@link PackageInclusion#FLAT FLAT} that is the package containing
+	 * the type (i.e. the segments before the first one that starts with an upper case letter); for
+	 * {@link PackageInclusion#HIERARCHICAL HIERARCHICAL} it is the top level package.
+	 */
+	private int minimalDepth(String name) {
+		if (packageInclusion == PackageInclusion.HIERARCHICAL)
+			return 1;
+
+		// like 'String.split', ignore trailing dots
+		int nameEnd = name.length();
+		while (nameEnd > 0 && name.charAt(nameEnd - 1) == '.')
+			nameEnd--;
+		if (nameEnd == 0 && !name.isEmpty())
+			return 1;
+
+		int segmentIndex = 0;
+		int segmentStart = 0;
+		while (true) {
+			int segmentEnd = Math.min(segmentEnd(name, segmentStart), nameEnd);
+			if (segmentEnd == segmentStart)
+				throw new IllegalArgumentException(
+						String.format("The name %s contained an empty name.", name));
+			if (Character.isUpperCase(name.charAt(segmentStart)))
+				return max(segmentIndex - 1, 0) + 1;
+			if (segmentEnd >= nameEnd)
+				return 1;
+			segmentStart = segmentEnd + 1;
+			segmentIndex++;
+		}
+	}
+
+	// #begin NESTED CLASSES
+
+	/**
+	 * The rules defined for one dependent: a trie of their dependencies and the severity defined for all types.
+	 */
+	private static final class DependencyRules {
+
+		private final Node<Severity> dependencies = new Node<>("");
+		private Severity severityForAllDependencies;
+
+		void add(String dependencyName, Severity severity) {
+			if (dependencyName.equals(DependencyRule.ALL_TYPES_WILDCARD))
+				severityForAllDependencies = severity;
+			else
+				dependencies.getOrAddDescendant(dependencyName).value = severity;
+		}
+
+		Severity judge(String dependencyName, int minimalDependencyDepth) {
+			Severity severity = judgeForDependencies(dependencies, 0, dependencyName, 0, minimalDependencyDepth);
+			return severity == null ? severityForAllDependencies : severity;
+		}
+
+	}
+
+	/**
+	 * A node in a trie of name segments. The children are kept in an open addressing hash table so they can be looked
+	 * up by a region of a name without creating a string for it.
+	 */
+	private static final class Node<V> {
+
+		private static final int INITIAL_CAPACITY = 4;
+
+		private final String segment;
+		private Node<V>[] children;
+		private int childCount;
+		private V value;
+
+		Node(String segment) {
+			this.segment = segment;
+			this.children = newTable(INITIAL_CAPACITY);
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <V> Node<V>[] newTable(int capacity) {
+			return (Node<V>[]) new Node<?>[capacity];
+		}
+
+		Node<V> child(String name, int segmentStart, int segmentEnd) {
+			int segmentLength = segmentEnd - segmentStart;
+			int mask = children.length - 1;
+			for (int index = hash(name, segmentStart, segmentEnd) & mask; ; index = (index + 1) & mask) {
+				Node<V> child = children[index];
+				if (child == null)
+					return null;
+				if (child.segment.length() == segmentLength
+						&& child.segment.regionMatches(0, name, segmentStart, segmentLength))
+					return child;
+			}
+		}
+
+		Node<V> getOrAddDescendant(String name) {
+			Node<V> node = this;
+			for (String segment : name.split("\\."))
+				node = node.getOrAddChild(segment);
+			return node;
+		}
+
+		private Node<V> getOrAddChild(String segment) {
+			Node<V> child = child(segment, 0, segment.length());
+			if (child != null)
+				return child;
+
+			// keep the table at most half full so lookups stay short and always hit an empty slot eventually
+			if (2 * (childCount + 1) > children.length)
+				resize(2 * children.length);
+			child = new Node<>(segment);
+			insert(children, child);
+			childCount++;
+			return child;
+		}
+
+		private void resize(int capacity) {
+			Node<V>[] newChildren = newTable(capacity);
+			for (Node<V> child : children)
+				if (child != null)
+					insert(newChildren, child);
+			children = newChildren;
+		}
+
+		private static <V> void insert(Node<V>[] table, Node<V> child) {
+			int mask = table.length - 1;
+			int index = hash(child.segment, 0, child.segment.length()) & mask;
+			while (table[index] != null)
+				index = (index + 1) & mask;
+			table[index] = child;
+		}
+
+		private static int hash(String name, int start, int end) {
+			int hash = 0;
+			for (int i = start; i < end; i++)
+				hash = 31 * hash + name.charAt(i);
+			// spread the higher bits because only the lower ones are used for the index
+			return hash ^ (hash >>> 16);
+		}
+
+	}
+
+	// #end NESTED CLASSES
+
+	public static class TrieDependencyJudgeBuilder implements DependencyJudgeBuilder {
+
+		private PackageInclusion packageInclusion;
+		private Severity defaultSeverity;
+		private final Map<String, Map<String, Severity>> dependencies;
+		private boolean alreadyBuilt;
+
+		public TrieDependencyJudgeBuilder() {
+			// set default values
+			packageInclusion = PackageInclusion.FLAT;
+			defaultSeverity = Severity.FAIL;
+			dependencies = new HashMap<>();
+
+			alreadyBuilt = false;
+		}
+
+		@Override
+		public DependencyJudgeBuilder withInclusion(PackageInclusion packageInclusion) {
+			this.packageInclusion =
+					requireNonNull(packageInclusion, "The argument 'packageInclusion' must not be null.");
+			return this;
+		}
+
+		@Override
+		public DependencyJudgeBuilder withDefaultSeverity(Severity defaultSeverity) {
+			this.defaultSeverity = requireNonNull(defaultSeverity, "The argument 'defaultSeverity' must not be null.");
+			return this;
+		}
+
+		@Override
+		public DependencyJudgeBuilder addDependency(DependencyRule rule) {
+			requireNonNull(rule, "The argument 'rule' must not be null.");
+
+			Map<String, Severity> mapForDependent =
+					dependencies.computeIfAbsent(rule.getDependent(), ignored -> new HashMap<>());
+			Severity previousSeverity = mapForDependent.put(rule.getDependency(), rule.getSeverity());
+
+			if (previousSeverity != null && previousSeverity != rule.getSeverity()) {
+				String message = format(
+						"The dependency ''{0} -> {1}'' is defined with multiple severities {2} and {3}.",
+						rule.getDependent(), rule.getDependency(), previousSeverity, rule.getSeverity());
+				throw new IllegalArgumentException(message);
+			}
+
+			return this;
+		}
+
+		@Override
+		public DependencyJudge build() {
+			if (alreadyBuilt)
+				throw new IllegalStateException("A builder can only be used once.");
+			alreadyBuilt = true;
+
+			Node<DependencyRules> dependents = new Node<>("");
+			DependencyRules rulesForAllDependents = null;
+			for (Map.Entry<String, Map<String, Severity>> rulesForDependent : dependencies.entrySet()) {
+				DependencyRules rules = new DependencyRules();
+				rulesForDependent.getValue().forEach(rules::add);
+
+				if (rulesForDependent.getKey().equals(DependencyRule.ALL_TYPES_WILDCARD))
+					rulesForAllDependents = rules;
+				else
+					dependents.getOrAddDescendant(rulesForDependent.getKey()).value = rules;
+			}
+			return new TrieDependencyJudge(packageInclusion, defaultSeverity, dependents, rulesForAllDependents);
+		}
+
+	}
+
+}
@@ -0,0 +1,39 @@
+package org.codefx.mvn.jdeps.tool;
+
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Finds dependencies on JDK-internal API, e.g. by running "jdeps -jdkinternals" or by reading class files directly.
+ */
+public interface JdkInternalsScanner {
+
+	/**
+	 * Scans the specified paths for dependencies on JDK-internal API.
+	 *
+	 * @param pathsToScan
+	 * 		the folders, JARs or class files to scan; must not be empty
+	 * @param violationConsumer
+	 * 		consumer of the found violations; it is called from the calling thread only
+	 *
+	 * @throws CommandLineException
+	 * 		if scanning the paths failed
+	 */
+	void scan(Collection<Path> pathsToScan, Consumer<Violation> violationConsumer) throws CommandLineException;
+
+	/**
+	 * Determines the version of this scanner, which changes whenever the same class files might lead to different
+	 * violations (e.g. because the JDK changed).
+	 *
+	 * @return a textual representation of the version
+	 *
+	 * @throws CommandLineException
+	 * 		if determining the version failed
+	 */
+	String version() throws CommandLineException;
+
+}
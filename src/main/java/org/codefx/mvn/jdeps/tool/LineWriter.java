@@ -2,7 +2,6 @@ package org.codefx.mvn.jdeps.tool;
 
 import com.google.common.collect.ImmutableList;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -10,15 +9,21 @@ import java.nio.file.StandardOpenOption;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Writes a stream of lines to a file.
+ * <p>
+ * The lines are first rendered into memory and then written to the file at once. This way a slow file system is only
+ * accessed once per call and a stream that fails midway does not leave a partially written file behind.
  */
 public class LineWriter {
 
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
 	private final Path outputFile;
 	private final IfFileExists ifFileExists;
 	private final StaticContent staticContent;
@@ -49,31 +54,25 @@ public class LineWriter {
 	 * 		if writing fails
 	 */
 	public void write(Stream<String> lines) throws IOException {
-		try (BufferedWriter writer = openFile()) {
-			staticContent.prolog.forEach(line -> writeToFile(writer, line));
-			lines.forEachOrdered(line -> writeToFile(writer, staticContent.indent + line));
-			staticContent.epilog.forEach(line -> writeToFile(writer, line));
-		} catch (IllegalStateException ex) {
-			// 'IOException's are rethrown as 'IllegalStateExceptions'
-			if (ex.getCause() instanceof IOException)
-				throwWriteFailedException((IOException) ex.getCause());
+		byte[] content = render(lines).getBytes(UTF_8);
+		try {
+			// create a new file or append the existing file; open with write access
+			Files.write(outputFile, content, CREATE, ifFileExists.openOption(), WRITE);
 		} catch (IOException ex) {
 			throwWriteFailedException(ex);
 		}
 	}
 
-	private BufferedWriter openFile() throws IOException {
-		// create a new file or append the existing file; open with write access
-		return Files.newBufferedWriter(outputFile, CREATE, ifFileExists.openOption(), WRITE);
+	private String render(Stream<String> lines) {
+		StringBuilder content = new StringBuilder();
+		staticContent.prolog.forEach(line -> appendLine(content, "", line));
+		lines.forEachOrdered(line -> appendLine(content, staticContent.indent, line));
+		staticContent.epilog.forEach(line -> appendLine(content, "", line));
+		return content.toString();
 	}
 
-	private void writeToFile(BufferedWriter writer, String line) {
-		try {
-			writer.append(line);
-			writer.newLine();
-		} catch (IOException ex) {
-			throw new IllegalStateException(ex);
-		}
+	private static void appendLine(StringBuilder content, String indent, String line) {
+		content.append(indent).append(line).append(LINE_SEPARATOR);
 	}
 
 	private void throwWriteFailedException(IOException ex) throws IOException {
@@ -0,0 +1,271 @@
+package org.codefx.mvn.jdeps.tool;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
+
+/**
+ * Splits the scanned folders into shards of package folders and lets another scanner work on them in parallel.
+ * <p>
+ * The folders are distributed so that each shard contains roughly the same number of class files. They are passed as
+ * a whole wherever possible, so the number of paths per shard does not grow with the number of class files. Each
+ * shard is scanned by a separate call to the wrapped scanner, so if that runs jdeps, each shard gets its own jdeps
+ * invocation and output parser. The violations of all shards are collected and only handed to the consumer after all
+ * shards were scanned, so the consumer is still only called from the calling thread.
+ */
+public class ParallelJdkInternalsScanner implements JdkInternalsScanner {
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+	/**
+	 * Folders are split into more units than there are shards, so the units can be distributed evenly.
+	 */
+	private static final int UNITS_PER_SHARD = 4;
+	/**
+	 * A split folder's own class files are passed to jdeps one by one; a folder with more of them is not split.
+	 */
+	private static final int MAX_INDIVIDUAL_CLASS_FILES = 64;
+
+	private final JdkInternalsScanner scanner;
+	private final int parallelism;
+
+	/**
+	 * Creates a new parallel scanner.
+	 *
+	 * @param scanner
+	 * 		the scanner used for each shard; must be able to scan individual class files and to run concurrently
+	 * @param parallelism
+	 * 		the number of shards that are scanned at the same time; must be at least 1
+	 */
+	public ParallelJdkInternalsScanner(JdkInternalsScanner scanner, int parallelism) {
+		this.scanner = requireNonNull(scanner, "The argument 'scanner' must not be null.");
+		if (parallelism < 1)
+			throw new IllegalArgumentException("The argument 'parallelism' must be at least 1.");
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public void scan(Collection<Path> pathsToScan, Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		requireNonNull(pathsToScan, "The argument 'pathsToScan' must not be null.");
+		requireNonNull(violationConsumer, "The argument 'violationConsumer' must not be null.");
+
+		List<List<Path>> shards = createShards(pathsToScan, parallelism);
+		if (shards.size() <= 1) {
+			scanner.scan(pathsToScan, violationConsumer);
+			return;
+		}
+
+		logger().debug(format("Scanning %d shards with up to %d threads.", shards.size(), parallelism));
+		scanShards(shards).forEach(violationConsumer);
+	}
+
+	@Override
+	public String version() throws CommandLineException {
+		// splitting the scanned paths does not change the result
+		return scanner.version();
+	}
+
+	// #begin SHARDS
+
+	/**
+	 * Splits the specified paths into at most {@code shardCount} shards. Folders are split into sub-folders (which
+	 * jdeps scans recursively) and, where a folder is split, its own class files; all other paths (e.g. JARs) are not
+	 * split.
+	 */
+	static List<List<Path>> createShards(Collection<Path> pathsToScan, int shardCount) throws CommandLineException {
+		List<ShardUnit> units = new ArrayList<>();
+		for (Path path : pathsToScan)
+			if (Files.isDirectory(path))
+				units.addAll(splitFolder(path, shardCount * UNITS_PER_SHARD));
+			else
+				units.add(new ShardUnit(ImmutableList.of(path), 1));
+
+		List<ShardUnit> shards = new ArrayList<>();
+		for (int shard = 0; shard < Math.min(shardCount, units.size()); shard++)
+			shards.add(new ShardUnit(new ArrayList<>(), 0));
+		// put the largest units first, always into the smallest shard, which keeps the shards balanced
+		units.stream()
+				.sorted(Comparator.comparing(ShardUnit::classFileCount).reversed())
+				.forEachOrdered(unit -> shards.stream()
+						.min(Comparator.comparing(ShardUnit::classFileCount))
+						.ifPresent(smallestShard -> smallestShard.add(unit)));
+		return shards.stream()
+				.map(ShardUnit::paths)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Splits the largest sub-folders of the specified folder until there are about {@code targetUnitCount} units.
+	 * <p>
+	 * A split folder's own class files must be scanned individually, so folders with many of them are not split; this
+	 * bounds the number of arguments passed to each jdeps invocation.
+	 */
+	private static List<ShardUnit> splitFolder(Path folder, int targetUnitCount) throws CommandLineException {
+		ClassFileTree tree = ClassFileTree.of(folder);
+		if (tree.classFileCount(folder) == 0)
+			return ImmutableList.of();
+
+		List<ShardUnit> units = new ArrayList<>();
+		Queue<Path> largestFoldersFirst = new PriorityQueue<>(
+				Comparator.comparing(tree::classFileCount).reversed().thenComparing(Comparator.naturalOrder()));
+		largestFoldersFirst.add(folder);
+		while (!largestFoldersFirst.isEmpty()) {
+			boolean targetReached = units.size() + largestFoldersFirst.size() >= targetUnitCount;
+			Path largestFolder = largestFoldersFirst.poll();
+			List<Path> subFolders = tree.subFolders(largestFolder);
+			List<Path> ownClassFiles = tree.ownClassFiles(largestFolder);
+			boolean split = !targetReached
+					&& !subFolders.isEmpty()
+					&& ownClassFiles.size() <= MAX_INDIVIDUAL_CLASS_FILES;
+			if (split) {
+				largestFoldersFirst.addAll(subFolders);
+				if (!ownClassFiles.isEmpty())
+					units.add(new ShardUnit(ownClassFiles, ownClassFiles.size()));
+			} else
+				units.add(new ShardUnit(ImmutableList.of(largestFolder), tree.classFileCount(largestFolder)));
+		}
+		return units;
+	}
+
+	/**
+	 * Paths that are scanned together and the number of class files in them.
+	 */
+	private static class ShardUnit {
+
+		private final List<Path> paths;
+		private int classFileCount;
+
+		ShardUnit(List<Path> paths, int classFileCount) {
+			this.paths = paths;
+			this.classFileCount = classFileCount;
+		}
+
+		List<Path> paths() {
+			return paths;
+		}
+
+		int classFileCount() {
+			return classFileCount;
+		}
+
+		void add(ShardUnit unit) {
+			paths.addAll(unit.paths);
+			classFileCount += unit.classFileCount;
+		}
+
+	}
+
+	/**
+	 * The folders of a folder tree that contain class files (directly or in sub-folders).
+	 */
+	private static class ClassFileTree {
+
+		private final Map<Path, Integer> classFileCounts = new HashMap<>();
+		private final Map<Path, List<Path>> ownClassFiles = new HashMap<>();
+		private final Map<Path, List<Path>> subFolders = new HashMap<>();
+
+		static ClassFileTree of(Path root) throws CommandLineException {
+			ClassFileTree tree = new ClassFileTree();
+			try (Stream<Path> files = Files.walk(root)) {
+				files
+						.filter(Files::isRegularFile)
+						.filter(file -> file.getFileName().toString().endsWith(CLASS_FILE_EXTENSION))
+						.sorted()
+						.forEachOrdered(classFile -> tree.add(root, classFile));
+			} catch (IOException ex) {
+				throw new CommandLineException(format("Splitting '%s' into shards failed.", root), ex);
+			}
+			return tree;
+		}
+
+		private void add(Path root, Path classFile) {
+			Path folder = classFile.getParent();
+			ownClassFiles.computeIfAbsent(folder, f -> new ArrayList<>()).add(classFile);
+			classFileCounts.merge(root, 1, Integer::sum);
+			for (Path ancestor = folder; !ancestor.equals(root); ancestor = ancestor.getParent()) {
+				Integer count = classFileCounts.merge(ancestor, 1, Integer::sum);
+				// the folder is new, so it is a new sub-folder of its parent
+				if (count == 1)
+					subFolders.computeIfAbsent(ancestor.getParent(), f -> new ArrayList<>()).add(ancestor);
+			}
+		}
+
+		int classFileCount(Path folder) {
+			return classFileCounts.getOrDefault(folder, 0);
+		}
+
+		List<Path> ownClassFiles(Path folder) {
+			return ownClassFiles.getOrDefault(folder, ImmutableList.of());
+		}
+
+		List<Path> subFolders(Path folder) {
+			return subFolders.getOrDefault(folder, ImmutableList.of());
+		}
+
+	}
+
+	// #end SHARDS
+
+	// #begin SCAN SHARDS
+
+	private List<Violation> scanShards(List<List<Path>> shards) throws CommandLineException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, shards.size()));
+		try {
+			List<Future<List<Violation>>> scannedShards = new ArrayList<>();
+			for (List<Path> shard : shards)
+				scannedShards.add(executor.submit(() -> scanShard(shard)));
+
+			List<Violation> violations = new ArrayList<>();
+			for (Future<List<Violation>> scannedShard : scannedShards)
+				violations.addAll(awaitShard(scannedShard));
+			return violations;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<Violation> scanShard(List<Path> shard) throws CommandLineException {
+		List<Violation> violations = new ArrayList<>();
+		scanner.scan(shard, violations::add);
+		return violations;
+	}
+
+	private static List<Violation> awaitShard(Future<List<Violation>> scannedShard) throws CommandLineException {
+		try {
+			return scannedShard.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CommandLineException("Interrupted while waiting for a shard to be scanned.", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof CommandLineException)
+				throw (CommandLineException) ex.getCause();
+			throw new CommandLineException("Scanning a shard failed.", ex.getCause());
+		}
+	}
+
+	// #end SCAN SHARDS
+
+}
@@ -0,0 +1,245 @@
+package org.codefx.mvn.jdeps.tool.classfile;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The types a class file references, as found in its constant pool and in the descriptors of its members.
+ * <p>
+ * This covers all types jdeps reports: those referenced as classes (e.g. by {@code new}, casts or the super class)
+ * and those which only appear in field and method descriptors (e.g. parameter types of invoked methods).
+ */
+final class ClassFileDependencies {
+
+	static final int MAGIC = 0xCAFEBABE;
+
+	// #begin CONSTANT POOL TAGS
+
+	static final int CONSTANT_UTF8 = 1;
+	static final int CONSTANT_INTEGER = 3;
+	static final int CONSTANT_FLOAT = 4;
+	static final int CONSTANT_LONG = 5;
+	static final int CONSTANT_DOUBLE = 6;
+	static final int CONSTANT_CLASS = 7;
+	static final int CONSTANT_STRING = 8;
+	static final int CONSTANT_FIELD_REF = 9;
+	static final int CONSTANT_METHOD_REF = 10;
+	static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+	static final int CONSTANT_NAME_AND_TYPE = 12;
+	static final int CONSTANT_METHOD_HANDLE = 15;
+	static final int CONSTANT_METHOD_TYPE = 16;
+	static final int CONSTANT_DYNAMIC = 17;
+	static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	static final int CONSTANT_MODULE = 19;
+	static final int CONSTANT_PACKAGE = 20;
+
+	// #end CONSTANT POOL TAGS
+
+	private final String className;
+	private final ImmutableSet<String> referencedClassNames;
+
+	private ClassFileDependencies(String className, ImmutableSet<String> referencedClassNames) {
+		this.className = className;
+		this.referencedClassNames = referencedClassNames;
+	}
+
+	/**
+	 * Reads the specified class file.
+	 *
+	 * @param classFile
+	 * 		the stream of the class file's bytes; it is not closed
+	 *
+	 * @return the dependencies of the class file
+	 *
+	 * @throws IOException
+	 * 		if reading the stream fails or it does not contain a valid class file
+	 */
+	public static ClassFileDependencies read(InputStream classFile) throws IOException {
+		requireNonNull(classFile, "The argument 'classFile' must not be null.");
+		return new Reader(new DataInputStream(classFile)).read();
+	}
+
+	/**
+	 * @return the fully qualified name (dotted) of the class defined by the class file
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the fully qualified names (dotted) of the classes referenced by the class file, excluding its own
+	 */
+	public ImmutableSet<String> getReferencedClassNames() {
+		return referencedClassNames;
+	}
+
+	// #begin READER
+
+	private static final class Reader {
+
+		private final DataInputStream classFile;
+
+		private String[] utf8Entries;
+		private int[] classEntries;
+		private final Set<Integer> descriptorIndices = new HashSet<>();
+		private final Set<String> referencedClassNames = new HashSet<>();
+
+		Reader(DataInputStream classFile) {
+			this.classFile = classFile;
+		}
+
+		ClassFileDependencies read() throws IOException {
+			if (classFile.readInt() != MAGIC)
+				throw new IOException("The stream does not contain a class file.");
+			// minor and major version
+			classFile.readUnsignedShort();
+			classFile.readUnsignedShort();
+
+			readConstantPool();
+
+			// access flags
+			classFile.readUnsignedShort();
+			int thisClass = classFile.readUnsignedShort();
+			if (thisClass >= classEntries.length)
+				throw new IOException(format("The class file's constant pool contains no index %d.", thisClass));
+			String className = utf8(classEntries[thisClass]);
+			// super class and interfaces are class entries, which are all evaluated below
+			classFile.readUnsignedShort();
+			skip(2 * classFile.readUnsignedShort());
+			readMembers();
+			readMembers();
+
+			for (int classEntry : classEntries)
+				if (classEntry != 0)
+					addClassEntry(utf8(classEntry));
+			for (int descriptorIndex : descriptorIndices)
+				addDescriptor(utf8(descriptorIndex));
+
+			referencedClassNames.remove(className);
+			ImmutableSet.Builder<String> dottedReferencedClassNames = ImmutableSet.builder();
+			referencedClassNames.forEach(name -> dottedReferencedClassNames.add(toDotted(name)));
+			return new ClassFileDependencies(toDotted(className), dottedReferencedClassNames.build());
+		}
+
+		private void readConstantPool() throws IOException {
+			int constantPoolCount = classFile.readUnsignedShort();
+			utf8Entries = new String[constantPoolCount];
+			classEntries = new int[constantPoolCount];
+
+			for (int index = 1; index < constantPoolCount; index++) {
+				int tag = classFile.readUnsignedByte();
+				switch (tag) {
+					case CONSTANT_UTF8:
+						utf8Entries[index] = classFile.readUTF();
+						break;
+					case CONSTANT_CLASS:
+						classEntries[index] = classFile.readUnsignedShort();
+						break;
+					case CONSTANT_NAME_AND_TYPE:
+						// name
+						classFile.readUnsignedShort();
+						descriptorIndices.add(classFile.readUnsignedShort());
+						break;
+					case CONSTANT_METHOD_TYPE:
+						descriptorIndices.add(classFile.readUnsignedShort());
+						break;
+					case CONSTANT_STRING:
+					case CONSTANT_MODULE:
+					case CONSTANT_PACKAGE:
+						skip(2);
+						break;
+					case CONSTANT_METHOD_HANDLE:
+						skip(3);
+						break;
+					case CONSTANT_INTEGER:
+					case CONSTANT_FLOAT:
+					case CONSTANT_FIELD_REF:
+					case CONSTANT_METHOD_REF:
+					case CONSTANT_INTERFACE_METHOD_REF:
+					case CONSTANT_DYNAMIC:
+					case CONSTANT_INVOKE_DYNAMIC:
+						skip(4);
+						break;
+					case CONSTANT_LONG:
+					case CONSTANT_DOUBLE:
+						skip(8);
+						// eight byte constants take up two entries
+						index++;
+						break;
+					default:
+						throw new IOException(format("Unknown constant pool tag %d at index %d.", tag, index));
+				}
+			}
+		}
+
+		private void readMembers() throws IOException {
+			int memberCount = classFile.readUnsignedShort();
+			for (int member = 0; member < memberCount; member++) {
+				// access flags and name
+				skip(4);
+				descriptorIndices.add(classFile.readUnsignedShort());
+				skipAttributes();
+			}
+		}
+
+		private void skipAttributes() throws IOException {
+			int attributeCount = classFile.readUnsignedShort();
+			for (int attribute = 0; attribute < attributeCount; attribute++) {
+				// name
+				skip(2);
+				skip(classFile.readInt() & 0xFFFFFFFFL);
+			}
+		}
+
+		private void skip(long byteCount) throws IOException {
+			long remaining = byteCount;
+			while (remaining > 0) {
+				int skipped = classFile.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+				if (skipped <= 0)
+					throw new IOException("The class file ended unexpectedly.");
+				remaining -= skipped;
+			}
+		}
+
+		private String utf8(int index) throws IOException {
+			if (index <= 0 || index >= utf8Entries.length || utf8Entries[index] == null)
+				throw new IOException(format("The constant pool index %d references no UTF-8 entry.", index));
+			return utf8Entries[index];
+		}
+
+		private void addClassEntry(String classEntry) {
+			// class entries of array types contain a descriptor, e.g. "[Ljava/lang/String;"
+			if (classEntry.startsWith("["))
+				addDescriptor(classEntry);
+			else
+				referencedClassNames.add(classEntry);
+		}
+
+		private void addDescriptor(String descriptor) {
+			int typeStart = descriptor.indexOf('L');
+			while (typeStart != -1) {
+				int typeEnd = descriptor.indexOf(';', typeStart);
+				if (typeEnd == -1)
+					return;
+				referencedClassNames.add(descriptor.substring(typeStart + 1, typeEnd));
+				typeStart = descriptor.indexOf('L', typeEnd);
+			}
+		}
+
+		private static String toDotted(String internalName) {
+			return internalName.replace('/', '.');
+		}
+
+	}
+
+	// #end READER
+
+}
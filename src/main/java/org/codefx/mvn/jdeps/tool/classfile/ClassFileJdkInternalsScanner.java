@@ -0,0 +1,180 @@
+package org.codefx.mvn.jdeps.tool.classfile;
+
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.tool.JdkInternalsScanner;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
+
+/**
+ * Scans for JDK-internal dependencies by reading class files directly instead of running jdeps.
+ * <p>
+ * Each class file's constant pool and member descriptors are searched for types in
+ * {@link JdkInternalPackages internal packages} of the running JDK. Because no process has to be started and no output
+ * has to be parsed, this is considerably faster than running jdeps. The class files are read in parallel.
+ * <p>
+ * Unlike jdeps, this scanner does not check whether a referenced type actually exists in the JDK, only whether its
+ * package is internal.
+ */
+public class ClassFileJdkInternalsScanner implements JdkInternalsScanner {
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+	private static final String JAR_FILE_EXTENSION = ".jar";
+
+	private final JdkInternalPackages internalPackages;
+
+	/**
+	 * Creates a new scanner which looks for dependencies on the internal API of the running JDK.
+	 */
+	public ClassFileJdkInternalsScanner() {
+		this(JdkInternalPackages.ofRunningJdk());
+	}
+
+	ClassFileJdkInternalsScanner(JdkInternalPackages internalPackages) {
+		this.internalPackages = requireNonNull(internalPackages, "The argument 'internalPackages' must not be null.");
+	}
+
+	@Override
+	public void scan(Collection<Path> pathsToScan, Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		requireNonNull(pathsToScan, "The argument 'pathsToScan' must not be null.");
+		requireNonNull(violationConsumer, "The argument 'violationConsumer' must not be null.");
+		if (pathsToScan.isEmpty())
+			throw new IllegalArgumentException("The argument 'pathsToScan' must not be empty.");
+
+		try {
+			// the consumer is not necessarily thread-safe, so only the class files are read in parallel
+			List<Violation> violations = new ArrayList<>();
+			for (Path path : pathsToScan)
+				violations.addAll(scanPath(path));
+			violations.forEach(violationConsumer);
+		} catch (IOException ex) {
+			throw new CommandLineException("Reading the class files failed.", ex);
+		} catch (UncheckedIOException ex) {
+			throw new CommandLineException("Reading the class files failed.", ex.getCause());
+		}
+	}
+
+	@Override
+	public String version() {
+		// the internal packages are determined by the running JDK
+		return "class file scanner; " + System.getProperty("java.runtime.version");
+	}
+
+	// #begin FIND CLASS FILES
+
+	private List<Violation> scanPath(Path path) throws IOException {
+		if (Files.isDirectory(path))
+			try (Stream<Path> files = Files.walk(path)) {
+				return scanClassFiles(path, files
+						.filter(Files::isRegularFile)
+						.filter(file -> file.getFileName().toString().endsWith(CLASS_FILE_EXTENSION))
+						.sorted()
+						.map(ClassFileJdkInternalsScanner::fromFile)
+						.collect(Collectors.toList()));
+			}
+		if (path.getFileName().toString().endsWith(JAR_FILE_EXTENSION))
+			return scanJar(path);
+		if (Files.isRegularFile(path))
+			return scanClassFiles(path, Collections.singletonList(fromFile(path)));
+		throw new IOException(format("The path '%s' is neither a folder, nor a JAR nor a class file.", path));
+	}
+
+	private static ClassFile fromFile(Path file) {
+		return () -> Files.newInputStream(file);
+	}
+
+	private List<Violation> scanJar(Path jar) throws IOException {
+		// the entries are streamed from the JAR, so it must stay open until all of them were scanned
+		try (ZipFile jarFile = new ZipFile(jar.toFile())) {
+			List<ClassFile> classFiles = jarFile.stream()
+					.filter(entry -> !entry.isDirectory() && entry.getName().endsWith(CLASS_FILE_EXTENSION))
+					.map(entry -> (ClassFile) () -> jarFile.getInputStream(entry))
+					.collect(Collectors.toList());
+			return scanClassFiles(jar, classFiles);
+		}
+	}
+
+	// #end FIND CLASS FILES
+
+	// #begin SCAN CLASS FILE
+
+	private List<Violation> scanClassFiles(Path path, List<ClassFile> classFiles) {
+		logger().debug(format(
+				"Reading %d class files in '%s' to find JDK-internal dependencies.", classFiles.size(), path));
+		return classFiles.parallelStream()
+				.map(this::scanClassFile)
+				.filter(Optional::isPresent)
+				.map(Optional::get)
+				.collect(Collectors.toList());
+	}
+
+	private Optional<Violation> scanClassFile(ClassFile classFile) {
+		ClassFileDependencies dependencies;
+		try (InputStream classFileStream = classFile.open()) {
+			dependencies = ClassFileDependencies.read(classFileStream);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+
+		if (isInUnnamedPackage(dependencies.getClassName()))
+			// jdeps 8 does not report these and 'Type' can not represent them
+			return Optional.empty();
+
+		List<InternalType> internalDependencies = dependencies.getReferencedClassNames().stream()
+				.map(this::toInternalType)
+				.filter(Optional::isPresent)
+				.map(Optional::get)
+				.collect(Collectors.toList());
+		if (internalDependencies.isEmpty())
+			return Optional.empty();
+
+		return Optional.of(Violation.buildFor(Type.of(dependencies.getClassName()), internalDependencies));
+	}
+
+	private static boolean isInUnnamedPackage(String className) {
+		return className.indexOf('.') == -1;
+	}
+
+	private Optional<InternalType> toInternalType(String className) {
+		if (isInUnnamedPackage(className))
+			return Optional.empty();
+
+		// the shared types are looked up by their qualified name, so the split names are not used to create them
+		return internalPackages
+				.getSource(Type.of(className).getPackageName())
+				.map(source -> InternalType.of(className, JdkInternalPackages.CATEGORY, source));
+	}
+
+	// #end SCAN CLASS FILE
+
+	/**
+	 * The content of a class file, which can be read more than once.
+	 */
+	@FunctionalInterface
+	private interface ClassFile {
+
+		InputStream open() throws IOException;
+
+	}
+
+}
@@ -0,0 +1,219 @@
+package org.codefx.mvn.jdeps.tool.classfile;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Objects.requireNonNull;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_CLASS;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_DOUBLE;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_DYNAMIC;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_FIELD_REF;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_FLOAT;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_INTEGER;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_INTERFACE_METHOD_REF;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_INVOKE_DYNAMIC;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_LONG;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_METHOD_HANDLE;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_METHOD_REF;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_METHOD_TYPE;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_MODULE;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_NAME_AND_TYPE;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_PACKAGE;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_STRING;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.CONSTANT_UTF8;
+import static org.codefx.mvn.jdeps.tool.classfile.ClassFileDependencies.MAGIC;
+
+/**
+ * Searches the UTF-8 entries of a class file's constant pool for names of types in packages that might be
+ * JDK-internal.
+ * <p>
+ * The search works on the raw bytes and neither decodes strings nor builds the class file's dependencies, so it is much
+ * cheaper than {@link ClassFileDependencies}. It only gives a hint, though: it finds all class files that reference
+ * internal types but also some that do not (e.g. because they only use supported API in "jdk/" packages or contain
+ * such a string constant).
+ */
+final class ConstantPoolSearch {
+
+	/**
+	 * Prefixes of the internal names of all packages that are internal in Java 8 (see {@link JdkInternalPackages}) or
+	 * not exported by the system modules of later Java versions. A prefix which is too broad only lets more class files
+	 * through the search.
+	 */
+	private static final ImmutableList<String> INTERNAL_PACKAGE_PREFIXES = ImmutableList.of(
+			"sun/", "com/sun/", "com/oracle/", "jdk/", "apple/",
+			"java/awt/peer/", "java/awt/dnd/peer/", "org/jcp/xml/dsig/internal/");
+
+	private static final byte[][] PREFIXES = INTERNAL_PACKAGE_PREFIXES.stream()
+			.map(prefix -> prefix.getBytes(US_ASCII))
+			.toArray(byte[][]::new);
+
+	// in descriptors and signatures, each type name starts after an 'L', e.g. "(Lsun/misc/Unsafe;)V"
+	private static final byte TYPE_NAME_START = 'L';
+
+	/**
+	 * The size of the buffers class files are read into. Almost all class files are smaller; larger ones are read into
+	 * a buffer of their own, so no thread holds on to a large buffer.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * One buffer per thread because the class files of a folder are searched in parallel.
+	 */
+	private static final ThreadLocal<ByteBuffer> BUFFERS =
+			ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
+	private ConstantPoolSearch() {
+		// no instances of this class
+	}
+
+	/**
+	 * Reads the specified class file into a heap buffer and searches its constant pool.
+	 * <p>
+	 * The file is not memory-mapped: class files are small, so mapping them costs more than reading them, and a mapping
+	 * stays alive until it is garbage collected, which keeps the file locked on Windows.
+	 *
+	 * @param classFile
+	 * 		the path to a class file
+	 *
+	 * @return whether the class file might reference a JDK-internal type
+	 *
+	 * @throws IOException
+	 * 		if reading the file fails or it does not contain a valid class file
+	 */
+	public static boolean mightReferenceInternalType(Path classFile) throws IOException {
+		requireNonNull(classFile, "The argument 'classFile' must not be null.");
+		try (FileChannel channel = FileChannel.open(classFile, StandardOpenOption.READ)) {
+			return mightReferenceInternalType(read(channel));
+		}
+	}
+
+	private static ByteBuffer read(FileChannel channel) throws IOException {
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE)
+			throw new IOException(format("The file is too large (%d bytes) to be a class file.", size));
+
+		ByteBuffer buffer = size <= BUFFER_SIZE ? BUFFERS.get() : ByteBuffer.allocate((int) size);
+		buffer.clear();
+		buffer.limit((int) size);
+		while (buffer.hasRemaining())
+			// the file might have shrunk since its size was determined
+			if (channel.read(buffer) < 0)
+				break;
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Searches the constant pool of the class file in the specified buffer.
+	 *
+	 * @param classFile
+	 * 		the bytes of a class file, starting at the buffer's position
+	 *
+	 * @return whether the class file might reference a JDK-internal type
+	 *
+	 * @throws IOException
+	 * 		if the bytes are no valid class file
+	 */
+	static boolean mightReferenceInternalType(ByteBuffer classFile) throws IOException {
+		try {
+			return searchConstantPool(classFile);
+		} catch (BufferUnderflowException | IllegalArgumentException ex) {
+			// 'position' throws an 'IllegalArgumentException' if an entry's length points beyond the buffer
+			throw new IOException("The class file ended unexpectedly.", ex);
+		}
+	}
+
+	private static boolean searchConstantPool(ByteBuffer classFile) throws IOException {
+		if (classFile.getInt() != MAGIC)
+			throw new IOException("The buffer does not contain a class file.");
+		// minor and major version
+		skip(classFile, 4);
+
+		int constantPoolCount = classFile.getShort() & 0xFFFF;
+		for (int index = 1; index < constantPoolCount; index++) {
+			int tag = classFile.get() & 0xFF;
+			switch (tag) {
+				case CONSTANT_UTF8:
+					int length = classFile.getShort() & 0xFFFF;
+					if (containsInternalName(classFile, classFile.position(), length))
+						return true;
+					skip(classFile, length);
+					break;
+				case CONSTANT_CLASS:
+				case CONSTANT_STRING:
+				case CONSTANT_METHOD_TYPE:
+				case CONSTANT_MODULE:
+				case CONSTANT_PACKAGE:
+					skip(classFile, 2);
+					break;
+				case CONSTANT_METHOD_HANDLE:
+					skip(classFile, 3);
+					break;
+				case CONSTANT_INTEGER:
+				case CONSTANT_FLOAT:
+				case CONSTANT_FIELD_REF:
+				case CONSTANT_METHOD_REF:
+				case CONSTANT_INTERFACE_METHOD_REF:
+				case CONSTANT_NAME_AND_TYPE:
+				case CONSTANT_DYNAMIC:
+				case CONSTANT_INVOKE_DYNAMIC:
+					skip(classFile, 4);
+					break;
+				case CONSTANT_LONG:
+				case CONSTANT_DOUBLE:
+					skip(classFile, 8);
+					// eight byte constants take up two entries
+					index++;
+					break;
+				default:
+					throw new IOException(format("Unknown constant pool tag %d at index %d.", tag, index));
+			}
+		}
+		return false;
+	}
+
+	private static void skip(ByteBuffer buffer, int byteCount) {
+		buffer.position(buffer.position() + byteCount);
+	}
+
+	/**
+	 * A type name is either the entire entry (class entries) or follows an 'L' (descriptors and signatures); the
+	 * prefixes are ASCII, which (modified) UTF-8 encodes as is, so the raw bytes can be compared.
+	 */
+	private static boolean containsInternalName(ByteBuffer bytes, int start, int length) {
+		int end = start + length;
+		if (end > bytes.limit())
+			throw new BufferUnderflowException();
+
+		for (int position = start; position < end; position++)
+			if ((position == start || bytes.get(position - 1) == TYPE_NAME_START)
+					&& startsWithInternalPrefix(bytes, position, end))
+				return true;
+		return false;
+	}
+
+	private static boolean startsWithInternalPrefix(ByteBuffer bytes, int start, int end) {
+		for (byte[] prefix : PREFIXES)
+			if (startsWith(bytes, start, end, prefix))
+				return true;
+		return false;
+	}
+
+	private static boolean startsWith(ByteBuffer bytes, int start, int end, byte[] prefix) {
+		if (end - start < prefix.length)
+			return false;
+		for (int i = 0; i < prefix.length; i++)
+			if (bytes.get(start + i) != prefix[i])
+				return false;
+		return true;
+	}
+
+}
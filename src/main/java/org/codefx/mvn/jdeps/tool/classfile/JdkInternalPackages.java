@@ -0,0 +1,130 @@
+package org.codefx.mvn.jdeps.tool.classfile;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
+
+/**
+ * Knows which packages of the running JDK are internal, i.e. not part of its supported API.
+ * <p>
+ * On Java 9 and later, this information is taken from the descriptors of the JDK's system modules: a package is
+ * internal if its module does not export it unconditionally. Like jdeps, the packages of {@code jdk.unsupported}
+ * (e.g. {@code sun.misc}) are considered internal as well. The system modules are accessed reflectively because this
+ * plugin is compiled against Java 8.
+ * <p>
+ * Java 8 has no such descriptors, so a list of package prefixes is used instead, which mirrors what jdeps 8 considers
+ * internal. The list is also used (with a warning) if the descriptors can not be read.
+ */
+final class JdkInternalPackages {
+
+	/**
+	 * The category jdeps reports for internal types.
+	 */
+	public static final String CATEGORY = "JDK internal API";
+
+	private static final String UNSUPPORTED_MODULE = "jdk.unsupported";
+
+	private static final String JAVA_8_SOURCE = "rt.jar";
+	private static final ImmutableList<String> JAVA_8_INTERNAL_PREFIXES = ImmutableList.of(
+			"sun.", "com.sun.", "com.oracle.", "jdk.internal.");
+	private static final ImmutableList<String> JAVA_8_SUPPORTED_PREFIXES = ImmutableList.of(
+			"com.sun.jarsigner.", "com.sun.javadoc.", "com.sun.jdi.", "com.sun.management.",
+			"com.sun.net.httpserver.", "com.sun.nio.sctp.", "com.sun.security.auth.", "com.sun.security.jgss.",
+			"com.sun.source.", "com.sun.tools.attach.", "com.sun.tools.doclets.", "com.sun.tools.javac.",
+			"com.sun.tools.jconsole.");
+
+	private static final JdkInternalPackages OF_RUNNING_JDK = new JdkInternalPackages(readSystemModules());
+
+	/**
+	 * Maps each internal package to the module containing it; empty if the JDK has no modules.
+	 */
+	private final Optional<ImmutableMap<String, String>> modulesOfInternalPackages;
+
+	private JdkInternalPackages(Optional<ImmutableMap<String, String>> modulesOfInternalPackages) {
+		this.modulesOfInternalPackages = requireNonNull(
+				modulesOfInternalPackages, "The argument 'modulesOfInternalPackages' must not be null.");
+	}
+
+	/**
+	 * @return the internal packages of the JDK which runs this code
+	 */
+	public static JdkInternalPackages ofRunningJdk() {
+		return OF_RUNNING_JDK;
+	}
+
+	/**
+	 * Determines whether the specified package is internal and, if so, where it comes from.
+	 *
+	 * @param packageName
+	 * 		the dotted name of a package
+	 *
+	 * @return the source (e.g. "rt.jar" or "java.base") of the package if it is internal; otherwise an empty
+	 * {@code Optional}
+	 */
+	public Optional<String> getSource(String packageName) {
+		requireNonNull(packageName, "The argument 'packageName' must not be null.");
+		if (modulesOfInternalPackages.isPresent())
+			return Optional.ofNullable(modulesOfInternalPackages.get().get(packageName));
+		else
+			return isJava8InternalPackage(packageName) ? Optional.of(JAVA_8_SOURCE) : Optional.empty();
+	}
+
+	private static boolean isJava8InternalPackage(String packageName) {
+		String prefixablePackageName = packageName + ".";
+		return JAVA_8_INTERNAL_PREFIXES.stream().anyMatch(prefixablePackageName::startsWith)
+				&& JAVA_8_SUPPORTED_PREFIXES.stream().noneMatch(prefixablePackageName::startsWith);
+	}
+
+	// #begin SYSTEM MODULES
+
+	private static Optional<ImmutableMap<String, String>> readSystemModules() {
+		try {
+			Class<?> moduleFinder = Class.forName("java.lang.module.ModuleFinder");
+			Class<?> moduleReference = Class.forName("java.lang.module.ModuleReference");
+			Class<?> moduleDescriptor = Class.forName("java.lang.module.ModuleDescriptor");
+			Class<?> exports = Class.forName("java.lang.module.ModuleDescriptor$Exports");
+			Method getDescriptor = moduleReference.getMethod("descriptor");
+			Method getName = moduleDescriptor.getMethod("name");
+			Method getPackages = moduleDescriptor.getMethod("packages");
+			Method getExports = moduleDescriptor.getMethod("exports");
+			Method isQualified = exports.getMethod("isQualified");
+			Method getSource = exports.getMethod("source");
+
+			Object systemModules = moduleFinder.getMethod("ofSystem").invoke(null);
+			Collection<?> references = (Collection<?>) moduleFinder.getMethod("findAll").invoke(systemModules);
+
+			ImmutableMap.Builder<String, String> modulesOfInternalPackages = ImmutableMap.builder();
+			for (Object reference : references) {
+				Object descriptor = getDescriptor.invoke(reference);
+				String moduleName = (String) getName.invoke(descriptor);
+				Set<String> internalPackages = new HashSet<>();
+				for (Object packageName : (Collection<?>) getPackages.invoke(descriptor))
+					internalPackages.add((String) packageName);
+				if (!moduleName.equals(UNSUPPORTED_MODULE))
+					for (Object export : (Collection<?>) getExports.invoke(descriptor))
+						if (!(Boolean) isQualified.invoke(export))
+							internalPackages.remove((String) getSource.invoke(export));
+				internalPackages.forEach(packageName -> modulesOfInternalPackages.put(packageName, moduleName));
+			}
+			return Optional.of(modulesOfInternalPackages.build());
+		} catch (ClassNotFoundException ex) {
+			// the running JVM predates Java 9 and has no modules
+			return Optional.empty();
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			logger().warn("Reading the JDK's system modules failed, so Java 8's internal packages are used instead. "
+					+ "Dependencies on packages that are internal only in later Java versions are not found.", ex);
+			return Optional.empty();
+		}
+	}
+
+	// #end SYSTEM MODULES
+
+}
@@ -0,0 +1,146 @@
+package org.codefx.mvn.jdeps.tool.classfile;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.tool.JdkInternalsScanner;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.codefx.mvn.jdeps.mojo.MojoLogging.logger;
+
+/**
+ * Searches the constant pools of the scanned class files for names in internal packages and lets another scanner
+ * work only on those class files which might reference JDK-internal API.
+ * <p>
+ * Most projects do not depend on internal API, so for them this replaces a jdeps run with a quick look at the class
+ * files. The {@link ConstantPoolSearch search} finds all class files which reference internal types, so the wrapped
+ * scanner finds the same violations as it would without the filter. Other paths (e.g. JARs) and folders in which too
+ * many class files might reference internal types are passed through unchanged. If no path is left, the wrapped
+ * scanner is not called at all.
+ */
+public class PrefilteringJdkInternalsScanner implements JdkInternalsScanner {
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+	private static final int MAX_CANDIDATE_CLASS_FILES = 256;
+
+	private final JdkInternalsScanner scanner;
+
+	/**
+	 * Creates a new prefiltering scanner.
+	 *
+	 * @param scanner
+	 * 		the scanner used for the class files which might reference internal types; must be able to scan individual
+	 * 		class files
+	 */
+	public PrefilteringJdkInternalsScanner(JdkInternalsScanner scanner) {
+		this.scanner = requireNonNull(scanner, "The argument 'scanner' must not be null.");
+	}
+
+	@Override
+	public void scan(Collection<Path> pathsToScan, Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		requireNonNull(pathsToScan, "The argument 'pathsToScan' must not be null.");
+		requireNonNull(violationConsumer, "The argument 'violationConsumer' must not be null.");
+		if (pathsToScan.isEmpty())
+			throw new IllegalArgumentException("The argument 'pathsToScan' must not be empty.");
+
+		List<Path> candidates = findCandidates(pathsToScan);
+		if (candidates.isEmpty()) {
+			logger().debug("No class file references a JDK-internal package; there is nothing to scan.");
+			return;
+		}
+		scanner.scan(candidates, violationConsumer);
+	}
+
+	@Override
+	public String version() throws CommandLineException {
+		// filtering the scanned paths does not change the result
+		return scanner.version();
+	}
+
+	// #begin FIND CANDIDATES
+
+	/**
+	 * Replaces the folders and class files among the specified paths with the class files which might reference
+	 * internal types.
+	 * <p>
+	 * The candidates are passed to the wrapped scanner one by one, so a folder with more than
+	 * {@value #MAX_CANDIDATE_CLASS_FILES} of them is passed unchanged instead; this bounds the number of arguments
+	 * passed to jdeps.
+	 */
+	static List<Path> findCandidates(Collection<Path> pathsToScan) throws CommandLineException {
+		List<Path> classFiles = new ArrayList<>();
+		List<Path> candidates = new ArrayList<>();
+		for (Path path : pathsToScan)
+			if (Files.isDirectory(path))
+				candidates.addAll(findCandidatesInFolder(path));
+			else if (isClassFile(path))
+				classFiles.add(path);
+			else
+				candidates.add(path);
+		candidates.addAll(filterCandidates(classFiles));
+		return candidates;
+	}
+
+	private static List<Path> findCandidatesInFolder(Path folder) throws CommandLineException {
+		List<Path> classFiles = findClassFiles(folder);
+		List<Path> candidates = filterCandidates(classFiles);
+		if (candidates.size() > MAX_CANDIDATE_CLASS_FILES) {
+			logger().debug(format("%d of %d class files in '%s' might reference JDK-internal packages; "
+					+ "the entire folder is scanned.", candidates.size(), classFiles.size(), folder));
+			return ImmutableList.of(folder);
+		}
+		logger().debug(format("%d of %d class files in '%s' might reference JDK-internal packages.",
+				candidates.size(), classFiles.size(), folder));
+		return candidates;
+	}
+
+	private static List<Path> filterCandidates(List<Path> classFiles) throws CommandLineException {
+		try {
+			return classFiles.parallelStream()
+					.filter(PrefilteringJdkInternalsScanner::mightReferenceInternalType)
+					.collect(Collectors.toList());
+		} catch (UncheckedIOException ex) {
+			throw new CommandLineException("Searching the class files for internal packages failed.", ex.getCause());
+		}
+	}
+
+	private static List<Path> findClassFiles(Path folder) throws CommandLineException {
+		try (Stream<Path> files = Files.walk(folder)) {
+			return files
+					.filter(Files::isRegularFile)
+					.filter(PrefilteringJdkInternalsScanner::isClassFile)
+					.sorted()
+					.collect(Collectors.toList());
+		} catch (IOException ex) {
+			throw new CommandLineException(format("Listing the class files in '%s' failed.", folder), ex);
+		}
+	}
+
+	private static boolean isClassFile(Path path) {
+		return path.getFileName().toString().endsWith(CLASS_FILE_EXTENSION);
+	}
+
+	private static boolean mightReferenceInternalType(Path classFile) {
+		try {
+			return ConstantPoolSearch.mightReferenceInternalType(classFile);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(format("Searching the class file '%s' failed.", classFile), ex);
+		}
+	}
+
+	// #end FIND CANDIDATES
+
+}
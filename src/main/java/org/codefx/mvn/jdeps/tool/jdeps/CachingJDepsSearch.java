@@ -0,0 +1,66 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.apache.maven.toolchain.Toolchain;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the result of another search for the lifetime of the JVM, so the many plugin executions of a reactor build
+ * only probe the file system once.
+ * <p>
+ * Results are cached by a key that identifies what the search depends on, e.g. the running JVM's "java.home" or a
+ * toolchain. Searches with the same key must find the same jdeps. That a search found nothing is cached as well.
+ */
+public final class CachingJDepsSearch implements JDepsSearch {
+
+	private static final ConcurrentMap<String, Optional<Path>> FOUND_JDEPS = new ConcurrentHashMap<>();
+
+	private final String key;
+	private final JDepsSearch search;
+
+	/**
+	 * Creates a search that caches the specified search's result under the specified key.
+	 *
+	 * @param key
+	 * 		identifies the search's result among those of all other searches
+	 * @param search
+	 * 		the search to run if there is no result for the key yet
+	 */
+	CachingJDepsSearch(String key, JDepsSearch search) {
+		this.key = requireNonNull(key, "The argument 'key' must not be null.");
+		this.search = requireNonNull(search, "The argument 'search' must not be null.");
+	}
+
+	/**
+	 * @return a search for the jdeps belonging to the running JVM or the environment variable "JAVA_HOME"
+	 */
+	public static JDepsSearch forRunningJvm() {
+		String key = format("java.home=%s, JAVA_HOME=%s", System.getProperty("java.home"), System.getenv("JAVA_HOME"));
+		return new CachingJDepsSearch(key, new ComposedJDepsSearch());
+	}
+
+	/**
+	 * @param toolchain
+	 * 		the toolchain in which jdeps is searched
+	 *
+	 * @return a search for the jdeps belonging to the specified toolchain
+	 */
+	public static JDepsSearch forToolchain(Toolchain toolchain) {
+		requireNonNull(toolchain, "The argument 'toolchain' must not be null.");
+		// toolchains describe themselves by their type and JDK, e.g. "JDK[/usr/lib/jvm/java-8]"
+		String key = format("toolchain=%s, %s", toolchain.getType(), toolchain);
+		return new CachingJDepsSearch(key, new MavenToolchainJDepsSearch(toolchain));
+	}
+
+	@Override
+	public Optional<Path> search() {
+		return FOUND_JDEPS.computeIfAbsent(key, ignoredKey -> search.search());
+	}
+
+}
@@ -0,0 +1,189 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs jdeps by forking a new process for the jdeps executable.
+ */
+public class ForkedJDepsTool implements JDepsTool {
+
+	private static final String JDK_RELEASE_FILE_NAME = "release";
+	private static final String JDK_RELEASE_VERSION_PREFIX = "JAVA_VERSION=";
+	/**
+	 * Like plexus' stream pumpers, the process output is decoded with the platform's default charset.
+	 */
+	private static final LineReader LINE_READER = new LineReader(Charset.defaultCharset());
+	/**
+	 * The versions of the executables used so far; the plugin runs for many modules in the same JVM and jdeps does not
+	 * change in between.
+	 */
+	private static final ConcurrentMap<Path, String> VERSIONS = new ConcurrentHashMap<>();
+
+	private final Path jDepsExecutable;
+
+	/**
+	 * Creates a new tool.
+	 *
+	 * @param jDepsExecutable
+	 * 		path to the JDeps executable
+	 */
+	public ForkedJDepsTool(Path jDepsExecutable) {
+		this.jDepsExecutable = requireNonNull(jDepsExecutable, "The argument 'jDepsExecutable' must not be null.");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The standard output is read and forwarded by the calling thread. The error output is read and forwarded by a
+	 * separate thread, so the process can not block on a full error stream; that thread ends before this method
+	 * returns.
+	 */
+	@Override
+	public int run(List<String> arguments, Consumer<String> outputConsumer, Consumer<String> errorConsumer)
+			throws CommandLineException {
+		Process process = startProcess(arguments);
+		ErrorOutputReader errorOutput = new ErrorOutputReader(process.getErrorStream(), errorConsumer);
+		errorOutput.start();
+		try {
+			LINE_READER.forwardLines(process.getInputStream(), outputConsumer);
+			int exitCode = process.waitFor();
+			errorOutput.join();
+			errorOutput.rethrowException();
+			return exitCode;
+		} catch (IOException ex) {
+			throw new CommandLineException(format("Reading the output of '%s' failed.", describe(arguments)), ex);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CommandLineException(format("Interrupted while running '%s'.", describe(arguments)), ex);
+		} finally {
+			process.destroy();
+		}
+	}
+
+	private Process startProcess(List<String> arguments) throws CommandLineException {
+		List<String> command = new ArrayList<>();
+		command.add(jDepsExecutable.toAbsolutePath().toString());
+		command.addAll(arguments);
+		try {
+			return new ProcessBuilder(command).start();
+		} catch (IOException ex) {
+			throw new CommandLineException(format("Starting '%s' failed.", describe(arguments)), ex);
+		}
+	}
+
+	private Commandline createJDepsCommand(List<String> arguments) {
+		Commandline jDepsCommand = new Commandline();
+		jDepsCommand.setExecutable(jDepsExecutable.toAbsolutePath().toString());
+		arguments.forEach(argument -> jDepsCommand.createArg().setValue(argument));
+		return jDepsCommand;
+	}
+
+	@Override
+	public String version() throws CommandLineException {
+		Path executable = jDepsExecutable.toAbsolutePath();
+		String knownVersion = VERSIONS.get(executable);
+		if (knownVersion != null)
+			return knownVersion;
+
+		// concurrent callers might both determine the version, but they will agree on it
+		String version = determineVersion();
+		VERSIONS.putIfAbsent(executable, version);
+		return version;
+	}
+
+	private String determineVersion() throws CommandLineException {
+		// forking jdeps just to learn its version is expensive, so try the JDK's "release" file first
+		Optional<String> versionFromReleaseFile = readVersionFromReleaseFile();
+		if (versionFromReleaseFile.isPresent())
+			return versionFromReleaseFile.get();
+		return runVersionCommand();
+	}
+
+	private Optional<String> readVersionFromReleaseFile() {
+		// the executable is located in "jdk/bin" and the release file in "jdk"
+		Path jdkBin = jDepsExecutable.toAbsolutePath().getParent();
+		if (jdkBin == null || jdkBin.getParent() == null)
+			return Optional.empty();
+		Path releaseFile = jdkBin.getParent().resolve(JDK_RELEASE_FILE_NAME);
+		if (!Files.isRegularFile(releaseFile))
+			return Optional.empty();
+
+		try {
+			return Files.readAllLines(releaseFile).stream()
+					.filter(line -> line.startsWith(JDK_RELEASE_VERSION_PREFIX))
+					.map(line -> line.substring(JDK_RELEASE_VERSION_PREFIX.length()).replace("\"", ""))
+					.findFirst();
+		} catch (IOException ex) {
+			return Optional.empty();
+		}
+	}
+
+	private String runVersionCommand() throws CommandLineException {
+		StringBuilder version = new StringBuilder();
+		List<String> arguments = singletonList("-version");
+		int exitCode = run(arguments, version::append, ignoredErrorLine -> { });
+		if (exitCode != 0)
+			throw new CommandLineException(
+					format("Determining the JDeps version with '%s' failed.", describe(arguments)));
+		return version.toString().trim();
+	}
+
+	@Override
+	public String describe(List<String> arguments) {
+		return CommandLineUtils.toString(createJDepsCommand(arguments).getCommandline()).replaceAll("'", "");
+	}
+
+	/**
+	 * Reads the error output of a process on a separate thread.
+	 */
+	private static class ErrorOutputReader extends Thread {
+
+		private final InputStream errorStream;
+		private final Consumer<String> errorConsumer;
+		private IOException exception;
+
+		ErrorOutputReader(InputStream errorStream, Consumer<String> errorConsumer) {
+			super("jdeps-error-output");
+			setDaemon(true);
+			this.errorStream = errorStream;
+			this.errorConsumer = errorConsumer;
+		}
+
+		@Override
+		public void run() {
+			try {
+				LINE_READER.forwardLines(errorStream, errorConsumer);
+			} catch (IOException ex) {
+				exception = ex;
+			}
+		}
+
+		/**
+		 * Must only be called after this thread ended.
+		 */
+		void rethrowException() throws IOException {
+			if (exception != null)
+				throw exception;
+		}
+
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static java.lang.String.join;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs jdeps inside the running JVM via the {@code java.util.spi.ToolProvider} the JDK registers for it.
+ * <p>
+ * Tool providers were introduced in Java 9. Because this plugin is compiled against Java 8, the provider is accessed
+ * reflectively and {@link #find()} returns an empty {@link Optional} on older JVMs.
+ */
+public class InProcessJDepsTool implements JDepsTool {
+
+	private static final String TOOL_PROVIDER_CLASS_NAME = "java.util.spi.ToolProvider";
+	private static final String JDEPS_TOOL_NAME = "jdeps";
+
+	private final Object jDepsToolProvider;
+	private final Method runToolProvider;
+
+	private InProcessJDepsTool(Object jDepsToolProvider, Method runToolProvider) {
+		this.jDepsToolProvider = requireNonNull(jDepsToolProvider, "The argument 'jDepsToolProvider' must not be null.");
+		this.runToolProvider = requireNonNull(runToolProvider, "The argument 'runToolProvider' must not be null.");
+	}
+
+	/**
+	 * Tries to find the jdeps tool provider of the running JDK.
+	 * <p>
+	 * The running JDK does not change, so the provider is only looked up once; all callers share the returned tool.
+	 *
+	 * @return a tool that runs jdeps in this JVM or an empty {@link Optional} if the running JDK does not provide one
+	 */
+	public static Optional<JDepsTool> find() {
+		return FoundTool.TOOL;
+	}
+
+	private static Optional<JDepsTool> lookUp() {
+		try {
+			Class<?> toolProviderClass = Class.forName(TOOL_PROVIDER_CLASS_NAME);
+			Method findFirst = toolProviderClass.getMethod("findFirst", String.class);
+			Optional<?> jDepsToolProvider = (Optional<?>) findFirst.invoke(null, JDEPS_TOOL_NAME);
+			if (!jDepsToolProvider.isPresent())
+				return Optional.empty();
+
+			Method run = toolProviderClass.getMethod("run", PrintWriter.class, PrintWriter.class, String[].class);
+			return Optional.of(new InProcessJDepsTool(jDepsToolProvider.get(), run));
+		} catch (ClassNotFoundException ex) {
+			// the running JVM predates Java 9 and has no tool providers
+			return Optional.empty();
+		} catch (ReflectiveOperationException | SecurityException ex) {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public int run(List<String> arguments, Consumer<String> outputConsumer, Consumer<String> errorConsumer)
+			throws CommandLineException {
+		PrintWriter output = new PrintWriter(new LineForwardingWriter(outputConsumer));
+		PrintWriter error = new PrintWriter(new LineForwardingWriter(errorConsumer));
+		try {
+			Object[] toolArguments = { output, error, arguments.toArray(new String[arguments.size()]) };
+			return (Integer) runToolProvider.invoke(jDepsToolProvider, toolArguments);
+		} catch (InvocationTargetException ex) {
+			throw new CommandLineException("Running JDeps in-process failed.", ex.getCause());
+		} catch (IllegalAccessException ex) {
+			throw new CommandLineException("Running JDeps in-process failed.", ex);
+		} finally {
+			// closing the writers forwards the last line even if it was not terminated
+			output.close();
+			error.close();
+		}
+	}
+
+	@Override
+	public String version() {
+		// the tool provider is part of the running JDK, so it shares its version
+		return System.getProperty("java.runtime.version");
+	}
+
+	@Override
+	public String describe(List<String> arguments) {
+		return JDEPS_TOOL_NAME + " " + join(" ", arguments) + " (in-process)";
+	}
+
+	/**
+	 * Holds the tool, so it is looked up (in a thread-safe manner) when it is first needed.
+	 */
+	private static class FoundTool {
+
+		static final Optional<JDepsTool> TOOL = lookUp();
+
+	}
+
+}
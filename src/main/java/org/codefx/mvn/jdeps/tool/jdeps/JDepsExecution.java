@@ -0,0 +1,36 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+/**
+ * Enumerates the ways in which jdeps can be executed.
+ */
+public enum JDepsExecution {
+
+	/**
+	 * Run jdeps inside the JVM that runs Maven. If the running JDK provides no jdeps tool (e.g. because it is older
+	 * than Java 9), a new process is forked instead.
+	 */
+	IN_PROCESS,
+
+	/**
+	 * Fork a new process for the jdeps executable.
+	 */
+	FORK,
+
+	/**
+	 * Run jdeps in a long-lived worker JVM of the JDK that contains the jdeps executable. The worker is started once
+	 * and reused by all executions in the JVM that runs Maven, so it pays off in large reactor builds, particularly
+	 * if jdeps comes from a toolchain and can hence not run in-process.
+	 *
+	 * @see WorkerJDepsTool
+	 */
+	WORKER,
+
+	/**
+	 * Do not run jdeps at all but read the class files directly and look for references to the running JDK's
+	 * internal API. This is much faster than running jdeps but only approximates its results.
+	 *
+	 * @see org.codefx.mvn.jdeps.tool.classfile.ClassFileJdkInternalsScanner
+	 */
+	BYTECODE
+
+}
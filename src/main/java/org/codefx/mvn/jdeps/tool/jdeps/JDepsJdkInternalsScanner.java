@@ -0,0 +1,81 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.parse.ParseTrace;
+import org.codefx.mvn.jdeps.parse.ViolationParser;
+import org.codefx.mvn.jdeps.tool.JdkInternalsScanner;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Scans for JDK-internal dependencies by running "jdeps -jdkinternals" and parsing its output.
+ */
+public class JDepsJdkInternalsScanner implements JdkInternalsScanner {
+
+	private final JDepsTool jDeps;
+	private final Consumer<String> lineObserver;
+	private final Optional<ParseTrace> parseTrace;
+
+	/**
+	 * Creates a new scanner.
+	 *
+	 * @param jDeps
+	 * 		the tool used to run jdeps
+	 */
+	public JDepsJdkInternalsScanner(JDepsTool jDeps) {
+		this(jDeps, line -> { });
+	}
+
+	/**
+	 * Creates a new scanner that shows each line of the jdeps output to the specified observer before parsing it.
+	 *
+	 * @param jDeps
+	 * 		the tool used to run jdeps
+	 * @param lineObserver
+	 * 		the observer of the jdeps output; it is called from the threads that scan, so it must be thread-safe
+	 */
+	public JDepsJdkInternalsScanner(JDepsTool jDeps, Consumer<String> lineObserver) {
+		this(jDeps, lineObserver, Optional.empty());
+	}
+
+	/**
+	 * Creates a new scanner that shows each line of the jdeps output to the specified observer before parsing it.
+	 *
+	 * @param jDeps
+	 * 		the tool used to run jdeps
+	 * @param lineObserver
+	 * 		the observer of the jdeps output; it is called from the threads that scan, so it must be thread-safe
+	 * @param parseTrace
+	 * 		the trace to which the parsed lines are written; if empty, they are logged on debug level
+	 */
+	public JDepsJdkInternalsScanner(
+			JDepsTool jDeps, Consumer<String> lineObserver, Optional<ParseTrace> parseTrace) {
+		this.jDeps = requireNonNull(jDeps, "The argument 'jDeps' must not be null.");
+		this.lineObserver = requireNonNull(lineObserver, "The argument 'lineObserver' must not be null.");
+		this.parseTrace = requireNonNull(parseTrace, "The argument 'parseTrace' must not be null.");
+	}
+
+	@Override
+	public void scan(Collection<Path> pathsToScan, Consumer<Violation> violationConsumer)
+			throws CommandLineException {
+		ViolationParser violationParser = new ViolationParser(violationConsumer, parseTrace);
+		new JdkInternalsExecutor(jDeps, pathsToScan, line -> {
+			lineObserver.accept(line);
+			violationParser.parseLine(line);
+		}).execute();
+		// the output may end inside a violation's block, which only finishing the parser builds
+		violationParser.finish();
+	}
+
+	@Override
+	public String version() throws CommandLineException {
+		return jDeps.version();
+	}
+
+}
@@ -0,0 +1,51 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A way to run jdeps, e.g. by forking a new process or by calling it inside the running JVM.
+ */
+public interface JDepsTool {
+
+	/**
+	 * Runs jdeps with the specified arguments.
+	 *
+	 * @param arguments
+	 * 		the arguments to pass to jdeps
+	 * @param outputConsumer
+	 * 		consumer of jdeps' standard output (line by line)
+	 * @param errorConsumer
+	 * 		consumer of jdeps' error output (line by line)
+	 *
+	 * @return the exit code returned by jdeps
+	 *
+	 * @throws CommandLineException
+	 * 		if running jdeps failed
+	 */
+	int run(List<String> arguments, Consumer<String> outputConsumer, Consumer<String> errorConsumer)
+			throws CommandLineException;
+
+	/**
+	 * Determines the version of this jdeps tool.
+	 * <p>
+	 * Implementations should determine the version without running jdeps if possible.
+	 *
+	 * @return a textual representation of the version
+	 *
+	 * @throws CommandLineException
+	 * 		if determining the version failed
+	 */
+	String version() throws CommandLineException;
+
+	/**
+	 * @param arguments
+	 * 		the arguments passed to jdeps
+	 *
+	 * @return a human readable representation of running jdeps with the specified arguments
+	 */
+	String describe(List<String> arguments);
+
+}
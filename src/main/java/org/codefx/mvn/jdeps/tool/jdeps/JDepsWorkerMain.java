@@ -0,0 +1,155 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.CHARSET;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.ERROR_PREFIX;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.EXIT_PREFIX;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.OUTPUT_PREFIX;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.REQUEST_PREFIX;
+
+/**
+ * The main class of the worker JVM the {@link WorkerJDepsTool} starts: it runs jdeps for each request it reads from
+ * the standard input and writes the framed output to the standard output (see {@link JDepsWorkerProtocol}).
+ * <p>
+ * The worker runs in the JDK that contains jdeps (e.g. one from a toolchain), not in the JVM running Maven. It uses the
+ * jdeps tool provider (Java 9 and later) or jdeps' main class from "tools.jar" (Java 8), so it must only depend on
+ * the JDK.
+ */
+public final class JDepsWorkerMain {
+
+	private static final String TOOL_PROVIDER_CLASS_NAME = "java.util.spi.ToolProvider";
+	private static final String JAVA_8_JDEPS_CLASS_NAME = "com.sun.tools.jdeps.Main";
+
+	private final Writer responses;
+	private final JDeps jDeps;
+
+	private JDepsWorkerMain(Writer responses, JDeps jDeps) {
+		this.responses = responses;
+		this.jDeps = jDeps;
+	}
+
+	/**
+	 * Runs the worker until its standard input ends.
+	 *
+	 * @param args
+	 * 		ignored
+	 *
+	 * @throws Exception
+	 * 		if jdeps could not be found or communicating with the plugin failed
+	 */
+	public static void main(String[] args) throws Exception {
+		// the standard output belongs to the protocol, so nothing else must write to it
+		PrintStream standardOutput = System.out;
+		System.setOut(System.err);
+
+		BufferedReader requests = new BufferedReader(new InputStreamReader(System.in, CHARSET));
+		Writer responses = new BufferedWriter(new OutputStreamWriter(standardOutput, CHARSET));
+		new JDepsWorkerMain(responses, findJDeps()).answer(requests);
+	}
+
+	private void answer(BufferedReader requests) throws IOException {
+		String request;
+		while ((request = requests.readLine()) != null) {
+			if (!request.startsWith(REQUEST_PREFIX))
+				throw new IOException("Unknown request: " + request);
+
+			String[] arguments = new String[Integer.parseInt(request.substring(REQUEST_PREFIX.length()))];
+			for (int i = 0; i < arguments.length; i++) {
+				arguments[i] = requests.readLine();
+				if (arguments[i] == null)
+					throw new IOException("The request ended after " + i + " of " + arguments.length + " arguments.");
+			}
+			respond(arguments);
+		}
+	}
+
+	private void respond(String[] arguments) throws IOException {
+		PrintWriter output = new PrintWriter(new LineForwardingWriter(line -> send(OUTPUT_PREFIX, line)));
+		PrintWriter error = new PrintWriter(new LineForwardingWriter(line -> send(ERROR_PREFIX, line)));
+		int exitCode;
+		try {
+			exitCode = jDeps.run(output, error, arguments);
+		} catch (Exception ex) {
+			// a failing run must not end the worker
+			ex.printStackTrace(error);
+			exitCode = -1;
+		} finally {
+			// closing the writers forwards the last line even if it was not terminated
+			output.close();
+			error.close();
+		}
+
+		try {
+			send(EXIT_PREFIX, Integer.toString(exitCode));
+			responses.flush();
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	private void send(String prefix, String line) {
+		try {
+			responses.write(prefix);
+			responses.write(line);
+			responses.write('\n');
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	// #begin FIND JDEPS
+
+	private static JDeps findJDeps() throws ReflectiveOperationException {
+		Optional<JDeps> toolProvider = findToolProvider();
+		if (toolProvider.isPresent())
+			return toolProvider.get();
+
+		Method run = Class.forName(JAVA_8_JDEPS_CLASS_NAME).getMethod("run", String[].class, PrintWriter.class);
+		// before Java 9, jdeps only knows one writer, so everything is reported as standard output
+		return (output, error, arguments) -> (Integer) run.invoke(null, arguments, output);
+	}
+
+	private static Optional<JDeps> findToolProvider() throws ReflectiveOperationException {
+		Class<?> toolProviderClass;
+		try {
+			toolProviderClass = Class.forName(TOOL_PROVIDER_CLASS_NAME);
+		} catch (ClassNotFoundException ex) {
+			return Optional.empty();
+		}
+
+		Optional<?> toolProvider = (Optional<?>) toolProviderClass
+				.getMethod("findFirst", String.class)
+				.invoke(null, "jdeps");
+		if (!toolProvider.isPresent())
+			return Optional.empty();
+
+		Method run = toolProviderClass.getMethod("run", PrintWriter.class, PrintWriter.class, String[].class);
+		return Optional.of((output, error, arguments) ->
+				(Integer) run.invoke(toolProvider.get(), output, error, arguments));
+	}
+
+	/**
+	 * Runs jdeps.
+	 */
+	private interface JDeps {
+
+		int run(PrintWriter output, PrintWriter error, String[] arguments)
+				throws IllegalAccessException, InvocationTargetException;
+
+	}
+
+	// #end FIND JDEPS
+
+}
@@ -0,0 +1,30 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import java.nio.charset.Charset;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The line-based protocol between the {@link WorkerJDepsTool} and the {@link JDepsWorkerMain worker JVM}.
+ * <p>
+ * A request is a line "{@value #REQUEST_PREFIX}&lt;n&gt;" followed by n lines, one per jdeps argument. The worker
+ * answers with one line per line jdeps writes, each starting with {@value #OUTPUT_PREFIX} (standard output) or
+ * {@value #ERROR_PREFIX} (error output), and ends the response with "{@value #EXIT_PREFIX}&lt;exit code&gt;". The
+ * worker ends when its standard input ends. Both sides use {@link #CHARSET UTF-8}.
+ * <p>
+ * This class is used in the worker JVM, so like the worker it must only depend on the JDK.
+ */
+final class JDepsWorkerProtocol {
+
+	static final Charset CHARSET = UTF_8;
+
+	static final String REQUEST_PREFIX = "RUN ";
+	static final String OUTPUT_PREFIX = "O ";
+	static final String ERROR_PREFIX = "E ";
+	static final String EXIT_PREFIX = "X ";
+
+	private JDepsWorkerProtocol() {
+		// no instances of this class
+	}
+
+}
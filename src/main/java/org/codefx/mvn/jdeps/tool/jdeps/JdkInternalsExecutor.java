@@ -1,15 +1,15 @@
 package org.codefx.mvn.jdeps.tool.jdeps;
 
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.plugin.logging.Log;
 import org.codefx.mvn.jdeps.mojo.MojoLogging;
 import org.codefx.mvn.jdeps.parse.ViolationParser;
 import org.codehaus.plexus.util.cli.CommandLineException;
-import org.codehaus.plexus.util.cli.CommandLineUtils;
-import org.codehaus.plexus.util.cli.CommandLineUtils.StringStreamConsumer;
-import org.codehaus.plexus.util.cli.Commandline;
 
-import java.io.BufferedReader;
-import java.io.StringReader;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -21,12 +21,12 @@ import static java.lang.String.format;
  */
 public class JdkInternalsExecutor {
 
-	private final Path jDepsExecutable;
-	private final Path pathToCheckedFiles;
+	private final JDepsTool jDeps;
+	private final ImmutableList<Path> pathsToScan;
 	private final Consumer<String> jDepsOutputConsumer;
 
 	/**
-	 * Creates a new executor.
+	 * Creates a new executor which forks a new process for the specified executable.
 	 *
 	 * @param jDepsExecutable
 	 *            path to the JDeps executable
@@ -36,12 +36,50 @@ public class JdkInternalsExecutor {
 	 *            consumer of jdeps' output (line by line)
 	 */
 	public JdkInternalsExecutor(Path jDepsExecutable, Path folderToScan, Consumer<String> jDepsOutputConsumer) {
-		Objects.requireNonNull(jDepsExecutable, "The argument 'jDepsExecutable' must not be null.");
-		Objects.requireNonNull(folderToScan, "The argument 'pathToCheckedFiles' must not be null.");
+		this(
+				new ForkedJDepsTool(
+						Objects.requireNonNull(jDepsExecutable, "The argument 'jDepsExecutable' must not be null.")),
+				folderToScan,
+				jDepsOutputConsumer);
+	}
+
+	/**
+	 * Creates a new executor.
+	 *
+	 * @param jDeps
+	 *            the tool used to run jdeps
+	 * @param folderToScan
+	 *            the path to the folder which jdeps will scan
+	 * @param jDepsOutputConsumer
+	 *            consumer of jdeps' output (line by line)
+	 */
+	public JdkInternalsExecutor(JDepsTool jDeps, Path folderToScan, Consumer<String> jDepsOutputConsumer) {
+		this(
+				jDeps,
+				ImmutableList.of(Objects.requireNonNull(folderToScan, "The argument 'folderToScan' must not be null.")),
+				jDepsOutputConsumer);
+	}
+
+	/**
+	 * Creates a new executor which scans several folders or files.
+	 *
+	 * @param jDeps
+	 *            the tool used to run jdeps
+	 * @param pathsToScan
+	 *            the paths to the folders, JARs or class files which jdeps will scan; must not be empty
+	 * @param jDepsOutputConsumer
+	 *            consumer of jdeps' output (line by line)
+	 */
+	public JdkInternalsExecutor(
+			JDepsTool jDeps, Collection<Path> pathsToScan, Consumer<String> jDepsOutputConsumer) {
+		Objects.requireNonNull(jDeps, "The argument 'jDeps' must not be null.");
+		Objects.requireNonNull(pathsToScan, "The argument 'pathsToScan' must not be null.");
 		Objects.requireNonNull(jDepsOutputConsumer, "The argument 'jDepsOutputConsumer' must not be null.");
+		if (pathsToScan.isEmpty())
+			throw new IllegalArgumentException("The argument 'pathsToScan' must not be empty.");
 
-		this.jDepsExecutable = jDepsExecutable;
-		this.pathToCheckedFiles = folderToScan;
+		this.jDeps = jDeps;
+		this.pathsToScan = ImmutableList.copyOf(pathsToScan);
 		this.jDepsOutputConsumer = jDepsOutputConsumer;
 	}
 
@@ -54,52 +92,76 @@ public class JdkInternalsExecutor {
 	 *             if running jdeps failed or the tool returned with an error
 	 */
 	public void execute() throws CommandLineException {
-		Commandline jDepsCommand = createJDepsCommand(jDepsExecutable);
-		execute(jDepsCommand);
+		ImmutableList.Builder<String> arguments = ImmutableList.builder();
+		arguments.add("-jdkinternals");
+		pathsToScan.forEach(path -> arguments.add(path.toAbsolutePath().toString()));
+		execute(arguments.build());
 	}
 
-	private Commandline createJDepsCommand(Path jDepsExecutable) {
-		Commandline jDepsCommand = new Commandline();
-		jDepsCommand.setExecutable(jDepsExecutable.toAbsolutePath().toString());
-		jDepsCommand.createArg().setValue("-jdkinternals");
-		jDepsCommand.createArg().setFile(pathToCheckedFiles.toFile());
-		return jDepsCommand;
-	}
-
-	private void execute(Commandline jDepsCommand) throws CommandLineException {
-		StringStreamConsumer errorConsoleConsumer = new StringStreamConsumer();
+	private void execute(ImmutableList<String> arguments) throws CommandLineException {
+		ErrorOutput errorOutput = new ErrorOutput();
+		Log log = MojoLogging.logger();
 
-		MojoLogging.logger().debug(format("Running JDeps: %s", jDepsCommand));
-		MojoLogging.logger().debug(String.format(
-				"(JDeps output is forwarded here. "
-						+ "Lines are marked: %s = recognized as dependency; %s = not recognized.)",
-				ViolationParser.MESSAGE_MARKER_JDEPS_LINE,
-				ViolationParser.MESSAGE_MARKER_UNKNOWN_LINE));
+		if (log.isDebugEnabled()) {
+			log.debug(format("Running JDeps: %s", jDeps.describe(arguments)));
+			log.debug(format(
+					"(JDeps output is forwarded here unless it is traced to a file. "
+							+ "Lines are marked: %s = recognized as dependency; %s = not recognized.)",
+					ViolationParser.MESSAGE_MARKER_JDEPS_LINE,
+					ViolationParser.MESSAGE_MARKER_UNKNOWN_LINE));
+		}
 
-		int exitCode = CommandLineUtils.executeCommandLine(
-				jDepsCommand, jDepsOutputConsumer::accept, errorConsoleConsumer);
+		int exitCode = jDeps.run(arguments, jDepsOutputConsumer, errorOutput);
 
-		MojoLogging.logger().debug(format("JDeps completed with exit code %d.", exitCode));
+		if (log.isDebugEnabled())
+			log.debug(format("JDeps completed with exit code %d.", exitCode));
 
 		if (exitCode != 0)
-			throwCommandLineException(jDepsCommand, exitCode, errorConsoleConsumer.getOutput());
+			throwCommandLineException(jDeps.describe(arguments), exitCode, errorOutput);
 	}
 
-	private static void throwCommandLineException(Commandline jDepsCommand, int exitCode, String errorOutput)
+	private static void throwCommandLineException(String jDepsCommand, int exitCode, ErrorOutput errorOutput)
 			throws CommandLineException {
 		StringBuilder message = new StringBuilder("JDeps returned with exit code '" + exitCode + "'.\n");
-		message.append("\t Executed command: "
-				+ CommandLineUtils.toString(jDepsCommand.getCommandline()).replaceAll("'", ""));
+		message.append("\t Executed command: " + jDepsCommand);
 		message.append("\t Error output:\n");
-		streamLines(errorOutput).forEachOrdered(errorLine -> message.append("\t\t " + errorLine + "\n"));
+		errorOutput.lines().forEachOrdered(errorLine -> message.append("\t\t " + errorLine + "\n"));
 
 		throw new CommandLineException(message.toString());
 	}
 
-	private static Stream<String> streamLines(String lines) {
-		return new BufferedReader(new StringReader(lines)).lines();
-	}
-
 	// #end EXECUTE JDEPS
 
+	/**
+	 * Keeps the first lines of jdeps' error output, so a tool that floods it can not exhaust the memory.
+	 * <p>
+	 * The lines can be added by another thread than the one reading them, as long as adding them happens-before
+	 * reading them (e.g. because the adding thread was joined).
+	 */
+	private static class ErrorOutput implements Consumer<String> {
+
+		private static final int MAX_LINES = 100;
+		private static final int MAX_LINE_LENGTH = 1000;
+
+		private final List<String> lines = new ArrayList<>();
+		private int omittedLines;
+
+		@Override
+		public void accept(String line) {
+			if (lines.size() < MAX_LINES)
+				lines.add(line.length() <= MAX_LINE_LENGTH ? line : line.substring(0, MAX_LINE_LENGTH) + " ...");
+			else
+				omittedLines++;
+		}
+
+		public Stream<String> lines() {
+			if (omittedLines == 0)
+				return lines.stream();
+			return Stream.concat(
+					lines.stream(),
+					Stream.of(format("(%d more lines were omitted)", omittedLines)));
+		}
+
+	}
+
 }
@@ -0,0 +1,76 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import java.io.Writer;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Writer} that splits the written characters into lines and hands them to a {@link Consumer}.
+ * <p>
+ * Lines can be terminated by "\n", "\r", or "\r\n"; the terminators are not part of the forwarded lines. A final line
+ * that was not terminated is forwarded when the writer is {@link #close() closed}.
+ */
+class LineForwardingWriter extends Writer {
+
+	private final Consumer<String> lineConsumer;
+	private final StringBuilder currentLine;
+	private boolean lastCharacterWasCarriageReturn;
+
+	/**
+	 * Creates a new writer.
+	 *
+	 * @param lineConsumer
+	 * 		the consumer to which lines are handed
+	 */
+	public LineForwardingWriter(Consumer<String> lineConsumer) {
+		this.lineConsumer = requireNonNull(lineConsumer, "The argument 'lineConsumer' must not be null.");
+		this.currentLine = new StringBuilder();
+	}
+
+	@Override
+	public void write(char[] characters, int offset, int length) {
+		int end = offset + length;
+		int lineStart = offset;
+		for (int i = offset; i < end; i++) {
+			char character = characters[i];
+			boolean lineFeedAfterCarriageReturn = lastCharacterWasCarriageReturn && character == '\n';
+			lastCharacterWasCarriageReturn = character == '\r';
+			if (lineFeedAfterCarriageReturn)
+				// the line was already forwarded on the carriage return, so this line feed is skipped
+				lineStart = i + 1;
+			else if (character == '\n' || character == '\r') {
+				forwardLine(characters, lineStart, i);
+				lineStart = i + 1;
+			}
+		}
+		currentLine.append(characters, lineStart, end - lineStart);
+	}
+
+	private void forwardLine(char[] characters, int start, int end) {
+		if (currentLine.length() == 0)
+			// the whole line was written at once, so it can be created without copying it into the builder first
+			lineConsumer.accept(new String(characters, start, end - start));
+		else {
+			currentLine.append(characters, start, end - start);
+			forwardCurrentLine();
+		}
+	}
+
+	private void forwardCurrentLine() {
+		lineConsumer.accept(currentLine.toString());
+		currentLine.setLength(0);
+	}
+
+	@Override
+	public void flush() {
+		// lines are forwarded as soon as they are terminated so there is nothing to flush
+	}
+
+	@Override
+	public void close() {
+		if (currentLine.length() > 0)
+			forwardCurrentLine();
+	}
+
+}
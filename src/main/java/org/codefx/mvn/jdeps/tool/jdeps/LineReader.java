@@ -0,0 +1,98 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads an {@link InputStream} through a large channel buffer, decodes it in bulk and hands the lines to a
+ * {@link Consumer}.
+ * <p>
+ * Lines are split like by the {@link LineForwardingWriter}, which creates each line directly from the decoded
+ * characters unless it spans two buffers. Malformed input is replaced instead of failing the read.
+ */
+class LineReader {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Charset charset;
+
+	/**
+	 * Creates a new reader.
+	 *
+	 * @param charset
+	 * 		the charset used to decode the read bytes
+	 */
+	public LineReader(Charset charset) {
+		this.charset = requireNonNull(charset, "The argument 'charset' must not be null.");
+	}
+
+	/**
+	 * Reads the specified stream until it ends and forwards its lines to the specified consumer. The stream is not
+	 * closed.
+	 *
+	 * @param stream
+	 * 		the stream to read
+	 * @param lineConsumer
+	 * 		the consumer to which lines are handed; it is called from the calling thread
+	 *
+	 * @throws IOException
+	 * 		if reading the stream failed
+	 */
+	public void forwardLines(InputStream stream, Consumer<String> lineConsumer) throws IOException {
+		requireNonNull(stream, "The argument 'stream' must not be null.");
+		requireNonNull(lineConsumer, "The argument 'lineConsumer' must not be null.");
+
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+		CharBuffer characters = CharBuffer.allocate(BUFFER_SIZE);
+		// closing the channel would close the stream, so it is left open
+		ReadableByteChannel channel = Channels.newChannel(stream);
+		LineForwardingWriter lines = new LineForwardingWriter(lineConsumer);
+
+		while (channel.read(bytes) != -1) {
+			bytes.flip();
+			decode(decoder, bytes, characters, false, lines);
+			// keep the bytes of a character that was split between two reads
+			bytes.compact();
+		}
+		bytes.flip();
+		decode(decoder, bytes, characters, true, lines);
+		while (decoder.flush(characters).isOverflow())
+			forward(characters, lines);
+		forward(characters, lines);
+		lines.close();
+	}
+
+	private static void decode(
+			CharsetDecoder decoder,
+			ByteBuffer bytes,
+			CharBuffer characters,
+			boolean endOfInput,
+			LineForwardingWriter lines) {
+		CoderResult result;
+		do {
+			result = decoder.decode(bytes, characters, endOfInput);
+			forward(characters, lines);
+		} while (result.isOverflow());
+	}
+
+	private static void forward(CharBuffer characters, LineForwardingWriter lines) {
+		characters.flip();
+		lines.write(characters.array(), characters.arrayOffset() + characters.position(), characters.remaining());
+		characters.clear();
+	}
+
+}
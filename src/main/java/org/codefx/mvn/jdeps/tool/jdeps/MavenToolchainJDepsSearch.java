@@ -2,15 +2,22 @@ package org.codefx.mvn.jdeps.tool.jdeps;
 
 import org.apache.maven.toolchain.Toolchain;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Tries to locate JDeps in the JDK specified to the Maven Toolchain.
+ * <p>
+ * Asking the toolchain for a tool probes its JDK's file system, so this search is usually
+ * {@link CachingJDepsSearch#forToolchain(Toolchain) cached}.
  */
 class MavenToolchainJDepsSearch implements JDepsSearch {
 
+	private static final String JDEPS_TOOL_NAME = "jdeps";
+
 	private final Toolchain toolchain;
 
 	/**
@@ -26,7 +33,10 @@ class MavenToolchainJDepsSearch implements JDepsSearch {
 
 	@Override
 	public Optional<Path> search() {
-		return Optional.empty();
+		// the toolchain resolves the tool name to the executable in the JDK's "bin" folder (or to null)
+		return Optional.ofNullable(toolchain.findTool(JDEPS_TOOL_NAME))
+				.map(Paths::get)
+				.filter(Files::isRegularFile);
 	}
 
 }
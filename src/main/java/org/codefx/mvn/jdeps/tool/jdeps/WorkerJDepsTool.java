@@ -0,0 +1,199 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.CHARSET;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.ERROR_PREFIX;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.EXIT_PREFIX;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.OUTPUT_PREFIX;
+import static org.codefx.mvn.jdeps.tool.jdeps.JDepsWorkerProtocol.REQUEST_PREFIX;
+
+/**
+ * Runs jdeps in a long-lived worker JVM of the JDK that contains the jdeps executable.
+ * <p>
+ * Forking jdeps starts a cold JVM for every scan. The worker is started once per executable and
+ * {@link #forExecutable(Path) shared} by all executions in the running JVM (e.g. all modules of a reactor build), so
+ * later scans profit from a warm JIT and an already loaded JDK. Requests are sent to the worker one after another;
+ * concurrent runs wait for each other. The worker ends with the JVM running Maven or when its input is closed.
+ *
+ * @see JDepsWorkerMain
+ * @see JDepsWorkerProtocol
+ */
+public class WorkerJDepsTool implements JDepsTool {
+
+	private static final ConcurrentMap<Path, WorkerJDepsTool> WORKERS = new ConcurrentHashMap<>();
+
+	private final Path jDepsExecutable;
+	private final ForkedJDepsTool forkedJDeps;
+
+	private Worker worker;
+
+	private WorkerJDepsTool(Path jDepsExecutable) {
+		this.jDepsExecutable = jDepsExecutable;
+		this.forkedJDeps = new ForkedJDepsTool(jDepsExecutable);
+	}
+
+	/**
+	 * Returns the tool for the specified executable; all calls with the same executable share the same worker.
+	 *
+	 * @param jDepsExecutable
+	 * 		path to the JDeps executable; the worker runs on the "java" executable in the same folder
+	 *
+	 * @return a tool running jdeps in a worker JVM
+	 */
+	public static WorkerJDepsTool forExecutable(Path jDepsExecutable) {
+		requireNonNull(jDepsExecutable, "The argument 'jDepsExecutable' must not be null.");
+		return WORKERS.computeIfAbsent(jDepsExecutable.toAbsolutePath(), WorkerJDepsTool::new);
+	}
+
+	@Override
+	public synchronized int run(
+			List<String> arguments, Consumer<String> outputConsumer, Consumer<String> errorConsumer)
+			throws CommandLineException {
+		// the protocol sends one argument per line
+		for (String argument : arguments)
+			if (argument.indexOf('\n') >= 0 || argument.indexOf('\r') >= 0)
+				throw new CommandLineException(format("The argument '%s' contains a line break.", argument));
+
+		if (worker == null || !worker.isAlive())
+			worker = Worker.start(jDepsExecutable);
+
+		try {
+			return worker.run(arguments, outputConsumer, errorConsumer);
+		} catch (IOException ex) {
+			// the worker is in an unknown state, so a new one is started for the next run
+			worker.stop();
+			worker = null;
+			throw new CommandLineException(format("Running '%s' failed.", describe(arguments)), ex);
+		}
+	}
+
+	@Override
+	public String version() throws CommandLineException {
+		// the worker runs the same JDK as the executable, so they share the (cached) version
+		return forkedJDeps.version();
+	}
+
+	@Override
+	public String describe(List<String> arguments) {
+		return forkedJDeps.describe(arguments) + " (worker)";
+	}
+
+	/**
+	 * A running worker JVM.
+	 */
+	private static class Worker {
+
+		private static final String JAVA_8_TOOLS_JAR = "lib/tools.jar";
+
+		private final Process process;
+		private final Writer requests;
+		private final BufferedReader responses;
+
+		private Worker(Process process) {
+			this.process = process;
+			this.requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), CHARSET));
+			this.responses = new BufferedReader(new InputStreamReader(process.getInputStream(), CHARSET));
+		}
+
+		static Worker start(Path jDepsExecutable) throws CommandLineException {
+			List<String> command = new ArrayList<>();
+			command.add(javaExecutable(jDepsExecutable).toString());
+			command.add("-cp");
+			command.add(classPath(jDepsExecutable));
+			command.add(JDepsWorkerMain.class.getName());
+			try {
+				// the worker does not write to its error output unless it crashes, which should then be visible
+				Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+				Worker worker = new Worker(process);
+				Runtime.getRuntime().addShutdownHook(new Thread(worker::stop, "jdeps-worker-shutdown"));
+				return worker;
+			} catch (IOException ex) {
+				throw new CommandLineException(format("Starting the JDeps worker '%s' failed.", command), ex);
+			}
+		}
+
+		private static Path javaExecutable(Path jDepsExecutable) {
+			String javaFileName = "java" + (SystemUtils.IS_OS_WINDOWS ? ".exe" : "");
+			return jDepsExecutable.toAbsolutePath().resolveSibling(javaFileName);
+		}
+
+		private static String classPath(Path jDepsExecutable) throws CommandLineException {
+			List<String> classPath = new ArrayList<>();
+			classPath.add(pluginClassPath());
+			// before Java 9, jdeps is not part of the JDK's runtime but of the "tools.jar"
+			Path jdkHome = jDepsExecutable.toAbsolutePath().getParent().getParent();
+			Path toolsJar = jdkHome.resolve(JAVA_8_TOOLS_JAR);
+			if (Files.isRegularFile(toolsJar))
+				classPath.add(toolsJar.toString());
+			return String.join(File.pathSeparator, classPath);
+		}
+
+		private static String pluginClassPath() throws CommandLineException {
+			try {
+				// this is the plugin's JAR (or its class folder); the worker only needs the classes in this package
+				return Paths.get(JDepsWorkerMain.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+						.toString();
+			} catch (URISyntaxException | SecurityException ex) {
+				throw new CommandLineException("Locating the plugin's classes for the JDeps worker failed.", ex);
+			}
+		}
+
+		boolean isAlive() {
+			return process.isAlive();
+		}
+
+		int run(List<String> arguments, Consumer<String> outputConsumer, Consumer<String> errorConsumer)
+				throws IOException {
+			requests.write(REQUEST_PREFIX + arguments.size() + "\n");
+			for (String argument : arguments)
+				requests.write(argument + "\n");
+			requests.flush();
+
+			String response;
+			while ((response = responses.readLine()) != null) {
+				if (response.startsWith(OUTPUT_PREFIX))
+					outputConsumer.accept(response.substring(OUTPUT_PREFIX.length()));
+				else if (response.startsWith(ERROR_PREFIX))
+					errorConsumer.accept(response.substring(ERROR_PREFIX.length()));
+				else if (response.startsWith(EXIT_PREFIX))
+					return Integer.parseInt(response.substring(EXIT_PREFIX.length()));
+				else
+					throw new IOException(format("The JDeps worker sent the unknown response '%s'.", response));
+			}
+			throw new IOException("The JDeps worker ended unexpectedly.");
+		}
+
+		void stop() {
+			// closing the worker's input ends it; destroying it makes sure
+			try {
+				requests.close();
+			} catch (IOException ex) {
+				// the worker is destroyed anyway
+			}
+			process.destroy();
+		}
+
+	}
+
+}
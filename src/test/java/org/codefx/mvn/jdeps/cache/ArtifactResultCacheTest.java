@@ -0,0 +1,122 @@
+package org.codefx.mvn.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onActionsViolation;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link ArtifactResultCache}.
+ */
+public class ArtifactResultCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private ArtifactResultCache cache;
+
+	@Before
+	public void setUp() throws Exception {
+		cache = new ArtifactResultCache(temporaryFolder.getRoot().toPath().resolve("store"));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_storeFolderNull_throwsException() {
+		new ArtifactResultCache(null);
+	}
+
+	@Test
+	public void digest_sameContent_sameDigest() throws Exception {
+		Path artifact = writeArtifact("first.jar", "content");
+		Path copy = writeArtifact("second.jar", "content");
+
+		assertThat(ArtifactResultCache.digest(artifact))
+				.hasSize(64)
+				.isEqualTo(ArtifactResultCache.digest(copy));
+	}
+
+	@Test
+	public void digest_differentContent_differentDigest() throws Exception {
+		Path artifact = writeArtifact("first.jar", "content");
+		Path other = writeArtifact("second.jar", "other content");
+
+		assertThat(ArtifactResultCache.digest(artifact)).isNotEqualTo(ArtifactResultCache.digest(other));
+	}
+
+	@Test
+	public void get_emptyCache_returnsEmpty() throws Exception {
+		Optional<ImmutableList<Violation>> violations = cache.get(digest("content"), "1.8.0_60");
+
+		assertThat(violations).isEmpty();
+	}
+
+	@Test
+	public void get_afterPut_returnsViolations() throws Exception {
+		ImmutableList<Violation> violations = ImmutableList.of(onActionsViolation(), onUnsafeViolation());
+		cache.put(digest("content"), "1.8.0_60", violations);
+
+		Optional<ImmutableList<Violation>> cachedViolations = cache.get(digest("content"), "1.8.0_60");
+
+		assertThat(cachedViolations).contains(violations);
+	}
+
+	@Test
+	public void get_afterPutWithoutViolations_returnsNoViolations() throws Exception {
+		cache.put(digest("content"), "1.8.0_60", ImmutableList.of());
+
+		Optional<ImmutableList<Violation>> cachedViolations = cache.get(digest("content"), "1.8.0_60");
+
+		assertThat(cachedViolations).contains(ImmutableList.of());
+	}
+
+	@Test
+	public void get_otherJDepsVersion_returnsEmpty() throws Exception {
+		cache.put(digest("content"), "1.8.0_60", ImmutableList.of(onUnsafeViolation()));
+
+		Optional<ImmutableList<Violation>> cachedViolations = cache.get(digest("content"), "9-ea+100");
+
+		assertThat(cachedViolations).isEmpty();
+	}
+
+	@Test
+	public void get_otherArtifact_returnsEmpty() throws Exception {
+		cache.put(digest("content"), "1.8.0_60", ImmutableList.of(onUnsafeViolation()));
+
+		Optional<ImmutableList<Violation>> cachedViolations = cache.get(digest("other content"), "1.8.0_60");
+
+		assertThat(cachedViolations).isEmpty();
+	}
+
+	@Test
+	public void get_sameStoreFolder_sharesEntriesBetweenCaches() throws Exception {
+		Path storeFolder = temporaryFolder.getRoot().toPath().resolve("shared-store");
+		new ArtifactResultCache(storeFolder).put(digest("content"), "1.8.0_60", ImmutableList.of(onUnsafeViolation()));
+
+		Optional<ImmutableList<Violation>> cachedViolations =
+				new ArtifactResultCache(storeFolder).get(digest("content"), "1.8.0_60");
+
+		assertThat(cachedViolations).contains(ImmutableList.of(onUnsafeViolation()));
+	}
+
+	private String digest(String content) throws Exception {
+		return ArtifactResultCache.digest(writeArtifact(content.replace(' ', '_') + ".jar", content));
+	}
+
+	private Path writeArtifact(String name, String content) throws Exception {
+		Path artifact = temporaryFolder.getRoot().toPath().resolve(name);
+		Files.write(artifact, content.getBytes(UTF_8));
+		return artifact;
+	}
+
+}
@@ -0,0 +1,146 @@
+package org.codefx.mvn.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.violation;
+
+/**
+ * Tests {@link IncrementalScan}.
+ */
+public class IncrementalScanTest {
+
+	private static final Violation FOO_VIOLATION = violation("com.foo.Foo", "sun.misc.Unsafe");
+	private static final Violation BAR_VIOLATION = violation("com.foo.Bar", "sun.misc.BASE64Decoder");
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path cacheFolder;
+	private Path classes;
+	private Path fooClass;
+	private Path barClass;
+
+	@Before
+	public void setUp() throws Exception {
+		cacheFolder = temporaryFolder.getRoot().toPath().resolve("cache");
+		classes = temporaryFolder.newFolder("classes").toPath();
+		Path fooPackage = Files.createDirectories(classes.resolve("com/foo"));
+		fooClass = Files.write(fooPackage.resolve("Foo.class"), new byte[] { 1, 2, 3 });
+		barClass = Files.write(fooPackage.resolve("Bar.class"), new byte[] { 4, 5, 6 });
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void prepare_cacheFolderNull_throwsException() throws Exception {
+		IncrementalScan.prepare(null, "1.8", classes);
+	}
+
+	@Test
+	public void prepare_noState_scansAllClassFiles() throws Exception {
+		IncrementalScan scan = IncrementalScan.prepare(cacheFolder, "1.8", classes);
+
+		assertThat(scan.pathsToScan()).containsOnly(fooClass, barClass);
+	}
+
+	@Test
+	public void complete_noState_returnsScannedViolations() throws Exception {
+		IncrementalScan scan = IncrementalScan.prepare(cacheFolder, "1.8", classes);
+
+		ImmutableList<Violation> violations = scan.complete(ImmutableList.of(FOO_VIOLATION, BAR_VIOLATION));
+
+		assertThat(violations).containsOnly(FOO_VIOLATION, BAR_VIOLATION);
+	}
+
+	@Test
+	public void prepare_nothingChanged_scansNothing() throws Exception {
+		IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of(FOO_VIOLATION));
+
+		IncrementalScan scan = IncrementalScan.prepare(cacheFolder, "1.8", classes);
+
+		assertThat(scan.pathsToScan()).isEmpty();
+	}
+
+	@Test
+	public void complete_nothingChanged_returnsStoredViolations() throws Exception {
+		IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of(FOO_VIOLATION, BAR_VIOLATION));
+
+		ImmutableList<Violation> violations =
+				IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of());
+
+		assertThat(violations).containsOnly(FOO_VIOLATION, BAR_VIOLATION);
+	}
+
+	@Test
+	public void prepare_classFileChanged_scansChangedClassFile() throws Exception {
+		IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of(FOO_VIOLATION));
+		Files.write(fooClass, new byte[] { 1, 2, 3, 4 });
+
+		IncrementalScan scan = IncrementalScan.prepare(cacheFolder, "1.8", classes);
+
+		assertThat(scan.pathsToScan()).containsExactly(fooClass);
+	}
+
+	@Test
+	public void complete_classFileChanged_replacesItsViolations() throws Exception {
+		IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of(FOO_VIOLATION, BAR_VIOLATION));
+		Files.write(fooClass, new byte[] { 1, 2, 3, 4 });
+
+		ImmutableList<Violation> violations =
+				IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of());
+
+		assertThat(violations).containsExactly(BAR_VIOLATION);
+	}
+
+	@Test
+	public void complete_classFileRemoved_dropsItsViolations() throws Exception {
+		IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of(FOO_VIOLATION, BAR_VIOLATION));
+		Files.delete(barClass);
+
+		IncrementalScan scan = IncrementalScan.prepare(cacheFolder, "1.8", classes);
+		ImmutableList<Violation> violations = scan.complete(ImmutableList.of());
+
+		assertThat(scan.pathsToScan()).isEmpty();
+		assertThat(violations).containsExactly(FOO_VIOLATION);
+	}
+
+	@Test
+	public void prepare_jDepsVersionChanged_scansAllClassFiles() throws Exception {
+		IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of(FOO_VIOLATION));
+
+		IncrementalScan scan = IncrementalScan.prepare(cacheFolder, "9", classes);
+
+		assertThat(scan.pathsToScan()).containsOnly(fooClass, barClass);
+	}
+
+	@Test
+	public void prepare_stateCorrupt_scansAllClassFiles() throws Exception {
+		IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of(FOO_VIOLATION));
+		Path stateFile = cacheFolder.resolve("incremental.state");
+		Files.write(stateFile, ImmutableList.of(Files.readAllLines(stateFile).get(0), "=garbage"));
+
+		IncrementalScan scan = IncrementalScan.prepare(cacheFolder, "1.8", classes);
+
+		assertThat(scan.pathsToScan()).containsOnly(fooClass, barClass);
+	}
+
+	@Test
+	public void complete_violationOfUnknownClassFile_nextScanScansAllClassFiles() throws Exception {
+		Violation unknownViolation = violation("com.foo.Unknown", "sun.misc.Unsafe");
+		ImmutableList<Violation> violations =
+				IncrementalScan.prepare(cacheFolder, "1.8", classes).complete(ImmutableList.of(unknownViolation));
+
+		IncrementalScan scan = IncrementalScan.prepare(cacheFolder, "1.8", classes);
+
+		assertThat(violations).containsExactly(unknownViolation);
+		assertThat(scan.pathsToScan()).containsOnly(fooClass, barClass);
+	}
+
+}
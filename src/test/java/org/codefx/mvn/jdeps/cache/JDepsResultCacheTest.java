@@ -0,0 +1,132 @@
+package org.codefx.mvn.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onActionsViolation;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link JDepsResultCache}.
+ */
+public class JDepsResultCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path cacheFolder;
+	private JDepsResultCache cache;
+
+	@Before
+	public void setUp() throws Exception {
+		cacheFolder = temporaryFolder.getRoot().toPath().resolve("cache");
+		cache = new JDepsResultCache(cacheFolder);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_cacheFolderNull_throwsException() {
+		new JDepsResultCache(null);
+	}
+
+	@Test
+	public void get_cacheEmpty_returnsEmpty() throws Exception {
+		Optional<ImmutableList<Violation>> violations = cache.get("key");
+
+		assertThat(violations).isEmpty();
+	}
+
+	@Test
+	public void get_sameKey_returnsViolations() throws Exception {
+		cache.put("key", ImmutableList.of(onActionsViolation(), onUnsafeViolation()));
+
+		Optional<ImmutableList<Violation>> violations = cache.get("key");
+
+		assertThat(violations).isPresent();
+		assertThat(violations.get()).containsExactly(onActionsViolation(), onUnsafeViolation());
+	}
+
+	@Test
+	public void get_otherKey_returnsEmpty() throws Exception {
+		cache.put("key", ImmutableList.of(onActionsViolation()));
+
+		Optional<ImmutableList<Violation>> violations = cache.get("other key");
+
+		assertThat(violations).isEmpty();
+	}
+
+	@Test
+	public void get_noViolationsCached_returnsEmptyList() throws Exception {
+		cache.put("key", ImmutableList.of());
+
+		Optional<ImmutableList<Violation>> violations = cache.get("key");
+
+		assertThat(violations).isPresent();
+		assertThat(violations.get()).isEmpty();
+	}
+
+	@Test
+	public void get_categoryAndSourceCached_returnsThem() throws Exception {
+		InternalType unsafe = InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+		cache.put("key", ImmutableList.of(Violation.buildFor(Type.of("com.foo.Bar"), ImmutableList.of(unsafe))));
+
+		InternalType cachedUnsafe = cache.get("key").get().get(0).getInternalDependencies().get(0);
+
+		assertThat(cachedUnsafe).isEqualTo(unsafe);
+		assertThat(cachedUnsafe.getCategory()).isEqualTo("JDK internal API");
+		assertThat(cachedUnsafe.getSource()).isEqualTo("rt.jar");
+	}
+
+	@Test
+	public void put_twice_replacesEntry() throws Exception {
+		cache.put("key", ImmutableList.of(onActionsViolation()));
+		cache.put("new key", ImmutableList.of(onUnsafeViolation()));
+
+		assertThat(cache.get("key")).isEmpty();
+		assertThat(cache.get("new key").get()).containsExactly(onUnsafeViolation());
+	}
+
+	@Test
+	public void createKey_classFileChanged_keyChanges() throws Exception {
+		Path classes = temporaryFolder.newFolder("classes").toPath();
+		Path classFile = classes.resolve("Foo.class");
+		Files.write(classFile, new byte[] { 1, 2, 3 });
+		String key = JDepsResultCache.createKey("1.8", classes);
+
+		Files.write(classFile, new byte[] { 1, 2, 4 });
+		String changedKey = JDepsResultCache.createKey("1.8", classes);
+
+		assertThat(changedKey).isNotEqualTo(key);
+	}
+
+	@Test
+	public void createKey_jDepsVersionChanged_keyChanges() throws Exception {
+		Path classes = temporaryFolder.newFolder("classes").toPath();
+		Files.write(classes.resolve("Foo.class"), new byte[] { 1, 2, 3 });
+
+		assertThat(JDepsResultCache.createKey("1.8", classes))
+				.isNotEqualTo(JDepsResultCache.createKey("9", classes));
+	}
+
+	@Test
+	public void createKey_nonClassFileChanged_keyUnchanged() throws Exception {
+		Path classes = temporaryFolder.newFolder("classes").toPath();
+		Files.write(classes.resolve("Foo.class"), new byte[] { 1, 2, 3 });
+		String key = JDepsResultCache.createKey("1.8", classes);
+
+		Files.write(classes.resolve("foo.properties"), new byte[] { 1 });
+
+		assertThat(JDepsResultCache.createKey("1.8", classes)).isEqualTo(key);
+	}
+
+}
@@ -0,0 +1,64 @@
+package org.codefx.mvn.jdeps.dependency;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InternalType}.
+ */
+public class InternalTypeTest {
+
+	@Test(expected = NullPointerException.class)
+	public void of_categoryNull_throwsException() {
+		InternalType.of("sun.misc", "Unsafe", null, "rt.jar");
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void of_fullNameNull_throwsException() {
+		InternalType.of(null, "JDK internal API", "rt.jar");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void of_fullNameWithoutDot_throwsException() {
+		InternalType.of("Unsafe", "JDK internal API", "rt.jar");
+	}
+
+	@Test
+	public void of_fullName_splitsIntoPackageAndClassName() {
+		InternalType type = InternalType.of("sun.misc.Unsafe", "JDK internal API", "rt.jar");
+
+		assertThat(type.getPackageName()).isEqualTo("sun.misc");
+		assertThat(type.getClassName()).isEqualTo("Unsafe");
+		assertThat(type.getCategory()).isEqualTo("JDK internal API");
+		assertThat(type.getSource()).isEqualTo("rt.jar");
+	}
+
+	@Test
+	public void of_sameArgumentsTwice_returnsSameInstance() {
+		InternalType split = InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+		InternalType full = InternalType.of("sun.misc.Unsafe", "JDK internal API", "rt.jar");
+
+		assertThat(full).isSameAs(split);
+	}
+
+	@Test
+	public void of_differentSource_returnsTypeWithThatSource() {
+		InternalType rtJar = InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+		InternalType jdkUnsupported = InternalType.of("sun.misc.Unsafe", "JDK internal API", "jdk.unsupported");
+
+		assertThat(jdkUnsupported).isNotSameAs(rtJar);
+		assertThat(jdkUnsupported.getSource()).isEqualTo("jdk.unsupported");
+		assertThat(rtJar.getSource()).isEqualTo("rt.jar");
+	}
+
+	@Test
+	public void of_differentSources_eachTypeStaysShared() {
+		InternalType first = InternalType.of("sun.shared", "Unsafe", "JDK internal API", "rt.jar");
+		InternalType other = InternalType.of("sun.shared.Unsafe", "JDK internal API", "jdk.unsupported");
+
+		assertThat(InternalType.of("sun.shared.Unsafe", "JDK internal API", "rt.jar")).isSameAs(first);
+		assertThat(InternalType.of("sun.shared", "Unsafe", "JDK internal API", "jdk.unsupported")).isSameAs(other);
+	}
+
+}
@@ -108,4 +108,50 @@ public class TypeTest {
 		assertThat(other.compareTo(one)).isZero();
 	}
 
+	@Test
+	public void of_sameNameTwice_returnsSameInstance() throws Exception {
+		Type one = Type.of("java.lang", "Object");
+		Type other = Type.of("java.lang", "Object");
+
+		assertThat(one).isSameAs(other);
+	}
+
+	@Test
+	public void of_fullNameAndSplitName_returnsSameInstance() throws Exception {
+		Type split = Type.of("java.lang", "Object");
+		Type full = Type.of("java.lang.Object");
+
+		assertThat(full).isSameAs(split);
+	}
+
+	@Test
+	public void of_fullNameSplitDifferently_returnsDifferentTypes() throws Exception {
+		Type nested = Type.of("java.util", "Map.Entry");
+		Type full = Type.of("java.util.Map.Entry");
+
+		assertThat(nested.getFullyQualifiedName()).isEqualTo(full.getFullyQualifiedName());
+		assertThat(full.getPackageName()).isEqualTo("java.util.Map");
+		assertThat(full.getClassName()).isEqualTo("Entry");
+		assertThat(full).isNotEqualTo(nested);
+	}
+
+	@Test
+	public void of_nameSplitDifferently_bothSplitsStayShared() throws Exception {
+		Type first = Type.of("org.codefx.shared", "Outer.Inner");
+		Type other = Type.of("org.codefx.shared.Outer", "Inner");
+
+		assertThat(other).isNotEqualTo(first);
+		assertThat(Type.of("org.codefx.shared", "Outer.Inner")).isSameAs(first);
+		assertThat(Type.of("org.codefx.shared.Outer.Inner")).isSameAs(other);
+	}
+
+	@Test
+	public void of_internalTypeWithSameName_returnsType() throws Exception {
+		InternalType internal = InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+		Type type = Type.of("sun.misc.Unsafe");
+
+		assertThat(type).isNotSameAs(internal).isEqualTo(internal);
+		assertThat(type.getClass()).isEqualTo(Type.class);
+	}
+
 }
@@ -1,7 +1,10 @@
 package org.codefx.mvn.jdeps.mojo;
 
+import org.codefx.mvn.jdeps.rules.CachingDependencyJudge;
+import org.codefx.mvn.jdeps.rules.DependencyJudge;
 import org.codefx.mvn.jdeps.rules.DependencyJudgeBuilder;
 import org.codefx.mvn.jdeps.rules.DependencyRule;
+import org.codefx.mvn.jdeps.rules.PackageInclusion;
 import org.codefx.mvn.jdeps.rules.Severity;
 import org.codefx.mvn.jdeps.rules.XmlRule;
 import org.codehaus.plexus.classworlds.launcher.ConfigurationException;
@@ -11,6 +14,7 @@ import org.junit.Test;
 import java.util.Arrays;
 import java.util.List;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
@@ -121,4 +125,28 @@ public class DependencyRulesConfigurationTest {
 
 	// #end ARROW RULES
 
+	// #begin CREATE JUDGE
+
+	@Test
+	public void createJudge_severitiesNotCached_returnsUncachedJudge() throws Exception {
+		DependencyRulesConfiguration configuration = new DependencyRulesConfiguration(
+				Severity.WARN, PackageInclusion.FLAT, emptyList(), singletonList("com.foo -> sun.misc: FAIL"));
+
+		assertThat(configuration.createJudge()).isNotInstanceOf(CachingDependencyJudge.class);
+	}
+
+	@Test
+	public void createJudge_severitiesCached_returnsCachingJudgeWithSameSeverities() throws Exception {
+		DependencyRulesConfiguration configuration = new DependencyRulesConfiguration(
+				Severity.WARN, PackageInclusion.FLAT, emptyList(), singletonList("com.foo -> sun.misc: FAIL"), true);
+
+		DependencyJudge judge = configuration.createJudge();
+
+		assertThat(judge).isInstanceOf(CachingDependencyJudge.class);
+		assertThat(judge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe")).isEqualTo(Severity.FAIL);
+		assertThat(judge.judgeSeverity("com.bar.Foo", "sun.misc.Unsafe")).isEqualTo(Severity.WARN);
+	}
+
+	// #end CREATE JUDGE
+
 }
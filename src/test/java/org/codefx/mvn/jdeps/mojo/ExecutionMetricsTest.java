@@ -0,0 +1,152 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.mojo.ExecutionMetrics.Measurement;
+import org.codefx.mvn.jdeps.mojo.ExecutionMetrics.Phase;
+import org.codefx.mvn.jdeps.result.ViolationSink;
+import org.codefx.mvn.jdeps.rules.DependencyJudge;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link ExecutionMetrics}.
+ */
+public class ExecutionMetricsTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private ExecutionMetrics metrics;
+
+	@Before
+	public void createMetrics() {
+		metrics = new ExecutionMetrics();
+	}
+
+	@Test
+	public void start_stopped_addsTimeToPhase() throws Exception {
+		Measurement scanning = metrics.start(Phase.SCAN);
+		Thread.sleep(10);
+		scanning.stop();
+
+		assertThat(metrics.nanos(Phase.SCAN)).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(10));
+		assertThat(metrics.nanos(Phase.JUDGE)).isEqualTo(0);
+		assertThat(metrics.totalNanos()).isGreaterThanOrEqualTo(metrics.nanos(Phase.SCAN));
+	}
+
+	@Test
+	public void start_nestedPhase_timeIsOnlyAddedToNestedPhase() throws Exception {
+		Measurement scanning = metrics.start(Phase.SCAN);
+		Measurement outputting = metrics.start(Phase.OUTPUT);
+		Thread.sleep(50);
+		outputting.stop();
+		scanning.stop();
+
+		assertThat(metrics.nanos(Phase.OUTPUT)).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(50));
+		assertThat(metrics.nanos(Phase.SCAN)).isLessThan(MILLISECONDS.toNanos(50));
+	}
+
+	@Test
+	public void countLine_fromSeveralThreads_countsAllLines() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> countedLines = new ArrayList<>();
+			for (int i = 0; i < 1000; i++)
+				countedLines.add(executor.submit(() -> metrics.countLine("line")));
+			for (Future<?> countedLine : countedLines)
+				countedLine.get();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(metrics.lines()).isEqualTo(1000);
+	}
+
+	@Test
+	public void countJudgements_judged_countsSeverities() throws Exception {
+		DependencyJudge judge = metrics.countJudgements(
+				(dependent, dependency) -> dependent.startsWith("com") ? Severity.WARN : Severity.FAIL);
+
+		judge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe");
+		judge.judgeSeverity("com.foo.Baz", "sun.misc.Unsafe");
+		judge.judgeSeverity("org.foo.Bar", "sun.misc.Unsafe");
+
+		assertThat(metrics.judgements(Severity.WARN)).isEqualTo(2);
+		assertThat(metrics.judgements(Severity.FAIL)).isEqualTo(1);
+		assertThat(metrics.judgements(Severity.IGNORE)).isEqualTo(0);
+		assertThat(metrics.dependencies()).isEqualTo(3);
+	}
+
+	@Test
+	public void measureJudging_judgingOutputsViolation_countsViolationAndExcludesOutputTime() throws Exception {
+		ViolationSink sink = metrics.measureOutput(new ViolationSink() {
+			@Override
+			public void accept(Severity severity, Violation violation) {
+				sleep(50);
+			}
+
+			@Override
+			public void finish() {
+			}
+		});
+		Consumer<Violation> judging = metrics.measureJudging(violation -> sink.accept(Severity.WARN, violation));
+
+		judging.accept(onUnsafeViolation());
+
+		assertThat(metrics.violations()).isEqualTo(1);
+		assertThat(metrics.nanos(Phase.OUTPUT)).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(50));
+		assertThat(metrics.nanos(Phase.JUDGE)).isLessThan(MILLISECONDS.toNanos(50));
+	}
+
+	@Test
+	public void toJson_containsAllMetrics() throws Exception {
+		metrics.countLine("line");
+		metrics.countJudgements((dependent, dependency) -> Severity.INFORM).judgeSeverity("com.Foo", "sun.Bar");
+
+		String json = metrics.toJson();
+
+		assertThat(json)
+				.contains("\"totalNanos\": ")
+				.contains("\"createJudge\": 0", "\"findScanner\": 0", "\"scan\": 0", "\"judge\": 0", "\"output\": 0")
+				.contains("\"lines\": 1", "\"violations\": 0", "\"dependencies\": 1")
+				.contains("\"INFORM\": 1", "\"FAIL\": 0");
+	}
+
+	@Test
+	public void writeJson_folderDoesNotExist_createsFolderAndFile() throws Exception {
+		Path file = temporaryFolder.getRoot().toPath().resolve("target").resolve("jdeps-metrics.json");
+
+		metrics.writeJson(file);
+
+		// the total time keeps running, so the file can not be compared to another call of 'toJson'
+		assertThat(new String(Files.readAllBytes(file), UTF_8))
+				.startsWith("{")
+				.contains("\"totalNanos\": ", "\"lines\": 0");
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
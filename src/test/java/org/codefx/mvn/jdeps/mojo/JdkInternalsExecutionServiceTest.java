@@ -1,17 +1,30 @@
 package org.codefx.mvn.jdeps.mojo;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.Resources;
 import org.assertj.core.api.Assertions;
 import org.codefx.mvn.jdeps.dependency.Violation;
 import org.codefx.mvn.jdeps.result.Result;
+import org.codefx.mvn.jdeps.result.ViolationSink;
 import org.codefx.mvn.jdeps.rules.PackageInclusion;
 import org.codefx.mvn.jdeps.rules.Severity;
+import org.codefx.mvn.jdeps.tool.jdeps.JDepsExecution;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 import static org.codefx.mvn.jdeps.Factory.onActionsViolation;
@@ -25,6 +38,9 @@ import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
  */
 public class JdkInternalsExecutionServiceTest {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private static final Path PATH_TO_SCANNED_FOLDER;
 
 	static {
@@ -54,6 +70,242 @@ public class JdkInternalsExecutionServiceTest {
 		Assertions.assertThat(violations(result, Severity.FAIL)).isEmpty();
 	}
 
+	@Test
+	public void executeForReactor_internalDependenciesExist_judgesThemByModuleRules() throws Exception {
+		ReactorModule module = new ReactorModule(
+				"test-project",
+				PATH_TO_SCANNED_FOLDER,
+				new DependencyRulesConfiguration(
+						Severity.FAIL, PackageInclusion.HIERARCHICAL,
+						Collections.emptyList(), Collections.emptyList()));
+
+		Map<ReactorModule, Result> results = JdkInternalsExecutionService.executeForReactor(
+				Collections.singletonList(module), JDepsExecution.BYTECODE, 1, Optional.empty());
+
+		Assertions.assertThat(results).containsOnlyKeys(module);
+		Assertions.assertThat(violations(results.get(module), Severity.WARN)).isEmpty();
+		Assertions.assertThat(violations(results.get(module), Severity.FAIL)).containsOnly(
+				onActionsViolation(),
+				onBASE64Violation(),
+				onUnsafeViolation()
+		);
+	}
+
+	@Test
+	public void executeForReactor_twoModulesWithDifferentRules_judgesEachByItsOwnRules() throws Exception {
+		// both modules contain the same classes, so the violations can only be told apart by their module's folder
+		ReactorModule failingModule = new ReactorModule(
+				"failing",
+				PATH_TO_SCANNED_FOLDER,
+				new DependencyRulesConfiguration(
+						Severity.FAIL, PackageInclusion.HIERARCHICAL,
+						Collections.emptyList(), Collections.emptyList()));
+		ReactorModule warningModule = new ReactorModule(
+				"warning",
+				copyFolder(PATH_TO_SCANNED_FOLDER, temporaryFolder.getRoot().toPath().resolve("classes")),
+				new DependencyRulesConfiguration(
+						Severity.WARN, PackageInclusion.HIERARCHICAL,
+						Collections.emptyList(), ImmutableList.of("org.codefx -> sun.misc.Unsafe: IGNORE")));
+
+		Map<ReactorModule, Result> results = JdkInternalsExecutionService.executeForReactor(
+				ImmutableList.of(failingModule, warningModule), JDepsExecution.BYTECODE, 1, Optional.empty());
+
+		Assertions.assertThat(violations(results.get(failingModule), Severity.WARN)).isEmpty();
+		Assertions.assertThat(violations(results.get(failingModule), Severity.FAIL)).containsOnly(
+				onActionsViolation(),
+				onBASE64Violation(),
+				onUnsafeViolation()
+		);
+		Assertions.assertThat(violations(results.get(warningModule), Severity.FAIL)).isEmpty();
+		Assertions.assertThat(violations(results.get(warningModule), Severity.WARN)).containsOnly(
+				onActionsViolation(),
+				onBASE64Violation()
+		);
+		Assertions.assertThat(violations(results.get(warningModule), Severity.IGNORE)).containsOnly(
+				onUnsafeViolation()
+		);
+	}
+
+	@Test
+	public void executeForReactor_modulesWithDifferentClasses_attributesViolationsByFolder() throws Exception {
+		Path unsafeFolder = temporaryFolder.newFolder("unsafe").toPath();
+		Path otherFolder = copyFolder(PATH_TO_SCANNED_FOLDER, temporaryFolder.getRoot().toPath().resolve("other"));
+		Path onUnsafe = Paths.get("org", "codefx", "mvn", "jdeps", "testproject", "OnUnsafe.class");
+		Files.createDirectories(unsafeFolder.resolve(onUnsafe).getParent());
+		Files.move(otherFolder.resolve(onUnsafe), unsafeFolder.resolve(onUnsafe));
+		ReactorModule unsafeModule = new ReactorModule(
+				"unsafe",
+				unsafeFolder,
+				new DependencyRulesConfiguration(
+						Severity.FAIL, PackageInclusion.HIERARCHICAL,
+						Collections.emptyList(), Collections.emptyList()));
+		ReactorModule otherModule = new ReactorModule(
+				"other",
+				otherFolder,
+				new DependencyRulesConfiguration(
+						Severity.WARN, PackageInclusion.HIERARCHICAL,
+						Collections.emptyList(), Collections.emptyList()));
+
+		Map<ReactorModule, Result> results = JdkInternalsExecutionService.executeForReactor(
+				ImmutableList.of(unsafeModule, otherModule), JDepsExecution.BYTECODE, 1, Optional.empty());
+
+		Assertions.assertThat(violations(results.get(unsafeModule), Severity.FAIL)).containsOnly(
+				onUnsafeViolation()
+		);
+		Assertions.assertThat(violations(results.get(unsafeModule), Severity.WARN)).isEmpty();
+		Assertions.assertThat(violations(results.get(otherModule), Severity.FAIL)).isEmpty();
+		Assertions.assertThat(violations(results.get(otherModule), Severity.WARN)).containsOnly(
+				onActionsViolation(),
+				onBASE64Violation()
+		);
+	}
+
+	@Test
+	public void execute_withMetrics_countsLinesViolationsAndJudgements() throws Exception {
+		ExecutionMetrics metrics = new ExecutionMetrics();
+		List<Violation> violations = new ArrayList<>();
+
+		JdkInternalsExecutionService.execute(
+				ScanConfiguration.forFolder(PATH_TO_SCANNED_FOLDER),
+				new DependencyRulesConfiguration(
+						Severity.WARN, PackageInclusion.HIERARCHICAL,
+						Collections.emptyList(), Collections.emptyList()),
+				metrics.measureOutput(new ViolationSink() {
+					@Override
+					public void accept(Severity severity, Violation violation) {
+						violations.add(violation);
+					}
+
+					@Override
+					public void finish() {
+					}
+				}),
+				metrics);
+
+		Assertions.assertThat(metrics.lines()).isPositive();
+		Assertions.assertThat(metrics.violations()).isEqualTo(3);
+		long dependencies = violations.stream()
+				.mapToLong(violation -> violation.getInternalDependencies().size())
+				.sum();
+		Assertions.assertThat(metrics.dependencies())
+				.isEqualTo(metrics.judgements(Severity.WARN))
+				.isEqualTo(dependencies);
+	}
+
+	@Test
+	public void execute_prefilterClassFiles_findsSameViolations() throws Exception {
+		ScanConfiguration prefilter = new ScanConfiguration(
+				PATH_TO_SCANNED_FOLDER,
+				JDepsExecution.IN_PROCESS,
+				Optional.empty(),
+				false,
+				1,
+				true,
+				Optional.empty(),
+				Optional.empty(),
+				ImmutableList.of(),
+				Optional.empty());
+
+		Result result = JdkInternalsExecutionService.execute(
+				prefilter,
+				new DependencyRulesConfiguration(
+						Severity.WARN, PackageInclusion.HIERARCHICAL,
+						Collections.emptyList(), Collections.emptyList()));
+
+		Assertions.assertThat(violations(result, Severity.WARN)).containsOnly(
+				onActionsViolation(),
+				onBASE64Violation(),
+				onUnsafeViolation()
+		);
+	}
+
+	@Test
+	public void scanThenJudge_internalDependenciesExist_judgesScannedViolations() throws Exception {
+		ExecutionMetrics metrics = new ExecutionMetrics();
+		List<Violation> judgedViolations = new ArrayList<>();
+
+		ImmutableList<Violation> scannedViolations =
+				JdkInternalsExecutionService.scan(ScanConfiguration.forFolder(PATH_TO_SCANNED_FOLDER));
+		JdkInternalsExecutionService.judge(
+				scannedViolations,
+				new DependencyRulesConfiguration(
+						Severity.WARN, PackageInclusion.HIERARCHICAL,
+						Collections.emptyList(), Collections.emptyList()),
+				new ViolationSink() {
+					@Override
+					public void accept(Severity severity, Violation violation) {
+						Assertions.assertThat(severity).isEqualTo(Severity.WARN);
+						judgedViolations.add(violation);
+					}
+
+					@Override
+					public void finish() {
+					}
+				},
+				metrics);
+
+		Assertions.assertThat(scannedViolations).containsOnly(
+				onActionsViolation(),
+				onBASE64Violation(),
+				onUnsafeViolation()
+		);
+		Assertions.assertThat(judgedViolations).containsExactlyElementsOf(scannedViolations);
+		Assertions.assertThat(metrics.violations()).isEqualTo(3);
+	}
+
+	@Test
+	public void execute_scanDependencyArtifacts_cachesAndReusesTheirViolations() throws Exception {
+		Path artifact = createJar(PATH_TO_SCANNED_FOLDER, temporaryFolder.getRoot().toPath().resolve("dependency.jar"));
+		Path artifactCacheFolder = temporaryFolder.getRoot().toPath().resolve("artifact-cache");
+		ScanConfiguration scanDependency = new ScanConfiguration(
+				temporaryFolder.newFolder("classes").toPath(),
+				JDepsExecution.BYTECODE,
+				Optional.empty(),
+				false,
+				1,
+				false,
+				Optional.empty(),
+				Optional.empty(),
+				ImmutableList.of(artifact),
+				Optional.of(artifactCacheFolder));
+		DependencyRulesConfiguration rules = new DependencyRulesConfiguration(
+				Severity.WARN, PackageInclusion.HIERARCHICAL, Collections.emptyList(), Collections.emptyList());
+
+		Result scanned = JdkInternalsExecutionService.execute(scanDependency, rules);
+		Result cached = JdkInternalsExecutionService.execute(scanDependency, rules);
+
+		Assertions.assertThat(violations(scanned, Severity.WARN)).containsOnly(
+				onActionsViolation(),
+				onBASE64Violation(),
+				onUnsafeViolation()
+		);
+		Assertions.assertThat(violations(cached, Severity.WARN))
+				.containsExactlyElementsOf(violations(scanned, Severity.WARN));
+		try (Stream<Path> cacheFiles = Files.walk(artifactCacheFolder)) {
+			Assertions.assertThat(cacheFiles.filter(Files::isRegularFile).count()).isEqualTo(1);
+		}
+	}
+
+	private static Path copyFolder(Path source, Path target) throws IOException {
+		try (Stream<Path> files = Files.walk(source)) {
+			for (Path file : (Iterable<Path>) files::iterator)
+				Files.copy(file, target.resolve(source.relativize(file).toString()));
+		}
+		return target;
+	}
+
+	private static Path createJar(Path classesFolder, Path jar) throws IOException {
+		try (JarOutputStream jarStream = new JarOutputStream(Files.newOutputStream(jar));
+				Stream<Path> files = Files.walk(classesFolder)) {
+			for (Path classFile : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+				jarStream.putNextEntry(new JarEntry(classesFolder.relativize(classFile).toString().replace('\\', '/')));
+				jarStream.write(Files.readAllBytes(classFile));
+				jarStream.closeEntry();
+			}
+		}
+		return jar;
+	}
+
 	private static List<Violation> violations(Result result, Severity severity) {
 		return result.violationsWithSeverity(severity).collect(toList());
 	}
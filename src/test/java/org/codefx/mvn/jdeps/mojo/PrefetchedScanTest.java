@@ -0,0 +1,123 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.tool.jdeps.JDepsExecution;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link PrefetchedScan}.
+ */
+public class PrefetchedScanTest {
+
+	private static final Path SCANNED_FOLDER = Paths.get("target", "classes");
+
+	@Test(expected = NullPointerException.class)
+	public void create_scanConfigurationNull_throwsException() {
+		new PrefetchedScan(null, ImmutableList::of);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_scanNull_throwsException() {
+		new PrefetchedScan(ScanConfiguration.forFolder(SCANNED_FOLDER), null);
+	}
+
+	@Test
+	public void await_scanSucceeds_returnsViolations() throws Exception {
+		PrefetchedScan prefetchedScan = new PrefetchedScan(
+				ScanConfiguration.forFolder(SCANNED_FOLDER), () -> ImmutableList.of(onUnsafeViolation()));
+		prefetchedScan.startInBackground();
+
+		ImmutableList<Violation> violations = prefetchedScan.await();
+
+		assertThat(violations).containsExactly(onUnsafeViolation());
+	}
+
+	@Test(expected = CommandLineException.class)
+	public void await_scanFails_throwsException() throws Exception {
+		PrefetchedScan prefetchedScan = new PrefetchedScan(ScanConfiguration.forFolder(SCANNED_FOLDER), () -> {
+			throw new CommandLineException("jdeps failed");
+		});
+		prefetchedScan.startInBackground();
+
+		prefetchedScan.await();
+	}
+
+	@Test
+	public void takeFrom_afterStore_returnsScanOnce() throws Exception {
+		Map<Object, Object> pluginContext = new HashMap<>();
+		PrefetchedScan prefetchedScan = scanWithoutViolations();
+		prefetchedScan.storeIn(pluginContext);
+
+		assertThat(PrefetchedScan.takeFrom(pluginContext)).contains(prefetchedScan);
+		assertThat(PrefetchedScan.takeFrom(pluginContext)).isEmpty();
+	}
+
+	@Test
+	public void takeFrom_emptyContext_returnsEmpty() throws Exception {
+		assertThat(PrefetchedScan.takeFrom(new HashMap<>())).isEmpty();
+	}
+
+	@Test
+	public void takeFrom_nullContext_returnsEmpty() throws Exception {
+		assertThat(PrefetchedScan.takeFrom(null)).isEmpty();
+	}
+
+	@Test
+	public void matches_sameScanDifferentCaching_true() throws Exception {
+		PrefetchedScan prefetchedScan = scanWithoutViolations();
+		ScanConfiguration cachingConfiguration = new ScanConfiguration(
+				SCANNED_FOLDER,
+				JDepsExecution.IN_PROCESS,
+				Optional.of(Paths.get("target", "jdeps-cache")),
+				true,
+				4,
+				false,
+				Optional.empty(),
+				Optional.empty(),
+				ImmutableList.of(),
+				Optional.empty());
+
+		assertThat(prefetchedScan.matches(cachingConfiguration)).isTrue();
+	}
+
+	@Test
+	public void matches_otherFolder_false() throws Exception {
+		PrefetchedScan prefetchedScan = scanWithoutViolations();
+
+		assertThat(prefetchedScan.matches(ScanConfiguration.forFolder(Paths.get("other")))).isFalse();
+	}
+
+	@Test
+	public void matches_otherExecution_false() throws Exception {
+		PrefetchedScan prefetchedScan = scanWithoutViolations();
+		ScanConfiguration bytecodeConfiguration = new ScanConfiguration(
+				SCANNED_FOLDER,
+				JDepsExecution.BYTECODE,
+				Optional.empty(),
+				false,
+				1,
+				false,
+				Optional.empty(),
+				Optional.empty(),
+				ImmutableList.of(),
+				Optional.empty());
+
+		assertThat(prefetchedScan.matches(bytecodeConfiguration)).isFalse();
+	}
+
+	private static PrefetchedScan scanWithoutViolations() {
+		return new PrefetchedScan(ScanConfiguration.forFolder(SCANNED_FOLDER), ImmutableList::of);
+	}
+
+}
@@ -0,0 +1,158 @@
+package org.codefx.mvn.jdeps.mojo;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.codefx.mvn.jdeps.rules.PackageInclusion;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.codefx.mvn.jdeps.rules.XmlRule;
+import org.codehaus.plexus.classworlds.launcher.ConfigurationException;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link ReactorModule}.
+ */
+public class ReactorModuleTest {
+
+	private static final String PLUGIN_KEY = "org.codefx.mvn:jdeps-maven-plugin";
+
+	private static final DependencyRulesConfiguration DEFAULT_CONFIGURATION = new DependencyRulesConfiguration(
+			Severity.WARN,
+			PackageInclusion.FLAT,
+			ImmutableList.of(new XmlRule("com.foo", "sun.misc", Severity.INFORM)),
+			ImmutableList.of("com.foo -> sun.misc: INFORM"));
+
+	@Test
+	public void of_noPluginConfiguration_usesDefaultConfiguration() throws Exception {
+		ReactorModule module = createModule(null);
+
+		assertThat(module.getName()).isEqualTo("module");
+		assertThat(module.getDependencyRulesConfiguration()).isSameAs(DEFAULT_CONFIGURATION);
+	}
+
+	@Test
+	public void of_partialPluginConfiguration_overridesConfiguredValues() throws Exception {
+		ReactorModule module = createModule(""
+				+ "<configuration>"
+				+ "	<defaultSeverity>FAIL</defaultSeverity>"
+				+ "	<arrowDependencyRules>"
+				+ "		<arrowRule>com.bar -> sun.misc: IGNORE</arrowRule>"
+				+ "	</arrowDependencyRules>"
+				+ "</configuration>");
+
+		DependencyRulesConfiguration configuration = module.getDependencyRulesConfiguration();
+
+		assertThat(configuration.getDefaultSeverity()).isEqualTo(Severity.FAIL);
+		assertThat(configuration.getPackageInclusion()).isEqualTo(PackageInclusion.FLAT);
+		assertThat(configuration.getXmlRules()).isEqualTo(DEFAULT_CONFIGURATION.getXmlRules());
+		assertThat(configuration.getArrowRules()).containsExactly("com.bar -> sun.misc: IGNORE");
+	}
+
+	@Test
+	public void of_xmlRulesConfigured_readsThem() throws Exception {
+		ReactorModule module = createModule(""
+				+ "<configuration>"
+				+ "	<xmlDependencyRules>"
+				+ "		<xmlRule>"
+				+ "			<dependent>com.bar</dependent>"
+				+ "			<dependency>sun.misc.Unsafe</dependency>"
+				+ "			<severity>SUMMARIZE</severity>"
+				+ "		</xmlRule>"
+				+ "	</xmlDependencyRules>"
+				+ "</configuration>");
+
+		DependencyRulesConfiguration configuration = module.getDependencyRulesConfiguration();
+
+		assertThat(configuration.getXmlRules()).hasSize(1);
+		XmlRule rule = configuration.getXmlRules().get(0);
+		assertThat(rule.getDependent()).isEqualTo("com.bar");
+		assertThat(rule.getDependency()).isEqualTo("sun.misc.Unsafe");
+		assertThat(rule.getSeverity()).isEqualTo(Severity.SUMMARIZE);
+	}
+
+	@Test(expected = ConfigurationException.class)
+	public void of_invalidSeverity_throwsException() throws Exception {
+		createModule("<configuration><defaultSeverity>NO</defaultSeverity></configuration>");
+	}
+
+	@Test(expected = ConfigurationException.class)
+	public void of_incompleteXmlRule_throwsException() throws Exception {
+		createModule(""
+				+ "<configuration>"
+				+ "	<xmlDependencyRules><xmlRule><dependent>com.bar</dependent></xmlRule></xmlDependencyRules>"
+				+ "</configuration>");
+	}
+
+	@Test
+	public void of_executionsConfigured_usesOnlyThatOfScanningGoal() throws Exception {
+		Plugin plugin = createPlugin("<configuration><packages>HIERARCHICAL</packages></configuration>");
+		plugin.addExecution(createExecution(
+				"other", "<configuration><defaultSeverity>IGNORE</defaultSeverity></configuration>"));
+		plugin.addExecution(createExecution(
+				"jdkinternals", "<configuration><defaultSeverity>FAIL</defaultSeverity></configuration>"));
+
+		DependencyRulesConfiguration configuration = ReactorModule
+				.of("module", Paths.get("classes"), ImmutableList.of(plugin), new Properties(), PLUGIN_KEY,
+						DEFAULT_CONFIGURATION)
+				.getDependencyRulesConfiguration();
+
+		assertThat(configuration.getDefaultSeverity()).isEqualTo(Severity.FAIL);
+		assertThat(configuration.getPackageInclusion()).isEqualTo(PackageInclusion.HIERARCHICAL);
+	}
+
+	@Test
+	public void of_expressionsInConfiguration_evaluatesThem() throws Exception {
+		Plugin plugin = createPlugin(""
+				+ "<configuration>"
+				+ "	<defaultSeverity>${jdeps.severity}</defaultSeverity>"
+				+ "	<arrowDependencyRules>"
+				+ "		<arrowRule>${project.groupId} -> sun.misc: ${unknown}</arrowRule>"
+				+ "	</arrowDependencyRules>"
+				+ "</configuration>");
+		Properties properties = new Properties();
+		properties.setProperty("jdeps.severity", "FAIL");
+		properties.setProperty("project.groupId", "com.foo");
+
+		DependencyRulesConfiguration configuration = ReactorModule
+				.of("module", Paths.get("classes"), ImmutableList.of(plugin), properties, PLUGIN_KEY,
+						DEFAULT_CONFIGURATION)
+				.getDependencyRulesConfiguration();
+
+		assertThat(configuration.getDefaultSeverity()).isEqualTo(Severity.FAIL);
+		assertThat(configuration.getArrowRules()).containsExactly("com.foo -> sun.misc: ${unknown}");
+	}
+
+	private static ReactorModule createModule(String pluginConfiguration) throws Exception {
+		List<Plugin> buildPlugins = pluginConfiguration == null
+				? Collections.emptyList()
+				: ImmutableList.of(createPlugin(pluginConfiguration));
+		return ReactorModule.of(
+				"module", Paths.get("classes"), buildPlugins, new Properties(), PLUGIN_KEY, DEFAULT_CONFIGURATION);
+	}
+
+	private static Plugin createPlugin(String configuration) throws Exception {
+		Plugin plugin = new Plugin();
+		plugin.setGroupId("org.codefx.mvn");
+		plugin.setArtifactId("jdeps-maven-plugin");
+		plugin.setConfiguration(Xpp3DomBuilder.build(new StringReader(configuration)));
+		return plugin;
+	}
+
+	private static PluginExecution createExecution(String goal, String configuration) throws Exception {
+		PluginExecution execution = new PluginExecution();
+		execution.setId(goal);
+		execution.addGoal(goal);
+		execution.setConfiguration(Xpp3DomBuilder.build(new StringReader(configuration)));
+		return execution;
+	}
+
+}
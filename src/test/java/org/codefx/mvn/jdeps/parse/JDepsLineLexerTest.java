@@ -0,0 +1,256 @@
+package org.codefx.mvn.jdeps.parse;
+
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.parse.JDepsLineLexer.LineType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the class {@link JDepsLineLexer}.
+ */
+public class JDepsLineLexerTest {
+
+	/*
+	 * The lexer replaced these patterns, so it must agree with them on every line.
+	 */
+
+	private static final Pattern REPORTED_TYPE_PATTERN = Pattern.compile("\\s+([a-zA-Z_][\\.\\w]*)\\s+.*");
+	private static final Pattern INTERNAL_TYPE_PATTERN = Pattern.compile(
+			"\\s+->\\s+([a-zA-Z_][\\.\\w]*)\\s+(\\w[\\w\\s]*\\w*)\\s\\(([\\w\\.]*)\\).*");
+	private static final Pattern DEPENDENCY_EDGE_PATTERN = Pattern.compile(
+			"\\s+([a-zA-Z_][\\.\\w]*)\\s+->\\s+([a-zA-Z_][\\.\\w]*)\\s+"
+					+ "(?:(\\w[\\w\\s]*\\w*)\\s\\(([\\w\\.]*)\\).*|(\\w[\\w\\s]*?)\\s*)");
+
+	private JDepsLineLexer lexer;
+
+	@Before
+	public void setUp() {
+		lexer = new JDepsLineLexer();
+	}
+
+	@Test
+	public void lex_emptyLine_other() throws Exception {
+		assertThat(lexer.lex("")).isSameAs(LineType.OTHER);
+	}
+
+	@Test
+	public void lex_reportedTypeLine_reportedTypeWithName() throws Exception {
+		LineType lineType = lexer.lex("   org.codefx.lab.App (target)");
+
+		assertThat(lineType).isSameAs(LineType.REPORTED_TYPE);
+		assertThat(lexer.typeName()).isEqualTo("org.codefx.lab.App");
+	}
+
+	@Test
+	public void lex_reportedTypeLineWithoutTrailingSpace_other() throws Exception {
+		assertThat(lexer.lex("   org.codefx.lab.App")).isSameAs(LineType.OTHER);
+	}
+
+	@Test
+	public void lex_internalTypeLine_internalTypeWithParts() throws Exception {
+		LineType lineType = lexer.lex("      -> sun.misc.BASE64Decoder          JDK internal API (rt.jar)");
+
+		assertThat(lineType).isSameAs(LineType.INTERNAL_TYPE);
+		assertThat(lexer.internalType())
+				.isEqualTo(InternalType.of("sun.misc", "BASE64Decoder", "JDK internal API", "rt.jar"));
+	}
+
+	@Test
+	public void lex_internalTypeLineWithTrailingText_internalType() throws Exception {
+		LineType lineType = lexer.lex("\t-> sun.misc.Unsafe JDK internal API (rt.jar) (JDK internal API) ...");
+
+		assertThat(lineType).isSameAs(LineType.INTERNAL_TYPE);
+		assertThat(lexer.internalType())
+				.isEqualTo(InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar"));
+	}
+
+	@Test
+	public void lex_internalTypeLineWithoutSource_other() throws Exception {
+		assertThat(lexer.lex("      -> sun.misc.Unsafe          JDK internal API")).isSameAs(LineType.OTHER);
+	}
+
+	@Test
+	public void lex_dependencyEdgeLine_dependencyEdgeWithParts() throws Exception {
+		LineType lineType = lexer.lex(
+				"   org.codefx.lab.App         -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)");
+
+		assertThat(lineType).isSameAs(LineType.DEPENDENCY_EDGE);
+		assertThat(lexer.reportedType()).isEqualTo(Type.of("org.codefx.lab", "App"));
+		InternalType internalType = lexer.internalType();
+		assertThat(internalType.getPackageName()).isEqualTo("sun.misc");
+		assertThat(internalType.getClassName()).isEqualTo("Unsafe");
+		assertThat(internalType.getCategory()).isEqualTo("JDK internal API");
+		assertThat(internalType.getSource()).isEqualTo("jdk.unsupported");
+	}
+
+	@Test
+	public void lex_dependencyEdgeLineWithoutSource_dependencyEdgeWithEmptySource() throws Exception {
+		LineType lineType = lexer.lex(
+				"   org.codefx.lab.App         -> sun.misc.BASE64Decoder   JDK removed internal API   ");
+
+		assertThat(lineType).isSameAs(LineType.DEPENDENCY_EDGE);
+		assertThat(lexer.reportedType()).isEqualTo(Type.of("org.codefx.lab", "App"));
+		InternalType internalType = lexer.internalType();
+		assertThat(internalType.getCategory()).isEqualTo("JDK removed internal API");
+		assertThat(internalType.getSource()).isEmpty();
+	}
+
+	@Test
+	public void lex_dependencyEdgeLineWithoutCategory_reportedType() throws Exception {
+		assertThat(lexer.lex("   org.codefx.lab.App -> sun.misc.Unsafe ")).isSameAs(LineType.REPORTED_TYPE);
+	}
+
+	@Test
+	public void reportedType_sameNameInLaterLine_sameInstance() throws Exception {
+		lexer.lex("   org.codefx.lab.App (target)");
+		Type first = lexer.reportedType();
+		lexer.lex(" org.codefx.lab.App    (other target)");
+		Type second = lexer.reportedType();
+
+		assertThat(first).isEqualTo(Type.of("org.codefx.lab", "App"));
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void reportedType_nameWithoutDot_throwsException() throws Exception {
+		lexer.lex("   App (target)");
+
+		lexer.reportedType();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void internalType_nameWithoutDot_throwsException() throws Exception {
+		lexer.lex("      -> Unsafe          JDK internal API (rt.jar)");
+
+		lexer.internalType();
+	}
+
+	@Test
+	public void internalType_sameTypeInLaterLineWithOtherPadding_sameInstance() throws Exception {
+		lexer.lex("      -> sun.misc.Unsafe          JDK internal API (rt.jar)");
+		InternalType first = lexer.internalType();
+		lexer.lex("   -> sun.misc.Unsafe JDK internal API (rt.jar)");
+		InternalType second = lexer.internalType();
+
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	public void internalType_sameNameWithOtherSource_otherType() throws Exception {
+		lexer.lex("      -> sun.misc.Unsafe          JDK internal API (rt.jar)");
+		InternalType fromRtJar = lexer.internalType();
+		lexer.lex("      -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)");
+		InternalType fromModule = lexer.internalType();
+
+		assertThat(fromModule).isNotSameAs(fromRtJar);
+		assertThat(fromModule.getSource()).isEqualTo("jdk.unsupported");
+	}
+
+	@Test
+	public void lex_trickyLines_agreesWithPatterns() throws Exception {
+		String[] lines = {
+				" a ",
+				" a",
+				"a b",
+				" 1a b",
+				" _a.b.c\tx",
+				" a.b.C x\n",
+				" a.b.C x y",
+				" -> a.b.C x (y)",
+				"  -> a.b.C x  (y)",
+				"  -> a.b.C x y z (y.z)",
+				"  -> a.b.C x ( (y)",
+				"  -> a.b.C x(y)",
+				"  -> a.b.C  (y)",
+				"  -> a.b.C x (y) z\r",
+				"  ->a.b.C x (y)",
+				"-> a.b.C x (y)",
+				"  -> a.b.C x (y",
+				"  -> a.b.C x\t(y.jar)",
+				"  -> a.b.C x \t (y.jar)",
+				"  -> a.b.C x_1 2 (y-1.jar)",
+				"  -> a.b.C x_1 2 (y_1.jar)",
+				"  -> a.b.C-D x (y)",
+				" a.B -> a.b.C x (y)",
+				" a.B -> a.b.C x y ",
+				" a.B -> a.b.C x y\n",
+				" a.B -> a.b.C x (y",
+				" a.B -> a.b.C x (y) z\r",
+				" a.B -> a.b.C x ( y)",
+				" a.B ->a.b.C x (y)",
+				" a.B-> a.b.C x (y)",
+				"a.B -> a.b.C x (y)",
+				" a.B -> a.b.C",
+				" a.B -> a.b.C  ",
+				" a.B -> a.b.C x$",
+		};
+
+		for (String line : lines)
+			assertAgreesWithPatterns(line);
+	}
+
+	@Test
+	public void lex_randomLines_agreesWithPatterns() throws Exception {
+		char[] alphabet = { ' ', '\t', '-', '>', 'a', 'B', '_', '1', '.', '(', ')', '$', '\n' };
+		String[] lineStarts = { "   -> a.B ", "   a.B ", "   a.B -> a.b.C " };
+		Random random = new Random(42);
+
+		for (int i = 0; i < 20_000; i++) {
+			StringBuilder line = new StringBuilder();
+			// most interesting lines start like jdeps lines
+			if (random.nextBoolean())
+				line.append(lineStarts[random.nextInt(lineStarts.length)]);
+			int length = random.nextInt(20);
+			for (int c = 0; c < length; c++)
+				line.append(alphabet[random.nextInt(alphabet.length)]);
+			assertAgreesWithPatterns(line.toString());
+		}
+	}
+
+	private void assertAgreesWithPatterns(String line) {
+		LineType lineType = lexer.lex(line);
+
+		Matcher internalType = INTERNAL_TYPE_PATTERN.matcher(line);
+		Matcher dependencyEdge = DEPENDENCY_EDGE_PATTERN.matcher(line);
+		Matcher reportedType = REPORTED_TYPE_PATTERN.matcher(line);
+		if (internalType.matches()) {
+			assertThat(lineType).as("Type of '%s'", line).isSameAs(LineType.INTERNAL_TYPE);
+			assertThat(lexer.typeName()).as("Name in '%s'", line).isEqualTo(internalType.group(1));
+			// names without a package can not be turned into internal types
+			if (!internalType.group(1).contains("."))
+				assertThatThrownBy(lexer::internalType).isInstanceOf(IllegalArgumentException.class);
+			else {
+				InternalType lexedType = lexer.internalType();
+				assertThat(lexedType.getCategory()).as("Category in '%s'", line).isEqualTo(internalType.group(2));
+				assertThat(lexedType.getSource()).as("Source in '%s'", line).isEqualTo(internalType.group(3));
+			}
+		} else if (dependencyEdge.matches()) {
+			assertThat(lineType).as("Type of '%s'", line).isSameAs(LineType.DEPENDENCY_EDGE);
+			assertThat(lexer.typeName()).as("Name in '%s'", line).isEqualTo(dependencyEdge.group(2));
+			// names without a package can not be turned into internal types
+			if (!dependencyEdge.group(2).contains("."))
+				assertThatThrownBy(lexer::internalType).isInstanceOf(IllegalArgumentException.class);
+			else {
+				InternalType lexedType = lexer.internalType();
+				boolean hasSource = dependencyEdge.group(3) != null;
+				assertThat(lexedType.getCategory()).as("Category in '%s'", line)
+						.isEqualTo(hasSource ? dependencyEdge.group(3) : dependencyEdge.group(5));
+				assertThat(lexedType.getSource()).as("Source in '%s'", line)
+						.isEqualTo(hasSource ? dependencyEdge.group(4) : "");
+			}
+		} else if (reportedType.matches()) {
+			assertThat(lineType).as("Type of '%s'", line).isSameAs(LineType.REPORTED_TYPE);
+			assertThat(lexer.typeName()).as("Name in '%s'", line).isEqualTo(reportedType.group(1));
+		} else
+			assertThat(lineType).as("Type of '%s'", line).isSameAs(LineType.OTHER);
+	}
+
+}
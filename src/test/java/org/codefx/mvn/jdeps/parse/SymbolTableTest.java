@@ -0,0 +1,76 @@
+package org.codefx.mvn.jdeps.parse;
+
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the class {@link SymbolTable}.
+ */
+public class SymbolTableTest {
+
+	private static final String LINE = "   -> sun.misc.Unsafe   JDK internal API (rt.jar)";
+	private static final int NAME_START = LINE.indexOf("sun");
+	private static final int NAME_END = LINE.indexOf("   JDK");
+	private static final int CATEGORY_START = LINE.indexOf("JDK");
+	private static final int CATEGORY_END = LINE.indexOf(" (");
+	private static final int SOURCE_START = LINE.indexOf("rt.jar");
+	private static final int SOURCE_END = LINE.indexOf(')');
+
+	private SymbolTable<InternalType> table;
+
+	@Before
+	public void setUp() {
+		table = new SymbolTable<>();
+	}
+
+	@Test
+	public void get_emptyTable_null() throws Exception {
+		assertThat(getUnsafe()).isNull();
+	}
+
+	@Test
+	public void get_afterPut_returnsType() throws Exception {
+		InternalType unsafe = InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+		table.put("sun.misc.Unsafe", "JDK internal API", "rt.jar", unsafe);
+
+		assertThat(getUnsafe()).isSameAs(unsafe);
+	}
+
+	@Test
+	public void get_otherSource_null() throws Exception {
+		InternalType unsafe = InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported");
+		table.put("sun.misc.Unsafe", "JDK internal API", "jdk.unsupported", unsafe);
+
+		assertThat(getUnsafe()).isNull();
+	}
+
+	@Test
+	public void get_partsSplitDifferently_null() throws Exception {
+		InternalType unsafe = InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+		table.put("sun.misc.Unsafe", "JDK internal", "API (rt.jar", unsafe);
+
+		assertThat(getUnsafe()).isNull();
+	}
+
+	@Test
+	public void put_manySymbols_growsAndFindsAll() throws Exception {
+		SymbolTable<Type> types = new SymbolTable<>();
+		for (int i = 0; i < 1000; i++)
+			types.put("com.foo.Type" + i, "", "", Type.of("com.foo", "Type" + i));
+
+		assertThat(types.size()).isEqualTo(1000);
+		for (int i = 0; i < 1000; i++) {
+			String line = " com.foo.Type" + i + " ";
+			assertThat(types.get(line, 1, line.length() - 1, 0, 0, 0, 0)).isEqualTo(Type.of("com.foo", "Type" + i));
+		}
+	}
+
+	private InternalType getUnsafe() {
+		return table.get(LINE, NAME_START, NAME_END, CATEGORY_START, CATEGORY_END, SOURCE_START, SOURCE_END);
+	}
+
+}
@@ -4,15 +4,22 @@ import org.codefx.mvn.jdeps.dependency.InternalType;
 import org.codefx.mvn.jdeps.dependency.Type;
 import org.codefx.mvn.jdeps.dependency.Violation;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 
 import java.io.BufferedReader;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.function.Consumer;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -21,6 +28,9 @@ import static org.mockito.Mockito.verifyZeroInteractions;
  */
 public class ViolationParserTest {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private ViolationParser parser;
 
 	private Consumer<Violation> violationVerifier;
@@ -104,6 +114,53 @@ public class ViolationParserTest {
                 .contains(InternalType.of("sun.miSc", "Unsafe", "JDK internal API", "rt.jar"));
     }
 
+	@Test
+	public void parseLine_jdk9Edges_createsViolationPerDependent() throws Exception {
+		String jdk9Output = ""
+				+ "classes -> JDK removed internal API\n"
+				+ "classes -> java.base\n"
+				+ "classes -> jdk.unsupported\n"
+				+ "   org.codefx.lab.App         -> sun.misc.BASE64Decoder       JDK removed internal API\n"
+				+ "   org.codefx.lab.App         -> sun.misc.Unsafe              JDK internal API (jdk.unsupported)\n"
+				+ "   org.codefx.lab.Other       -> sun.security.action.GetIntegerAction "
+				+ "JDK internal API (java.base)\n"
+				+ "\n"
+				+ "Warning: JDK internal APIs are unsupported and private to JDK implementation that are\n";
+		ArgumentCaptor<Violation> violationCaptor = ArgumentCaptor.forClass(Violation.class);
+
+		parseBlock(parser, jdk9Output);
+
+		verify(violationVerifier, times(2)).accept(violationCaptor.capture());
+		Violation app = violationCaptor.getAllValues().get(0);
+		assertThat(app.getDependent()).isEqualTo(Type.of("org.codefx.lab", "App"));
+		assertThat(app.getInternalDependencies())
+				.containsOnly(
+						InternalType.of("sun.misc", "BASE64Decoder", "JDK removed internal API", ""),
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported"));
+		Violation other = violationCaptor.getAllValues().get(1);
+		assertThat(other.getDependent()).isEqualTo(Type.of("org.codefx.lab", "Other"));
+		assertThat(other.getInternalDependencies()).containsOnly(
+				InternalType.of("sun.security.action", "GetIntegerAction", "JDK internal API", "java.base"));
+	}
+
+    @Test
+	public void parseLine_withTrace_writesMarkedLinesToTrace() throws Exception {
+		Path traceFile = temporaryFolder.getRoot().toPath().resolve("target").resolve("trace.txt");
+		String block = ""
+				+ "classes -> java.base\n"
+				+ "   org.codefx.lab.App (target)\n"
+				+ "	      -> sun.misc.Unsafe                                    JDK internal API (rt.jar)\n";
+
+		try (ParseTrace trace = ParseTrace.toFile(traceFile)) {
+			parseBlock(new ViolationParser(violationVerifier, Optional.of(trace)), block);
+		}
+
+		assertThat(Files.readAllLines(traceFile, UTF_8)).containsExactly(
+				"[ ] classes -> java.base",
+				"[d]    org.codefx.lab.App (target)",
+				"[d] 	      -> sun.misc.Unsafe                                    JDK internal API (rt.jar)");
+	}
+
     private static void parseBlock(ViolationParser parser, String block) {
 		new BufferedReader(new StringReader(block))
 				.lines()
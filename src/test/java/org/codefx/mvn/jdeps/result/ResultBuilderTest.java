@@ -0,0 +1,88 @@
+package org.codefx.mvn.jdeps.result;
+
+import org.codefx.mvn.jdeps.rules.DependencyJudge;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.violation;
+
+/**
+ * Tests {@link ResultBuilder} and the {@link Result} it builds.
+ */
+public class ResultBuilderTest {
+
+	private Map<String, Severity> severitiesByDependency;
+	private ResultBuilder builder;
+
+	@Before
+	public void setUp() {
+		severitiesByDependency = new HashMap<>();
+		DependencyJudge judge =
+				(dependent, dependency) -> severitiesByDependency.getOrDefault(dependency, Severity.WARN);
+		builder = new ResultBuilder(judge);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_judgeNull_throwsException() throws Exception {
+		new ResultBuilder(null);
+	}
+
+	@Test
+	public void build_noViolations_resultEmpty() throws Exception {
+		Result result = builder.build();
+
+		for (Severity severity : Severity.values()) {
+			assertThat(result.violationsWithSeverity(severity).collect(toList())).isEmpty();
+			assertThat(result.countDependenciesWithSeverity(severity)).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void build_violationWithSeveralSeverities_splitsViolationBySeverity() throws Exception {
+		severitiesByDependency.put("sun.misc.Unsafe", Severity.FAIL);
+		builder.addViolation(violation("com.foo.Bar", "sun.misc.Unsafe", "sun.misc.BASE64Decoder"));
+
+		Result result = builder.build();
+
+		assertThat(result.violationsToFail().collect(toList()))
+				.containsExactly(violation("com.foo.Bar", "sun.misc.Unsafe"));
+		assertThat(result.violationsToWarn().collect(toList()))
+				.containsExactly(violation("com.foo.Bar", "sun.misc.BASE64Decoder"));
+		assertThat(result.violationsToInform().collect(toList())).isEmpty();
+	}
+
+	@Test
+	public void build_severalViolations_countsDependenciesPerSeverity() throws Exception {
+		severitiesByDependency.put("sun.misc.Unsafe", Severity.IGNORE);
+		builder
+				.addViolation(violation("com.foo.Bar", "sun.misc.Unsafe", "sun.misc.BASE64Decoder"))
+				.addViolation(violation("com.foo.Baz", "sun.misc.Unsafe", "sun.misc.BASE64Encoder"));
+
+		Result result = builder.build();
+
+		assertThat(result.countDependenciesWithSeverity(Severity.IGNORE)).isEqualTo(2);
+		assertThat(result.countDependenciesWithSeverity(Severity.WARN)).isEqualTo(2);
+		assertThat(result.countDependenciesWithSeverity(Severity.FAIL)).isEqualTo(0);
+	}
+
+	@Test
+	public void build_calledRepeatedly_laterResultsContainEarlierViolations() throws Exception {
+		builder.addViolation(violation("com.foo.Bar", "sun.misc.Unsafe"));
+		Result first = builder.build();
+		builder.addViolation(violation("com.foo.Baz", "sun.misc.Unsafe"));
+		Result second = builder.build();
+
+		assertThat(first.violationsToWarn().collect(toList()))
+				.containsExactly(violation("com.foo.Bar", "sun.misc.Unsafe"));
+		assertThat(second.violationsToWarn().collect(toList())).containsExactly(
+				violation("com.foo.Bar", "sun.misc.Unsafe"),
+				violation("com.foo.Baz", "sun.misc.Unsafe"));
+	}
+
+}
@@ -0,0 +1,138 @@
+package org.codefx.mvn.jdeps.result;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.rules.DependencyJudge;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.violation;
+
+/**
+ * Tests {@link ViolationPipeline}.
+ */
+public class ViolationPipelineTest {
+
+	private Map<String, Severity> severitiesByDependency;
+	private DependencyJudge judge;
+	private CollectingSink sink;
+	private ViolationPipeline pipeline;
+
+	@Before
+	public void setUp() {
+		severitiesByDependency = new HashMap<>();
+		judge = (dependent, dependency) -> severitiesByDependency.getOrDefault(dependency, Severity.WARN);
+		sink = new CollectingSink();
+		pipeline = new ViolationPipeline(judge, sink);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_judgeNull_throwsException() throws Exception {
+		new ViolationPipeline(null, sink);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_sinkNull_throwsException() throws Exception {
+		new ViolationPipeline(judge, null);
+	}
+
+	@Test
+	public void accept_allDependenciesWithSameSeverity_passesViolationOnce() throws Exception {
+		pipeline.accept(violation("com.foo.Bar", "sun.misc.Unsafe", "sun.misc.BASE64Decoder"));
+
+		assertThat(sink.severities).containsExactly(Severity.WARN);
+		assertThat(sink.violations).containsExactly(
+				violation("com.foo.Bar", "sun.misc.Unsafe", "sun.misc.BASE64Decoder"));
+	}
+
+	@Test
+	public void accept_dependenciesWithDifferentSeverities_passesViolationPerSeverity() throws Exception {
+		severitiesByDependency.put("sun.misc.Unsafe", Severity.FAIL);
+		severitiesByDependency.put("sun.misc.BASE64Decoder", Severity.IGNORE);
+
+		pipeline.accept(violation("com.foo.Bar", "sun.misc.Unsafe", "sun.misc.BASE64Decoder"));
+
+		assertThat(sink.severities).containsExactly(Severity.IGNORE, Severity.FAIL);
+		assertThat(sink.violations).containsExactly(
+				violation("com.foo.Bar", "sun.misc.BASE64Decoder"),
+				violation("com.foo.Bar", "sun.misc.Unsafe"));
+	}
+
+	@Test
+	public void accept_severalViolations_passesThemImmediately() throws Exception {
+		pipeline.accept(violation("com.foo.Bar", "sun.misc.Unsafe"));
+		assertThat(sink.violations).hasSize(1);
+
+		pipeline.accept(violation("com.foo.Baz", "sun.misc.Unsafe"));
+		assertThat(sink.violations).hasSize(2);
+		assertThat(sink.finished).isFalse();
+	}
+
+	@Test
+	public void andThen_twoSinks_bothReceiveViolationsAndFinishInOrder() throws Exception {
+		List<String> finishedSinks = new ArrayList<>();
+		CollectingSink first = new CollectingSink(() -> finishedSinks.add("first"));
+		CollectingSink second = new CollectingSink(() -> finishedSinks.add("second"));
+		ViolationSink composed = first.andThen(second);
+
+		composed.accept(Severity.INFORM, violation("com.foo.Bar", "sun.misc.Unsafe"));
+		composed.finish();
+
+		assertThat(first.violations).containsExactly(violation("com.foo.Bar", "sun.misc.Unsafe"));
+		assertThat(second.violations).containsExactly(violation("com.foo.Bar", "sun.misc.Unsafe"));
+		assertThat(finishedSinks).containsExactly("first", "second");
+	}
+
+	@Test(expected = MojoFailureException.class)
+	public void failBuildSink_violationToFail_throwsExceptionOnFinish() throws Exception {
+		ViolationSink failBuildSink = new FailBuildResultOutputStrategy().createSink();
+
+		failBuildSink.accept(Severity.FAIL, violation("com.foo.Bar", "sun.misc.Unsafe"));
+		failBuildSink.finish();
+	}
+
+	@Test
+	public void failBuildSink_violationsToWarn_finishes() throws Exception {
+		ViolationSink failBuildSink = new FailBuildResultOutputStrategy().createSink();
+
+		failBuildSink.accept(Severity.WARN, violation("com.foo.Bar", "sun.misc.Unsafe"));
+		failBuildSink.finish();
+	}
+
+	private static class CollectingSink implements ViolationSink {
+
+		private final List<Severity> severities = new ArrayList<>();
+		private final List<Violation> violations = new ArrayList<>();
+		private final Runnable onFinish;
+		private boolean finished;
+
+		CollectingSink() {
+			this(() -> { });
+		}
+
+		CollectingSink(Runnable onFinish) {
+			this.onFinish = onFinish;
+		}
+
+		@Override
+		public void accept(Severity severity, Violation violation) {
+			severities.add(severity);
+			violations.add(violation);
+		}
+
+		@Override
+		public void finish() {
+			finished = true;
+			onFinish.run();
+		}
+
+	}
+
+}
@@ -0,0 +1,114 @@
+package org.codefx.mvn.jdeps.result;
+
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Type;
+import org.codefx.mvn.jdeps.result.ViolationTable.ViolationTableBuilder;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.violation;
+
+/**
+ * Tests {@link ViolationTable}.
+ */
+public class ViolationTableTest {
+
+	private ViolationTableBuilder builder;
+
+	@Before
+	public void createBuilder() {
+		builder = new ViolationTableBuilder();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void addDependency_noViolationAdded_throwsException() throws Exception {
+		builder.addDependency(internalType("sun.misc.Unsafe"), Severity.WARN);
+	}
+
+	@Test
+	public void violationsWithSeverity_violationWithSeveralSeverities_splitsViolation() throws Exception {
+		builder.addViolation(Type.of("com.foo.Bar"))
+				.addDependency(internalType("sun.misc.Unsafe"), Severity.FAIL)
+				.addDependency(internalType("sun.misc.BASE64Decoder"), Severity.WARN)
+				.addDependency(internalType("sun.misc.BASE64Encoder"), Severity.FAIL);
+
+		ViolationTable table = builder.build();
+
+		assertThat(table.violationsWithSeverity(Severity.FAIL).collect(toList()))
+				.containsExactly(violation("com.foo.Bar", "sun.misc.Unsafe", "sun.misc.BASE64Encoder"));
+		assertThat(table.violationsWithSeverity(Severity.WARN).collect(toList()))
+				.containsExactly(violation("com.foo.Bar", "sun.misc.BASE64Decoder"));
+		assertThat(table.violationsWithSeverity(Severity.INFORM).collect(toList())).isEmpty();
+	}
+
+	@Test
+	public void violationsWithSeverity_sameDependentTwice_keepsViolationsApartInOrder() throws Exception {
+		builder.addViolation(Type.of("com.foo.Bar"))
+				.addDependency(internalType("sun.misc.Unsafe"), Severity.WARN)
+				.addViolation(Type.of("com.foo.Baz"))
+				.addDependency(internalType("sun.misc.Unsafe"), Severity.WARN)
+				.addViolation(Type.of("com.foo.Bar"))
+				.addDependency(internalType("sun.misc.BASE64Decoder"), Severity.WARN);
+
+		ViolationTable table = builder.build();
+
+		assertThat(table.violationsWithSeverity(Severity.WARN).collect(toList())).containsExactly(
+				violation("com.foo.Bar", "sun.misc.Unsafe"),
+				violation("com.foo.Baz", "sun.misc.Unsafe"),
+				violation("com.foo.Bar", "sun.misc.BASE64Decoder"));
+	}
+
+	@Test
+	public void violationsWithSeverity_manyViolationsWithAlternatingSeverities_streamsOnlyThoseWithSeverity()
+			throws Exception {
+		for (int i = 0; i < 100; i++)
+			builder.addViolation(Type.of("com.foo.Bar" + i))
+					.addDependency(internalType("sun.misc.Unsafe"), i % 2 == 0 ? Severity.WARN : Severity.FAIL);
+
+		ViolationTable table = builder.build();
+
+		assertThat(table.violationsWithSeverity(Severity.WARN).collect(toList()))
+				.hasSize(50)
+				.startsWith(violation("com.foo.Bar0", "sun.misc.Unsafe"), violation("com.foo.Bar2", "sun.misc.Unsafe"))
+				.endsWith(violation("com.foo.Bar98", "sun.misc.Unsafe"));
+		assertThat(table.violationsWithSeverity(Severity.FAIL).collect(toList()))
+				.hasSize(50)
+				.startsWith(violation("com.foo.Bar1", "sun.misc.Unsafe"));
+	}
+
+	@Test
+	public void countEdgesWithSeverity_severalViolations_countsDependencies() throws Exception {
+		for (int i = 0; i < 100; i++)
+			builder.addViolation(Type.of("com.foo.Bar" + i))
+					.addDependency(internalType("sun.misc.Unsafe"), Severity.values()[i % 5])
+					.addDependency(internalType("sun.misc.BASE64Decoder"), Severity.FAIL);
+
+		ViolationTable table = builder.build();
+
+		assertThat(table.countEdgesWithSeverity(Severity.IGNORE)).isEqualTo(20);
+		assertThat(table.countEdgesWithSeverity(Severity.WARN)).isEqualTo(20);
+		assertThat(table.countEdgesWithSeverity(Severity.FAIL)).isEqualTo(120);
+		assertThat(table.violationsWithSeverity(Severity.FAIL).count()).isEqualTo(100);
+	}
+
+	@Test
+	public void build_calledRepeatedly_earlierTablesDoNotChange() throws Exception {
+		builder.addViolation(Type.of("com.foo.Bar")).addDependency(internalType("sun.misc.Unsafe"), Severity.WARN);
+		ViolationTable first = builder.build();
+		builder.addDependency(internalType("sun.misc.BASE64Decoder"), Severity.WARN);
+		ViolationTable second = builder.build();
+
+		assertThat(first.violationsWithSeverity(Severity.WARN).collect(toList()))
+				.containsExactly(violation("com.foo.Bar", "sun.misc.Unsafe"));
+		assertThat(second.violationsWithSeverity(Severity.WARN).collect(toList()))
+				.containsExactly(violation("com.foo.Bar", "sun.misc.Unsafe", "sun.misc.BASE64Decoder"));
+	}
+
+	private static InternalType internalType(String qualifiedClassName) {
+		return InternalType.of(qualifiedClassName, "", "");
+	}
+
+}
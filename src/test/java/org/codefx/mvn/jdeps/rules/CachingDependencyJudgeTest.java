@@ -0,0 +1,124 @@
+package org.codefx.mvn.jdeps.rules;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link CachingDependencyJudge}.
+ */
+public class CachingDependencyJudgeTest {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private DependencyJudge judge;
+
+	@Before
+	public void createJudge() {
+		judge = mock(DependencyJudge.class);
+		when(judge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe")).thenReturn(Severity.WARN);
+		when(judge.judgeSeverity("com.foo.Baz", "sun.misc.Unsafe")).thenReturn(Severity.FAIL);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_judgeNull_throwsException() throws Exception {
+		new CachingDependencyJudge(null, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void create_maximumSizeZero_throwsException() throws Exception {
+		new CachingDependencyJudge(judge, 0);
+	}
+
+	@Test
+	public void judgeSeverity_judgedOnce_returnsWrappedJudgesSeverity() throws Exception {
+		CachingDependencyJudge cachingJudge = new CachingDependencyJudge(judge, 10);
+
+		Severity severity = cachingJudge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe");
+
+		assertThat(severity).isSameAs(Severity.WARN);
+		assertThat(cachingJudge.hitCount()).isEqualTo(0);
+		assertThat(cachingJudge.missCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void judgeSeverity_judgedRepeatedly_callsWrappedJudgeOnce() throws Exception {
+		CachingDependencyJudge cachingJudge = new CachingDependencyJudge(judge, 10);
+
+		for (int i = 0; i < 5; i++)
+			assertThat(cachingJudge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe")).isSameAs(Severity.WARN);
+
+		verify(judge, times(1)).judgeSeverity("com.foo.Bar", "sun.misc.Unsafe");
+		assertThat(cachingJudge.hitCount()).isEqualTo(4);
+		assertThat(cachingJudge.missCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void judgeSeverity_differentDependents_cachesSeparately() throws Exception {
+		CachingDependencyJudge cachingJudge = new CachingDependencyJudge(judge, 10);
+
+		assertThat(cachingJudge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe")).isSameAs(Severity.WARN);
+		assertThat(cachingJudge.judgeSeverity("com.foo.Baz", "sun.misc.Unsafe")).isSameAs(Severity.FAIL);
+		assertThat(cachingJudge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe")).isSameAs(Severity.WARN);
+
+		assertThat(cachingJudge.hitCount()).isEqualTo(1);
+		assertThat(cachingJudge.missCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void judgeSeverity_cacheFull_evictsSeverities() throws Exception {
+		CachingDependencyJudge cachingJudge = new CachingDependencyJudge(judge, 1);
+
+		cachingJudge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe");
+		cachingJudge.judgeSeverity("com.foo.Baz", "sun.misc.Unsafe");
+		cachingJudge.judgeSeverity("com.foo.Bar", "sun.misc.Unsafe");
+
+		verify(judge, times(2)).judgeSeverity("com.foo.Bar", "sun.misc.Unsafe");
+		assertThat(cachingJudge.missCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void judgeSeverity_wrappedJudgeThrowsException_rethrowsException() throws Exception {
+		when(judge.judgeSeverity("", "sun.misc.Unsafe")).thenThrow(new IllegalArgumentException("Empty name."));
+		CachingDependencyJudge cachingJudge = new CachingDependencyJudge(judge, 10);
+
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectMessage("Empty name.");
+
+		cachingJudge.judgeSeverity("", "sun.misc.Unsafe");
+	}
+
+	@Test
+	public void judgeSeverity_concurrentJudgements_returnCorrectSeverities() throws Exception {
+		CachingDependencyJudge cachingJudge = new CachingDependencyJudge(judge, 10);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Severity>> severities = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				String dependent = i % 2 == 0 ? "com.foo.Bar" : "com.foo.Baz";
+				severities.add(executor.submit(() -> cachingJudge.judgeSeverity(dependent, "sun.misc.Unsafe")));
+			}
+
+			for (int i = 0; i < 100; i++)
+				assertThat(severities.get(i).get()).isSameAs(i % 2 == 0 ? Severity.WARN : Severity.FAIL);
+			assertThat(cachingJudge.hitCount() + cachingJudge.missCount()).isEqualTo(100);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
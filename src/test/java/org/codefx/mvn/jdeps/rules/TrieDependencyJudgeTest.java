@@ -0,0 +1,35 @@
+package org.codefx.mvn.jdeps.rules;
+
+import org.codefx.mvn.jdeps.rules.TrieDependencyJudge.TrieDependencyJudgeBuilder;
+import org.codefx.mvn.jdeps.rules.TrieDependencyJudgeTest.AsFlat;
+import org.codefx.mvn.jdeps.rules.TrieDependencyJudgeTest.AsHierarchical;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+/**
+ * Tests for {@link TrieDependencyJudge}.
+ */
+@RunWith(Suite.class)
+@SuiteClasses({AsFlat.class, AsHierarchical.class})
+public class TrieDependencyJudgeTest {
+
+	public static class AsFlat extends AbstractFlatDependencyJudgeTest {
+
+		@Override
+		protected DependencyJudgeBuilder builder() {
+			return new TrieDependencyJudgeBuilder().withInclusion(PackageInclusion.FLAT);
+		}
+
+	}
+
+	public static class AsHierarchical extends AbstractHierarchicalDependencyJudgeTest {
+
+		@Override
+		protected DependencyJudgeBuilder builder() {
+			return new TrieDependencyJudgeBuilder().withInclusion(PackageInclusion.HIERARCHICAL);
+		}
+
+	}
+
+}
@@ -0,0 +1,119 @@
+package org.codefx.mvn.jdeps.tool;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.tool.LineWriter.IfFileExists;
+import org.codefx.mvn.jdeps.tool.LineWriter.StaticContent;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link LineWriter}.
+ */
+public class LineWriterTest {
+
+	private static final StaticContent STATIC_CONTENT =
+			new StaticContent(ImmutableList.of("<rules>"), ImmutableList.of("</rules>"), "\t");
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = temporaryFolder.newFile().toPath();
+	}
+
+	@Test
+	public void write_lines_wrapsIndentedLinesInStaticContent() throws Exception {
+		LineWriter writer = new LineWriter(file, IfFileExists.REMOVE_EXISTING_CONTENT, STATIC_CONTENT);
+
+		writer.write(Stream.of("<rule />", "<rule />"));
+
+		assertThat(Files.readAllLines(file, UTF_8)).containsExactly("<rules>", "\t<rule />", "\t<rule />", "</rules>");
+	}
+
+	@Test
+	public void write_appendNewContent_keepsExistingContent() throws Exception {
+		Files.write(file, ImmutableList.of("existing"), UTF_8);
+		LineWriter writer = new LineWriter(file, IfFileExists.APPEND_NEW_CONTENT, STATIC_CONTENT);
+
+		writer.write(Stream.of("<rule />"));
+
+		assertThat(Files.readAllLines(file, UTF_8)).containsExactly("existing", "<rules>", "\t<rule />", "</rules>");
+	}
+
+	@Test
+	public void write_removeExistingContent_replacesExistingContent() throws Exception {
+		Files.write(file, ImmutableList.of("existing", "content", "which", "is", "longer"), UTF_8);
+		LineWriter writer = new LineWriter(file, IfFileExists.REMOVE_EXISTING_CONTENT, STATIC_CONTENT);
+
+		writer.write(Stream.of("<rule />"));
+
+		assertThat(Files.readAllLines(file, UTF_8)).containsExactly("<rules>", "\t<rule />", "</rules>");
+	}
+
+	@Test
+	public void write_manyNonAsciiLines_writesAllLines() throws Exception {
+		// each line has more bytes than characters, so the initial buffer is too small
+		List<String> lines = IntStream.range(0, 10_000)
+				.mapToObj(i -> "<rule dependent=\"com.f\u00f6\u00f6.B\u00e4r" + i + "\" />")
+				.collect(toList());
+		LineWriter writer = new LineWriter(file, IfFileExists.REMOVE_EXISTING_CONTENT, STATIC_CONTENT);
+
+		writer.write(lines.stream());
+
+		List<String> writtenLines = Files.readAllLines(file, UTF_8);
+		assertThat(writtenLines).hasSize(10_002);
+		assertThat(writtenLines.get(1)).isEqualTo("\t" + lines.get(0));
+		assertThat(writtenLines.get(10_000)).isEqualTo("\t" + lines.get(9_999));
+	}
+
+	@Test
+	public void write_calledRepeatedly_replacesEarlierContent() throws Exception {
+		LineWriter writer = new LineWriter(file, IfFileExists.REMOVE_EXISTING_CONTENT, STATIC_CONTENT);
+
+		writer.write(IntStream.range(0, 1_000).mapToObj(i -> "<rule />"));
+		writer.write(Stream.of("<other />"));
+
+		assertThat(Files.readAllLines(file, UTF_8)).containsExactly("<rules>", "\t<other />", "</rules>");
+	}
+
+	@Test
+	public void write_streamFails_fileIsUntouched() throws Exception {
+		Files.write(file, ImmutableList.of("existing"), UTF_8);
+		LineWriter writer = new LineWriter(file, IfFileExists.REMOVE_EXISTING_CONTENT, STATIC_CONTENT);
+
+		try {
+			writer.write(Stream.of("<rule />").<String> map(line -> {
+				throw new IllegalArgumentException();
+			}));
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+
+		assertThat(Files.readAllLines(file, UTF_8)).containsExactly("existing");
+	}
+
+	@Test(expected = IOException.class)
+	public void write_fileIsFolder_throwsIOException() throws Exception {
+		LineWriter writer = new LineWriter(
+				temporaryFolder.newFolder().toPath(), IfFileExists.REMOVE_EXISTING_CONTENT, STATIC_CONTENT);
+
+		writer.write(Stream.of("<rule />"));
+	}
+
+}
@@ -0,0 +1,173 @@
+package org.codefx.mvn.jdeps.tool;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.violation;
+
+/**
+ * Tests {@link ParallelJdkInternalsScanner}.
+ */
+public class ParallelJdkInternalsScannerTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path classes;
+
+	@Before
+	public void setUp() throws Exception {
+		classes = temporaryFolder.newFolder("classes").toPath();
+		createClassFiles("com/foo", "A", "B", "C");
+		createClassFiles("com/bar", "D", "E");
+		createClassFiles("com/baz", "F");
+	}
+
+	private void createClassFiles(String packageFolder, String... classNames) throws Exception {
+		Path folder = Files.createDirectories(classes.resolve(packageFolder));
+		for (String className : classNames)
+			Files.write(folder.resolve(className + ".class"), new byte[] { 1 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void create_parallelismZero_throwsException() {
+		new ParallelJdkInternalsScanner(new RecordingScanner(), 0);
+	}
+
+	@Test
+	public void createShards_oneShard_containsAllPackageFolders() throws Exception {
+		List<List<Path>> shards = ParallelJdkInternalsScanner.createShards(ImmutableList.of(classes), 1);
+
+		assertThat(shards).hasSize(1);
+		assertThat(shards.get(0)).containsOnly(
+				classes.resolve("com/foo"), classes.resolve("com/bar"), classes.resolve("com/baz"));
+	}
+
+	@Test
+	public void createShards_twoShards_keepsPackagesTogetherAndBalancesShards() throws Exception {
+		List<List<Path>> shards = ParallelJdkInternalsScanner.createShards(ImmutableList.of(classes), 2);
+
+		assertThat(shards).hasSize(2);
+		assertThat(shards.get(0)).containsExactly(classes.resolve("com/foo"));
+		assertThat(shards.get(1)).containsOnly(classes.resolve("com/bar"), classes.resolve("com/baz"));
+	}
+
+	@Test
+	public void createShards_packageWithManyClassFiles_passesFolderInsteadOfClassFiles() throws Exception {
+		String[] classNames = new String[10_000];
+		for (int i = 0; i < classNames.length; i++)
+			classNames[i] = "Class" + i;
+		createClassFiles("com/many", classNames);
+
+		List<List<Path>> shards = ParallelJdkInternalsScanner.createShards(ImmutableList.of(classes), 2);
+
+		assertThat(shards).hasSize(2);
+		assertThat(shards.get(0)).containsExactly(classes.resolve("com/many"));
+		assertThat(shards.get(1)).hasSize(3);
+	}
+
+	@Test
+	public void createShards_splitFolderContainsClassFiles_passesThemIndividually() throws Exception {
+		createClassFiles("com", "G", "H");
+
+		List<List<Path>> shards = ParallelJdkInternalsScanner.createShards(ImmutableList.of(classes), 16);
+
+		assertThat(shards).hasSize(4);
+		assertThat(shards).contains(ImmutableList.of(classes.resolve("com/G.class"), classes.resolve("com/H.class")));
+	}
+
+	@Test
+	public void createShards_folderWithManyOwnClassFiles_isNotSplit() throws Exception {
+		String[] classNames = new String[100];
+		for (int i = 0; i < classNames.length; i++)
+			classNames[i] = "Class" + i;
+		createClassFiles("com", classNames);
+
+		List<List<Path>> shards = ParallelJdkInternalsScanner.createShards(ImmutableList.of(classes), 16);
+
+		assertThat(shards).containsExactly(ImmutableList.of(classes.resolve("com")));
+	}
+
+	@Test
+	public void createShards_moreShardsThanPackages_createsOneShardPerPackage() throws Exception {
+		List<List<Path>> shards = ParallelJdkInternalsScanner.createShards(ImmutableList.of(classes), 16);
+
+		assertThat(shards).hasSize(3);
+	}
+
+	@Test
+	public void scan_onlyOneShard_passesPathsUnchanged() throws Exception {
+		RecordingScanner recordingScanner = new RecordingScanner();
+
+		new ParallelJdkInternalsScanner(recordingScanner, 1).scan(ImmutableList.of(classes), violation -> { });
+
+		assertThat(recordingScanner.scannedPaths).containsExactly(ImmutableList.of(classes));
+	}
+
+	@Test
+	public void scan_severalShards_scansEachShard() throws Exception {
+		RecordingScanner recordingScanner = new RecordingScanner();
+
+		new ParallelJdkInternalsScanner(recordingScanner, 3).scan(ImmutableList.of(classes), violation -> { });
+
+		assertThat(recordingScanner.scannedPaths).hasSize(3);
+	}
+
+	@Test
+	public void scan_severalShards_passesViolationsOfAllShards() throws Exception {
+		List<Violation> violations = new ArrayList<>();
+
+		new ParallelJdkInternalsScanner(new RecordingScanner(), 3).scan(ImmutableList.of(classes), violations::add);
+
+		assertThat(violations).hasSize(3);
+	}
+
+	@Test(expected = CommandLineException.class)
+	public void scan_shardFails_throwsException() throws Exception {
+		JdkInternalsScanner failingScanner = new RecordingScanner() {
+			@Override
+			public void scan(Collection<Path> pathsToScan, Consumer<Violation> violationConsumer)
+					throws CommandLineException {
+				throw new CommandLineException("JDeps failed.");
+			}
+		};
+
+		new ParallelJdkInternalsScanner(failingScanner, 3).scan(ImmutableList.of(classes), violation -> { });
+	}
+
+	/**
+	 * Records the scanned paths and reports one violation per scan.
+	 */
+	private static class RecordingScanner implements JdkInternalsScanner {
+
+		private final List<Collection<Path>> scannedPaths = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void scan(Collection<Path> pathsToScan, Consumer<Violation> violationConsumer)
+				throws CommandLineException {
+			scannedPaths.add(pathsToScan);
+			violationConsumer.accept(violation("com.foo.Scanned" + scannedPaths.size(), "sun.misc.Unsafe"));
+		}
+
+		@Override
+		public String version() {
+			return "recording";
+		}
+
+	}
+
+}
@@ -0,0 +1,110 @@
+package org.codefx.mvn.jdeps.tool.classfile;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import org.codefx.mvn.jdeps.dependency.InternalType;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onActionsViolation;
+import static org.codefx.mvn.jdeps.Factory.onBASE64Violation;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link ClassFileJdkInternalsScanner}.
+ * <p>
+ * This test can only pass if {@code test(resources/test-project/target/classes} contains compiled classes.
+ */
+public class ClassFileJdkInternalsScannerTest {
+
+	private static final Path PATH_TO_SCANNED_FOLDER;
+
+	static {
+		Path testProjectPom = Paths.get(Resources.getResource("test-project/pom.xml").getPath());
+		PATH_TO_SCANNED_FOLDER = testProjectPom.resolveSibling("target").resolve("classes");
+	}
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test(expected = IllegalArgumentException.class)
+	public void scan_noPaths_throwsException() throws Exception {
+		new ClassFileJdkInternalsScanner().scan(ImmutableList.of(), violation -> { });
+	}
+
+	@Test
+	public void scan_folder_findsViolations() throws Exception {
+		List<Violation> violations = new ArrayList<>();
+
+		new ClassFileJdkInternalsScanner().scan(ImmutableList.of(PATH_TO_SCANNED_FOLDER), violations::add);
+
+		assertThat(violations).containsOnly(onActionsViolation(), onBASE64Violation(), onUnsafeViolation());
+	}
+
+	@Test
+	public void scan_classFile_findsItsViolation() throws Exception {
+		Path onUnsafe = PATH_TO_SCANNED_FOLDER.resolve("org/codefx/mvn/jdeps/testproject/OnUnsafe.class");
+		List<Violation> violations = new ArrayList<>();
+
+		new ClassFileJdkInternalsScanner().scan(ImmutableList.of(onUnsafe), violations::add);
+
+		assertThat(violations).containsExactly(onUnsafeViolation());
+	}
+
+	@Test
+	public void scan_jar_findsViolations() throws Exception {
+		Path jar = createJar(PATH_TO_SCANNED_FOLDER, temporaryFolder.getRoot().toPath().resolve("classes.jar"));
+		List<Violation> violations = new ArrayList<>();
+
+		new ClassFileJdkInternalsScanner().scan(ImmutableList.of(jar), violations::add);
+
+		assertThat(violations).containsOnly(onActionsViolation(), onBASE64Violation(), onUnsafeViolation());
+	}
+
+	@Test
+	public void scan_internalDependency_hasCategoryAndSource() throws Exception {
+		Path onUnsafe = PATH_TO_SCANNED_FOLDER.resolve("org/codefx/mvn/jdeps/testproject/OnUnsafe.class");
+		List<Violation> violations = new ArrayList<>();
+
+		new ClassFileJdkInternalsScanner().scan(ImmutableList.of(onUnsafe), violations::add);
+
+		InternalType unsafe = violations.get(0).getInternalDependencies().get(0);
+		assertThat(unsafe.getCategory()).isEqualTo("JDK internal API");
+		assertThat(unsafe.getSource()).isNotEmpty();
+	}
+
+	@Test
+	public void getSource_runningJdk_knowsInternalAndSupportedPackages() throws Exception {
+		JdkInternalPackages internalPackages = JdkInternalPackages.ofRunningJdk();
+
+		assertThat(internalPackages.getSource("sun.misc")).isPresent();
+		assertThat(internalPackages.getSource("java.util")).isEmpty();
+		assertThat(internalPackages.getSource("com.sun.net.httpserver")).isEmpty();
+	}
+
+	private static Path createJar(Path classesFolder, Path jar) throws IOException {
+		try (JarOutputStream jarStream = new JarOutputStream(Files.newOutputStream(jar));
+				Stream<Path> files = Files.walk(classesFolder)) {
+			for (Path classFile : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+				jarStream.putNextEntry(new JarEntry(classesFolder.relativize(classFile).toString().replace('\\', '/')));
+				jarStream.write(Files.readAllBytes(classFile));
+				jarStream.closeEntry();
+			}
+		}
+		return jar;
+	}
+
+}
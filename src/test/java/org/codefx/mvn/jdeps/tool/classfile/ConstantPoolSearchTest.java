@@ -0,0 +1,142 @@
+package org.codefx.mvn.jdeps.tool.classfile;
+
+import com.google.common.io.Resources;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link ConstantPoolSearch}.
+ * <p>
+ * This test can only pass if {@code test(resources/test-project/target/classes} contains compiled classes.
+ */
+public class ConstantPoolSearchTest {
+
+	private static final Path PATH_TO_TEST_PROJECT_CLASSES;
+
+	static {
+		Path testProjectPom = Paths.get(Resources.getResource("test-project/pom.xml").getPath());
+		PATH_TO_TEST_PROJECT_CLASSES = testProjectPom
+				.resolveSibling("target")
+				.resolve("classes")
+				.resolve("org/codefx/mvn/jdeps/testproject");
+	}
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test(expected = NullPointerException.class)
+	public void mightReferenceInternalType_pathNull_throwsException() throws Exception {
+		ConstantPoolSearch.mightReferenceInternalType((Path) null);
+	}
+
+	@Test
+	public void mightReferenceInternalType_classFilesWithInternalDependencies_true() throws Exception {
+		for (String className : Arrays.asList("OnActions", "OnBASE64", "OnUnsafe")) {
+			Path classFile = PATH_TO_TEST_PROJECT_CLASSES.resolve(className + ".class");
+			assertThat(ConstantPoolSearch.mightReferenceInternalType(classFile)).as(className).isTrue();
+		}
+	}
+
+	@Test
+	public void mightReferenceInternalType_classFileWithoutInternalDependencies_false() throws Exception {
+		String classFileName = Severity.class.getName().replace('.', '/') + ".class";
+		Path classFile = Paths.get(Resources.getResource(classFileName).toURI());
+
+		assertThat(ConstantPoolSearch.mightReferenceInternalType(classFile)).isFalse();
+	}
+
+	@Test
+	public void mightReferenceInternalType_classFileLargerThanBuffer_searchesEntireFile() throws Exception {
+		String[] utf8Entries = Collections.nCopies(2_000, "com/foo/SomeQuiteLongTypeNameThatIsRepeatedOverAndOver")
+				.toArray(new String[2_001]);
+		utf8Entries[2_000] = "sun/misc/Unsafe";
+		Path classFile = write("Large.class", classFile(utf8Entries));
+
+		assertThat(Files.size(classFile)).isGreaterThan(64 * 1024);
+		assertThat(ConstantPoolSearch.mightReferenceInternalType(classFile)).isTrue();
+	}
+
+	@Test(expected = IOException.class)
+	public void mightReferenceInternalType_truncatedFileAfterLongerOne_doesNotSearchPreviousFile() throws Exception {
+		ByteBuffer truncatedClassFile = classFile("com/foo/Bar", "java/lang/Object");
+		truncatedClassFile.limit(truncatedClassFile.limit() - 3);
+		Path longerFile = write("Longer.class", classFile("com/foo/Bar", "java/lang/Object", "sun/misc/Unsafe"));
+		Path truncatedFile = write("Truncated.class", truncatedClassFile);
+
+		ConstantPoolSearch.mightReferenceInternalType(longerFile);
+		ConstantPoolSearch.mightReferenceInternalType(truncatedFile);
+	}
+
+	@Test
+	public void mightReferenceInternalType_internalClassEntry_true() throws Exception {
+		ByteBuffer classFile = classFile("com/foo/Bar", "sun/misc/Unsafe");
+
+		assertThat(ConstantPoolSearch.mightReferenceInternalType(classFile)).isTrue();
+	}
+
+	@Test
+	public void mightReferenceInternalType_internalTypeInDescriptor_true() throws Exception {
+		ByteBuffer classFile = classFile("com/foo/Bar", "(ILjava/lang/String;[Lcom/sun/Foo;)V");
+
+		assertThat(ConstantPoolSearch.mightReferenceInternalType(classFile)).isTrue();
+	}
+
+	@Test
+	public void mightReferenceInternalType_internalPrefixInsideOtherName_false() throws Exception {
+		ByteBuffer classFile = classFile("com/foo/Bar", "org/sun/Foo", "(Lcom/foo/sun/Bar;)V");
+
+		assertThat(ConstantPoolSearch.mightReferenceInternalType(classFile)).isFalse();
+	}
+
+	@Test(expected = IOException.class)
+	public void mightReferenceInternalType_noClassFile_throwsException() throws Exception {
+		ConstantPoolSearch.mightReferenceInternalType(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+	}
+
+	@Test(expected = IOException.class)
+	public void mightReferenceInternalType_truncatedClassFile_throwsException() throws Exception {
+		ByteBuffer classFile = classFile("com/foo/Bar", "java/lang/Object");
+		classFile.limit(classFile.limit() - 3);
+
+		ConstantPoolSearch.mightReferenceInternalType(classFile);
+	}
+
+	private Path write(String fileName, ByteBuffer classFile) throws IOException {
+		byte[] bytes = new byte[classFile.remaining()];
+		classFile.get(bytes);
+		return Files.write(folder.getRoot().toPath().resolve(fileName), bytes);
+	}
+
+	/**
+	 * Creates the beginning of a class file whose constant pool contains the specified UTF-8 entries.
+	 */
+	private static ByteBuffer classFile(String... utf8Entries) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream classFile = new DataOutputStream(bytes);
+		classFile.writeInt(ClassFileDependencies.MAGIC);
+		// minor and major version
+		classFile.writeShort(0);
+		classFile.writeShort(52);
+		classFile.writeShort(utf8Entries.length + 1);
+		for (String utf8Entry : utf8Entries) {
+			classFile.writeByte(ClassFileDependencies.CONSTANT_UTF8);
+			classFile.writeUTF(utf8Entry);
+		}
+		return ByteBuffer.wrap(bytes.toByteArray());
+	}
+
+}
@@ -0,0 +1,150 @@
+package org.codefx.mvn.jdeps.tool.classfile;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.rules.Severity;
+import org.codefx.mvn.jdeps.tool.JdkInternalsScanner;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onActionsViolation;
+import static org.codefx.mvn.jdeps.Factory.onBASE64Violation;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link PrefilteringJdkInternalsScanner}.
+ * <p>
+ * This test can only pass if {@code test(resources/test-project/target/classes} contains compiled classes.
+ */
+public class PrefilteringJdkInternalsScannerTest {
+
+	private static final Path PATH_TO_TEST_PROJECT_CLASSES;
+
+	static {
+		Path testProjectPom = Paths.get(Resources.getResource("test-project/pom.xml").getPath());
+		PATH_TO_TEST_PROJECT_CLASSES = testProjectPom.resolveSibling("target").resolve("classes");
+	}
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path classes;
+	private Path cleanClassFile;
+
+	@Before
+	public void setUp() throws Exception {
+		classes = temporaryFolder.newFolder("classes").toPath();
+		Path severityClassFile =
+				Paths.get(Resources.getResource(Severity.class.getName().replace('.', '/') + ".class").toURI());
+		cleanClassFile = Files.copy(severityClassFile, classes.resolve("Severity.class"));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_scannerNull_throwsException() {
+		new PrefilteringJdkInternalsScanner(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void scan_noPaths_throwsException() throws Exception {
+		new PrefilteringJdkInternalsScanner(new RecordingScanner()).scan(ImmutableList.of(), violation -> { });
+	}
+
+	@Test
+	public void scan_noCandidates_doesNotCallScanner() throws Exception {
+		RecordingScanner recordingScanner = new RecordingScanner();
+
+		new PrefilteringJdkInternalsScanner(recordingScanner).scan(ImmutableList.of(classes), violation -> { });
+
+		assertThat(recordingScanner.scannedPaths).isEmpty();
+	}
+
+	@Test
+	public void scan_candidates_passesOnlyCandidatesToScanner() throws Exception {
+		Path onUnsafe = Files.copy(
+				PATH_TO_TEST_PROJECT_CLASSES.resolve("org/codefx/mvn/jdeps/testproject/OnUnsafe.class"),
+				classes.resolve("OnUnsafe.class"));
+		RecordingScanner recordingScanner = new RecordingScanner();
+
+		new PrefilteringJdkInternalsScanner(recordingScanner).scan(ImmutableList.of(classes), violation -> { });
+
+		assertThat(recordingScanner.scannedPaths).containsExactly(ImmutableList.of(onUnsafe));
+	}
+
+	@Test
+	public void scan_folderWithManyCandidates_passesFolderToScanner() throws Exception {
+		Path onUnsafe = PATH_TO_TEST_PROJECT_CLASSES.resolve("org/codefx/mvn/jdeps/testproject/OnUnsafe.class");
+		for (int i = 0; i < 1_000; i++)
+			Files.copy(onUnsafe, classes.resolve("OnUnsafe" + i + ".class"));
+		RecordingScanner recordingScanner = new RecordingScanner();
+
+		new PrefilteringJdkInternalsScanner(recordingScanner).scan(ImmutableList.of(classes), violation -> { });
+
+		assertThat(recordingScanner.scannedPaths).containsExactly(ImmutableList.of(classes));
+	}
+
+	@Test
+	public void scan_jar_isPassedThrough() throws Exception {
+		Path jar = temporaryFolder.newFile("dependency.jar").toPath();
+		RecordingScanner recordingScanner = new RecordingScanner();
+
+		new PrefilteringJdkInternalsScanner(recordingScanner)
+				.scan(ImmutableList.of(cleanClassFile, jar), violation -> { });
+
+		assertThat(recordingScanner.scannedPaths).containsExactly(ImmutableList.of(jar));
+	}
+
+	@Test(expected = CommandLineException.class)
+	public void scan_invalidClassFile_throwsException() throws Exception {
+		Files.write(classes.resolve("Invalid.class"), new byte[] { 1 });
+
+		new PrefilteringJdkInternalsScanner(new RecordingScanner()).scan(ImmutableList.of(classes), violation -> { });
+	}
+
+	@Test
+	public void scan_withClassFileScanner_findsSameViolationsAsWithoutFilter() throws Exception {
+		List<Violation> violations = new ArrayList<>();
+
+		new PrefilteringJdkInternalsScanner(new ClassFileJdkInternalsScanner())
+				.scan(ImmutableList.of(PATH_TO_TEST_PROJECT_CLASSES), violations::add);
+
+		assertThat(violations).containsOnly(onActionsViolation(), onBASE64Violation(), onUnsafeViolation());
+	}
+
+	@Test
+	public void version_isWrappedScannersVersion() throws Exception {
+		assertThat(new PrefilteringJdkInternalsScanner(new RecordingScanner()).version()).isEqualTo("recording");
+	}
+
+	/**
+	 * Records the scanned paths.
+	 */
+	private static class RecordingScanner implements JdkInternalsScanner {
+
+		private final List<Collection<Path>> scannedPaths = new ArrayList<>();
+
+		@Override
+		public void scan(Collection<Path> pathsToScan, Consumer<Violation> violationConsumer) {
+			scannedPaths.add(pathsToScan);
+		}
+
+		@Override
+		public String version() {
+			return "recording";
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link CachingJDepsSearch}.
+ */
+public class CachingJDepsSearchTest {
+
+	private static final Path JDEPS = Paths.get("jdk", "bin", "jdeps");
+
+	/**
+	 * The cache lives as long as the JVM, so each test uses its own key.
+	 */
+	private String key;
+
+	@Before
+	public void createKey() {
+		key = UUID.randomUUID().toString();
+	}
+
+	@Test
+	public void search_severalSearchesWithSameKey_searchesOnce() throws Exception {
+		JDepsSearch search = mock(JDepsSearch.class);
+		when(search.search()).thenReturn(Optional.of(JDEPS));
+
+		Optional<Path> first = new CachingJDepsSearch(key, search).search();
+		Optional<Path> second = new CachingJDepsSearch(key, search).search();
+
+		assertThat(first).contains(JDEPS);
+		assertThat(second).contains(JDEPS);
+		verify(search, times(1)).search();
+	}
+
+	@Test
+	public void search_searchFindsNothing_cachesThatResult() throws Exception {
+		JDepsSearch search = mock(JDepsSearch.class);
+		when(search.search()).thenReturn(Optional.empty());
+
+		new CachingJDepsSearch(key, search).search();
+		Optional<Path> jDeps = new CachingJDepsSearch(key, search).search();
+
+		assertThat(jDeps).isEmpty();
+		verify(search, times(1)).search();
+	}
+
+	@Test
+	public void search_differentKeys_searchesForEachKey() throws Exception {
+		JDepsSearch search = mock(JDepsSearch.class);
+		JDepsSearch otherSearch = mock(JDepsSearch.class);
+		when(search.search()).thenReturn(Optional.of(JDEPS));
+		when(otherSearch.search()).thenReturn(Optional.empty());
+
+		Optional<Path> jDeps = new CachingJDepsSearch(key, search).search();
+		Optional<Path> otherJDeps = new CachingJDepsSearch(key + "-other", otherSearch).search();
+
+		assertThat(jDeps).contains(JDEPS);
+		assertThat(otherJDeps).isEmpty();
+	}
+
+	@Test
+	public void forRunningJvm_calledRepeatedly_findsSameJDeps() throws Exception {
+		// it is generally unknown whether jdeps can be found, but the result must not change
+		assertThat(CachingJDepsSearch.forRunningJvm().search())
+				.isEqualTo(CachingJDepsSearch.forRunningJvm().search());
+	}
+
+}
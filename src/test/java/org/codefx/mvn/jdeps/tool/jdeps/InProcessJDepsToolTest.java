@@ -0,0 +1,73 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.parse.ViolationParser;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onActionsViolation;
+import static org.codefx.mvn.jdeps.Factory.onBASE64Violation;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link InProcessJDepsTool}.
+ */
+public class InProcessJDepsToolTest {
+
+	private static final Path PATH_TO_SCANNED_FOLDER;
+
+	static {
+		Path testProjectPom = Paths.get(Resources.getResource("test-project/pom.xml").getPath());
+		PATH_TO_SCANNED_FOLDER = testProjectPom.resolveSibling("target").resolve("classes");
+	}
+
+	/*
+	 * Whether the running JDK provides jdeps as a tool depends on its version, so most assertions are conditional.
+	 */
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void find_stateUnknown_throwNoException() throws Exception {
+		Optional<JDepsTool> jDeps = InProcessJDepsTool.find();
+		// it is generally unknown whether the running JDK provides jdeps so we can not assert anything
+		System.out.println(jDeps);
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void run_versionRequested_outputsVersion() throws Exception {
+		Optional<JDepsTool> jDeps = InProcessJDepsTool.find();
+		if (!jDeps.isPresent())
+			return;
+
+		List<String> output = new ArrayList<>();
+		int exitCode = jDeps.get().run(ImmutableList.of("-version"), output::add, output::add);
+
+		assertThat(exitCode).isZero();
+		assertThat(output).isNotEmpty();
+	}
+
+	@Test
+	@SuppressWarnings("javadoc")
+	public void run_testProjectScanned_outputIsParsedToViolations() throws Exception {
+		Optional<JDepsTool> jDeps = InProcessJDepsTool.find();
+		if (!jDeps.isPresent())
+			return;
+
+		List<Violation> violations = new ArrayList<>();
+		ViolationParser parser = new ViolationParser(violations::add);
+		new JdkInternalsExecutor(jDeps.get(), PATH_TO_SCANNED_FOLDER, parser::parseLine).execute();
+		parser.finish();
+
+		assertThat(violations).containsOnly(onActionsViolation(), onBASE64Violation(), onUnsafeViolation());
+	}
+
+}
@@ -0,0 +1,66 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link JDepsJdkInternalsScanner}.
+ */
+public class JDepsJdkInternalsScannerTest {
+
+	@Test
+	public void scan_outputEndsInsideBlock_reportsLastViolation() throws Exception {
+		JDepsTool jDeps = outputting(
+				"classes -> java.base",
+				"   org.codefx.mvn.jdeps.testproject.OnUnsafe (classes)",
+				"      -> sun.misc.Unsafe                                    JDK internal API (rt.jar)");
+		List<Violation> violations = new ArrayList<>();
+
+		new JDepsJdkInternalsScanner(jDeps).scan(ImmutableList.of(Paths.get("classes")), violations::add);
+
+		assertThat(violations).containsExactly(onUnsafeViolation());
+	}
+
+	@Test
+	public void scan_outputEndsWithEdge_reportsLastViolation() throws Exception {
+		JDepsTool jDeps = outputting(
+				"classes -> jdk.unsupported",
+				"   org.codefx.mvn.jdeps.testproject.OnUnsafe -> sun.misc.Unsafe  JDK internal API (jdk.unsupported)");
+		List<Violation> violations = new ArrayList<>();
+
+		new JDepsJdkInternalsScanner(jDeps).scan(ImmutableList.of(Paths.get("classes")), violations::add);
+
+		assertThat(violations).containsExactly(onUnsafeViolation());
+	}
+
+	private static JDepsTool outputting(String... lines) {
+		return new JDepsTool() {
+			@Override
+			public int run(List<String> arguments, Consumer<String> outputConsumer, Consumer<String> errorConsumer) {
+				for (String line : lines)
+					outputConsumer.accept(line);
+				return 0;
+			}
+
+			@Override
+			public String version() {
+				return "fake";
+			}
+
+			@Override
+			public String describe(List<String> arguments) {
+				return "fake jdeps " + String.join(" ", arguments);
+			}
+		};
+	}
+
+}
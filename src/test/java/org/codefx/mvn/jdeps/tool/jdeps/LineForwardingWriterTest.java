@@ -0,0 +1,87 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link LineForwardingWriter}.
+ */
+public class LineForwardingWriterTest {
+
+	private List<String> lines;
+	private LineForwardingWriter writer;
+
+	@Before
+	public void setUp() {
+		lines = new ArrayList<>();
+		writer = new LineForwardingWriter(lines::add);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_consumerNull_throwsException() {
+		new LineForwardingWriter(null);
+	}
+
+	@Test
+	public void write_lineFeeds_forwardsLines() throws Exception {
+		writer.write("first\nsecond\n");
+
+		assertThat(lines).containsExactly("first", "second");
+	}
+
+	@Test
+	public void write_carriageReturnLineFeeds_forwardsLines() throws Exception {
+		writer.write("first\r\nsecond\r\n");
+
+		assertThat(lines).containsExactly("first", "second");
+	}
+
+	@Test
+	public void write_emptyLines_forwardsEmptyLines() throws Exception {
+		writer.write("\n\nthird\n");
+
+		assertThat(lines).containsExactly("", "", "third");
+	}
+
+	@Test
+	public void write_lineSplitAcrossCalls_forwardsOneLine() throws Exception {
+		writer.write("fir");
+		writer.write("st\n");
+
+		assertThat(lines).containsExactly("first");
+	}
+
+	@Test
+	public void write_carriageReturnAndLineFeedSplitAcrossCalls_forwardsOneLine() throws Exception {
+		writer.write("first\r");
+		writer.write("\nsecond\n");
+
+		assertThat(lines).containsExactly("first", "second");
+	}
+
+	@Test
+	public void close_unterminatedLine_forwardsLine() throws Exception {
+		writer.write("first\nsecond");
+		assertThat(lines).containsExactly("first");
+
+		writer.close();
+		assertThat(lines).containsExactly("first", "second");
+	}
+
+	@Test
+	public void printWriter_println_forwardsLines() {
+		PrintWriter printWriter = new PrintWriter(writer);
+		printWriter.println("first");
+		printWriter.println("second");
+		printWriter.close();
+
+		assertThat(lines).containsExactly("first", "second");
+	}
+
+}
@@ -0,0 +1,79 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import com.google.common.base.Strings;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link LineReader}.
+ */
+public class LineReaderTest {
+
+	private List<String> lines;
+	private LineReader reader;
+
+	@Before
+	public void setUp() {
+		lines = new ArrayList<>();
+		reader = new LineReader(UTF_8);
+	}
+
+	@Test
+	public void forwardLines_empty_forwardsNothing() throws Exception {
+		reader.forwardLines(stream(new byte[0]), lines::add);
+
+		assertThat(lines).isEmpty();
+	}
+
+	@Test
+	public void forwardLines_mixedTerminators_forwardsLines() throws Exception {
+		reader.forwardLines(stream("first\nsecond\r\nthird\rfourth"), lines::add);
+
+		assertThat(lines).containsExactly("first", "second", "third", "fourth");
+	}
+
+	@Test
+	public void forwardLines_linesLongerThanBuffer_forwardsWholeLines() throws Exception {
+		String longLine = Strings.repeat("sun.misc.Unsafe ", 10_000);
+
+		reader.forwardLines(stream(longLine + "\n" + longLine + "\n"), lines::add);
+
+		assertThat(lines).containsExactly(longLine, longLine);
+	}
+
+	@Test
+	public void forwardLines_multiByteCharactersAcrossBuffers_decodesCharacters() throws Exception {
+		// "ü" takes two bytes, so one of them ends up at the end of a buffer and is only decoded after the next read
+		String line = Strings.repeat("ü", 100_000);
+
+		reader.forwardLines(stream(line), lines::add);
+
+		assertThat(lines).containsExactly(line);
+	}
+
+	@Test
+	public void forwardLines_malformedInput_replacesCharacter() throws Exception {
+		byte[] bytes = { 'a', (byte) 0xFF, 'b', '\n' };
+
+		reader.forwardLines(stream(bytes), lines::add);
+
+		assertThat(lines).containsExactly("a\uFFFDb");
+	}
+
+	private static InputStream stream(String content) {
+		return stream(content.getBytes(UTF_8));
+	}
+
+	private static InputStream stream(byte[] content) {
+		return new ByteArrayInputStream(content);
+	}
+
+}
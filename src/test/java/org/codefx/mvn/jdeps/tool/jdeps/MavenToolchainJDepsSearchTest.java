@@ -0,0 +1,65 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import org.apache.maven.toolchain.Toolchain;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link MavenToolchainJDepsSearch}.
+ */
+public class MavenToolchainJDepsSearchTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Toolchain toolchain;
+
+	@Before
+	public void createToolchain() {
+		toolchain = mock(Toolchain.class);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void create_toolchainNull_throwsNullPointerException() throws Exception {
+		new MavenToolchainJDepsSearch(null);
+	}
+
+	@Test
+	public void search_toolchainFindsJDeps_returnsJDeps() throws Exception {
+		Path jDeps = temporaryFolder.newFile("jdeps").toPath();
+		when(toolchain.findTool("jdeps")).thenReturn(jDeps.toString());
+
+		Optional<Path> foundJDeps = new MavenToolchainJDepsSearch(toolchain).search();
+
+		assertThat(foundJDeps).contains(jDeps);
+	}
+
+	@Test
+	public void search_toolchainFindsNothing_returnsEmpty() throws Exception {
+		when(toolchain.findTool("jdeps")).thenReturn(null);
+
+		Optional<Path> foundJDeps = new MavenToolchainJDepsSearch(toolchain).search();
+
+		assertThat(foundJDeps).isEmpty();
+	}
+
+	@Test
+	public void search_toolchainFindsNonExistentFile_returnsEmpty() throws Exception {
+		Path jDeps = temporaryFolder.getRoot().toPath().resolve("bin").resolve("jdeps");
+		when(toolchain.findTool("jdeps")).thenReturn(jDeps.toString());
+
+		Optional<Path> foundJDeps = new MavenToolchainJDepsSearch(toolchain).search();
+
+		assertThat(foundJDeps).isEmpty();
+	}
+
+}
@@ -0,0 +1,109 @@
+package org.codefx.mvn.jdeps.tool.jdeps;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import org.codefx.mvn.jdeps.dependency.Violation;
+import org.codefx.mvn.jdeps.parse.ViolationParser;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.codefx.mvn.jdeps.Factory.onActionsViolation;
+import static org.codefx.mvn.jdeps.Factory.onBASE64Violation;
+import static org.codefx.mvn.jdeps.Factory.onUnsafeViolation;
+
+/**
+ * Tests {@link WorkerJDepsTool}.
+ * <p>
+ * Like {@link JdkInternalsExecutorTest}, this test relies on a JDK being installed in a specific location. If it fails
+ * simply {@link Ignore} it or change the constants to reflect the situation on your system. The test for JDeps 9 and
+ * later only runs if such a JDK is installed in the specified location.
+ */
+public class WorkerJDepsToolTest {
+
+	private static final Path PATH_TO_JDEPS = Paths.get("/opt/java/jdk8/bin/jdeps");
+	private static final Path PATH_TO_JDEPS_9_OR_LATER = Paths.get("/opt/java/jdk17/bin/jdeps");
+	private static final Path PATH_TO_SCANNED_FOLDER;
+
+	static {
+		Path testProjectPom = Paths.get(Resources.getResource("test-project/pom.xml").getPath());
+		PATH_TO_SCANNED_FOLDER = testProjectPom.resolveSibling("target").resolve("classes");
+	}
+
+	@Test
+	public void forExecutable_sameExecutable_sharesTool() throws Exception {
+		assertThat(WorkerJDepsTool.forExecutable(PATH_TO_JDEPS)).isSameAs(WorkerJDepsTool.forExecutable(PATH_TO_JDEPS));
+	}
+
+	@Test
+	public void run_severalTimes_answersEachRequest() throws Exception {
+		JDepsTool jDeps = WorkerJDepsTool.forExecutable(PATH_TO_JDEPS);
+		ImmutableList<String> arguments = ImmutableList.of("-jdkinternals", PATH_TO_SCANNED_FOLDER.toString());
+
+		List<String> firstOutput = new ArrayList<>();
+		int firstExitCode = jDeps.run(arguments, firstOutput::add, System.err::println);
+		List<String> secondOutput = new ArrayList<>();
+		int secondExitCode = jDeps.run(arguments, secondOutput::add, System.err::println);
+
+		assertThat(firstExitCode).isEqualTo(0);
+		assertThat(secondExitCode).isEqualTo(0);
+		assertThat(firstOutput.stream().anyMatch(line -> line.contains("sun.misc.Unsafe"))).isTrue();
+		assertThat(secondOutput).isEqualTo(firstOutput);
+	}
+
+	@Test
+	public void run_testProjectScanned_outputIsParsedToViolations() throws Exception {
+		JDepsTool jDeps = WorkerJDepsTool.forExecutable(PATH_TO_JDEPS);
+
+		List<Violation> violations = scanTestProject(jDeps);
+
+		assertThat(violations).containsOnly(onActionsViolation(), onBASE64Violation(), onUnsafeViolation());
+	}
+
+	@Test
+	public void run_testProjectScannedByJDeps9OrLater_outputIsParsedToViolations() throws Exception {
+		if (!Files.isRegularFile(PATH_TO_JDEPS_9_OR_LATER))
+			return;
+		JDepsTool jDeps = WorkerJDepsTool.forExecutable(PATH_TO_JDEPS_9_OR_LATER);
+
+		List<Violation> violations = scanTestProject(jDeps);
+
+		assertThat(violations).containsOnly(onActionsViolation(), onBASE64Violation(), onUnsafeViolation());
+	}
+
+	@Test
+	public void run_unknownOption_returnsErrorAndKeepsWorking() throws Exception {
+		JDepsTool jDeps = WorkerJDepsTool.forExecutable(PATH_TO_JDEPS);
+
+		List<String> output = new ArrayList<>();
+		int exitCode = jDeps.run(ImmutableList.of("-noSuchOption"), output::add, output::add);
+		int nextExitCode = jDeps.run(ImmutableList.of("-version"), line -> { }, line -> { });
+
+		assertThat(exitCode).isNotEqualTo(0);
+		assertThat(output).isNotEmpty();
+		assertThat(nextExitCode).isEqualTo(0);
+	}
+
+	@Test(expected = CommandLineException.class)
+	public void run_argumentWithLineBreak_throwsCommandLineException() throws Exception {
+		JDepsTool jDeps = WorkerJDepsTool.forExecutable(PATH_TO_JDEPS);
+
+		jDeps.run(ImmutableList.of("-jdkinternals\nfoo"), line -> { }, line -> { });
+	}
+
+	private static List<Violation> scanTestProject(JDepsTool jDeps) throws CommandLineException {
+		List<Violation> violations = new ArrayList<>();
+		ViolationParser parser = new ViolationParser(violations::add);
+		new JdkInternalsExecutor(jDeps, PATH_TO_SCANNED_FOLDER, parser::parseLine).execute();
+		parser.finish();
+		return violations;
+	}
+
+}